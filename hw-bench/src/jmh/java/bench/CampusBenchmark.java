@@ -0,0 +1,110 @@
+package bench;
+
+import graph.DirectedGraph;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import pathfinder.CampusMap;
+import pathfinder.MarvelPathsWeighted;
+import pathfinder.datastructures.Point;
+import pathfinder.parser.CampusBuilding;
+import pathfinder.parser.CampusPath;
+import pathfinder.parser.CampusPathsParser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks finding the shortest route between every pair of campus buildings. Each operation
+ * answers all of the pairs once.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class CampusBenchmark {
+
+    /**
+     * The campus graph and the location of every building, as CampusMap loads them.
+     */
+    @State(Scope.Benchmark)
+    public static class CampusGraph {
+
+        DirectedGraph<Point, Double> graph;
+        List<Point> buildings;
+
+        /**
+         * Parses the campus data files.
+         */
+        @Setup
+        public void setUp() {
+            graph = new DirectedGraph<>();
+            for (CampusPath path : CampusPathsParser.parseCampusPaths("campus_paths.tsv")) {
+                Point startNode = new Point(path.getX1(), path.getY1());
+                Point endNode = new Point(path.getX2(), path.getY2());
+                graph.addNode(startNode);
+                graph.addNode(endNode);
+                graph.addEdge(startNode, endNode, path.getDistance());
+            }
+            buildings = new ArrayList<>();
+            for (CampusBuilding building : CampusPathsParser.parseCampusBuildings("campus_buildings.tsv")) {
+                buildings.add(new Point(building.getX(), building.getY()));
+            }
+        }
+    }
+
+    /**
+     * A CampusMap in one routing mode, and the short names of its buildings.
+     */
+    @State(Scope.Benchmark)
+    public static class RoutingMap {
+
+        /**
+         * The routing mode of the map.
+         */
+        @Param({"DIJKSTRA", "ASTAR", "PRECOMPUTED", "CONTRACTION"})
+        public CampusMap.RoutingMode mode;
+
+        CampusMap map;
+        List<String> names;
+
+        /**
+         * Builds the map, including any table of routes its mode computes up front.
+         */
+        @Setup
+        public void setUp() {
+            map = new CampusMap(mode);
+            names = new ArrayList<>(map.buildingNames().keySet());
+        }
+    }
+
+    /**
+     * Answers every pair of buildings with MarvelPathsWeighted.Dijkstra on the campus graph.
+     *
+     * @param campus the campus graph
+     * @param bh     consumes the paths so the searches are not optimized away
+     */
+    @Benchmark
+    public void dijkstraAllPairs(CampusGraph campus, Blackhole bh) {
+        for (Point start : campus.buildings) {
+            for (Point end : campus.buildings) {
+                bh.consume(MarvelPathsWeighted.Dijkstra(campus.graph, start, end));
+            }
+        }
+    }
+
+    /**
+     * Answers every pair of buildings with CampusMap.findShortestPath.
+     *
+     * @param campus the map being asked
+     * @param bh     consumes the paths so the searches are not optimized away
+     */
+    @Benchmark
+    public void findShortestPathAllPairs(RoutingMap campus, Blackhole bh) {
+        for (String start : campus.names) {
+            for (String end : campus.names) {
+                bh.consume(campus.map.findShortestPath(start, end));
+            }
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package bench;
+
+import graph.DirectedGraph;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the basic operations of DirectedGraph on a random graph with a fixed seed.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class GraphBenchmark {
+
+    /**
+     * The number of nodes in the graph.
+     */
+    @Param({"1000", "10000"})
+    public int nodeCount;
+
+    /**
+     * The number of outgoing edges of each node.
+     */
+    @Param({"10"})
+    public int edgesPerNode;
+
+    private String[] nodes;
+    private String[] sources;
+    private String[] dests;
+    private String[] labels;
+    private DirectedGraph<String, String> graph;
+
+    /**
+     * Creates the nodes and edges to be added, and a graph already holding all of them.
+     */
+    @Setup
+    public void setUp() {
+        Random random = new Random(331);
+        nodes = new String[nodeCount];
+        for (int i = 0; i < nodeCount; i++) {
+            nodes[i] = "node" + i;
+        }
+        int edgeCount = nodeCount * edgesPerNode;
+        sources = new String[edgeCount];
+        dests = new String[edgeCount];
+        labels = new String[edgeCount];
+        for (int i = 0; i < edgeCount; i++) {
+            sources[i] = nodes[i / edgesPerNode];
+            dests[i] = nodes[random.nextInt(nodeCount)];
+            labels[i] = "label" + random.nextInt(100);
+        }
+        graph = build();
+    }
+
+    /**
+     * Adds every node and then every edge to an empty graph.
+     *
+     * @return the graph built
+     */
+    @Benchmark
+    public DirectedGraph<String, String> addNodesAndEdges() {
+        return build();
+    }
+
+    /**
+     * Asks for the edges of every node, which copies them.
+     *
+     * @param bh consumes the edges so the calls are not optimized away
+     */
+    @Benchmark
+    public void getEdges(Blackhole bh) {
+        for (String node : nodes) {
+            bh.consume(graph.getEdges(node));
+        }
+    }
+
+    /**
+     * Walks the edges of every node through the read-only view.
+     *
+     * @param bh consumes the edges so the walk is not optimized away
+     */
+    @Benchmark
+    public void edgesOf(Blackhole bh) {
+        for (String node : nodes) {
+            for (DirectedGraph.LabeledEdge<String, String> le : graph.edgesOf(node)) {
+                bh.consume(le);
+            }
+        }
+    }
+
+    /**
+     * Looks up every edge that was added.
+     *
+     * @param bh consumes the answers so the lookups are not optimized away
+     */
+    @Benchmark
+    public void containsEdge(Blackhole bh) {
+        for (int i = 0; i < sources.length; i++) {
+            bh.consume(graph.containsEdge(sources[i], dests[i], labels[i]));
+        }
+    }
+
+    /**
+     * Builds a graph of the benchmark's nodes and edges.
+     *
+     * @return the graph built
+     */
+    private DirectedGraph<String, String> build() {
+        DirectedGraph<String, String> g = new DirectedGraph<>();
+        for (String node : nodes) {
+            g.addNode(node);
+        }
+        for (int i = 0; i < sources.length; i++) {
+            g.addEdge(sources[i], dests[i], labels[i]);
+        }
+        return g;
+    }
+}
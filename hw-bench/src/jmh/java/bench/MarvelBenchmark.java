@@ -0,0 +1,120 @@
+package bench;
+
+import graph.DirectedGraph;
+import marvel.HeroBookGraph;
+import marvel.MarvelPaths;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks building the marvel graph from marvel.tsv and searching it for the shortest paths
+ * between a fixed set of hero pairs. Each search benchmark answers every pair once per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class MarvelBenchmark {
+
+    /**
+     * The number of hero pairs searched.
+     */
+    private static final int PAIRS = 50;
+
+    private DirectedGraph<String, String> graph;
+    private HeroBookGraph heroBookGraph;
+    private String[] sources;
+    private String[] dests;
+
+    /**
+     * Builds the graphs once and picks the hero pairs with a fixed seed, so every run searches
+     * the same pairs.
+     */
+    @Setup
+    public void setUp() {
+        graph = MarvelPaths.buildGraph("marvel.tsv");
+        heroBookGraph = HeroBookGraph.buildGraph("marvel.tsv");
+        List<String> heroes = new ArrayList<>(graph.getAllNodes());
+        Collections.sort(heroes);
+        Random random = new Random(331);
+        sources = new String[PAIRS];
+        dests = new String[PAIRS];
+        for (int i = 0; i < PAIRS; i++) {
+            sources[i] = heroes.get(random.nextInt(heroes.size()));
+            dests[i] = heroes.get(random.nextInt(heroes.size()));
+        }
+    }
+
+    /**
+     * Parses marvel.tsv and connects every pair of heroes sharing a book on one thread.
+     *
+     * @return the graph built
+     */
+    @Benchmark
+    public DirectedGraph<String, String> buildGraph() {
+        return MarvelPaths.buildGraph("marvel.tsv", false);
+    }
+
+    /**
+     * Parses marvel.tsv and connects every pair of heroes sharing a book in parallel.
+     *
+     * @return the graph built
+     */
+    @Benchmark
+    public DirectedGraph<String, String> buildGraphParallel() {
+        return MarvelPaths.buildGraph("marvel.tsv", true);
+    }
+
+    /**
+     * Parses marvel.tsv into the bipartite hero-book graph.
+     *
+     * @return the graph built
+     */
+    @Benchmark
+    public HeroBookGraph buildHeroBookGraph() {
+        return HeroBookGraph.buildGraph("marvel.tsv");
+    }
+
+    /**
+     * Answers every pair with MarvelPaths.BFS.
+     *
+     * @param bh consumes the paths so the searches are not optimized away
+     */
+    @Benchmark
+    public void bfs(Blackhole bh) {
+        for (int i = 0; i < PAIRS; i++) {
+            bh.consume(MarvelPaths.BFS(graph, sources[i], dests[i]));
+        }
+    }
+
+    /**
+     * Answers every pair with MarvelPaths.bidirectionalBFS.
+     *
+     * @param bh consumes the paths so the searches are not optimized away
+     */
+    @Benchmark
+    public void bidirectionalBFS(Blackhole bh) {
+        for (int i = 0; i < PAIRS; i++) {
+            bh.consume(MarvelPaths.bidirectionalBFS(graph, sources[i], dests[i]));
+        }
+    }
+
+    /**
+     * Answers every pair with HeroBookGraph.BFS.
+     *
+     * @param bh consumes the paths so the searches are not optimized away
+     */
+    @Benchmark
+    public void heroBookBFS(Blackhole bh) {
+        for (int i = 0; i < PAIRS; i++) {
+            bh.consume(heroBookGraph.BFS(sources[i], dests[i]));
+        }
+    }
+}
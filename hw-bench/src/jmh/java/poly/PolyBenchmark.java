@@ -0,0 +1,82 @@
+package poly;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks RatPoly.mul against schoolbook multiplication on dense random polynomials with a
+ * fixed seed. It lives in package poly to reach the package-private RatPoly.mulSchoolbook.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class PolyBenchmark {
+
+    /**
+     * The degree of both operands.
+     */
+    @Param({"16", "64", "256", "1024"})
+    public int degree;
+
+    /**
+     * Whether the coefficients are integers or fractions; sums of fractions with different
+     * denominators cost as much as products, which moves the point where Karatsuba pays off.
+     */
+    @Param({"integer", "fraction"})
+    public String coefficients;
+
+    private RatPoly p;
+    private RatPoly q;
+
+    /**
+     * Builds the two operands.
+     */
+    @Setup
+    public void setUp() {
+        Random random = new Random(331);
+        p = randomPoly(random);
+        q = randomPoly(random);
+    }
+
+    /**
+     * @param random the source of the coefficients
+     * @return a polynomial of the benchmark's degree with every coefficient non-zero
+     */
+    private RatPoly randomPoly(Random random) {
+        StringBuilder res = new StringBuilder();
+        for (int e = degree; e >= 0; e--) {
+            int numer = random.nextInt(9) + 1;
+            res.append(random.nextBoolean() ? "-" : (e == degree ? "" : "+")).append(numer);
+            if (coefficients.equals("fraction")) {
+                res.append('/').append(random.nextInt(6) + 1);
+            }
+            res.append("*x^").append(e);
+        }
+        return RatPoly.valueOf(res.toString());
+    }
+
+    /**
+     * Multiplies the operands with mul, which uses Karatsuba's method from
+     * RatPoly.KARATSUBA_THRESHOLD coefficients up.
+     *
+     * @return the product
+     */
+    @Benchmark
+    public RatPoly mul() {
+        return p.mul(q);
+    }
+
+    /**
+     * Multiplies the operands term by term.
+     *
+     * @return the product
+     */
+    @Benchmark
+    public RatPoly mulSchoolbook() {
+        return p.mulSchoolbook(q);
+    }
+}
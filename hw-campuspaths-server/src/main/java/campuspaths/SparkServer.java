@@ -12,16 +12,20 @@
 package campuspaths;
 
 import campuspaths.utils.CORSFilter;
-import com.google.gson.Gson;
+import campuspaths.utils.ResponseCache;
+import campuspaths.utils.RouteRequest;
+import campuspaths.utils.ServerMetrics;
+import com.google.gson.JsonParseException;
 import pathfinder.CampusMap;
-import pathfinder.datastructures.Path;
-import pathfinder.datastructures.Point;
+import pathfinder.CampusSnapshot;
 import spark.Request;
 import spark.Response;
 import spark.Route;
 import spark.Spark;
 
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * This is the main class that runs the server, it includes a main method that
@@ -29,6 +33,46 @@ import java.util.Map;
  */
 public class SparkServer {
 
+    /**
+     * The most routes one /findPaths request may ask for.
+     */
+    private static final int MAX_ROUTES_PER_REQUEST = 10000;
+
+    /**
+     * The campus data the server currently serves. The map and its cache are immutable, so the
+     * worker threads share them without locks; each request reads the reference once so that it
+     * is served entirely from one snapshot.
+     */
+    private static final AtomicReference<Campus> campus = new AtomicReference<>();
+
+    /**
+     * Starts serving the given campus map in place of the current one. Requests already running
+     * finish on the old map.
+     *
+     * @param map the campus map to serve
+     * @throws IllegalArgumentException if map is null
+     * @spec.effects requests that start after this call are served from map
+     */
+    public static void publish(CampusMap map) {
+        if (map == null) {
+            throw new IllegalArgumentException("map should not be null");
+        }
+        // response bodies are serialized once and then served as bytes
+        campus.set(new Campus(map, new ResponseCache(map)));
+    }
+
+    /**
+     * Loads the campus data again and publishes it. Every building-to-building route is computed up
+     * front, so requests never run a search; the campus data itself comes from the binary snapshot
+     * when it is up to date with the campus TSV files, and is parsed from them otherwise.
+     *
+     * @spec.effects requests that start after this call are served from the reloaded campus data
+     */
+    public static void reload() {
+        publish(new CampusMap(CampusMap.RoutingMode.PRECOMPUTED,
+                CampusSnapshot.loadOrParse(CampusSnapshot.defaultFile())));
+    }
+
     public static void main(String[] args) {
         CORSFilter corsFilter = new CORSFilter();
         corsFilter.apply();
@@ -37,31 +81,36 @@ public class SparkServer {
         // comes from a different server.
         // You should leave these two lines at the very beginning of main().
 
-        CampusMap map = new CampusMap();
+        reload();
+        // every endpoint below is counted and timed, and the totals are served on /metrics
+        ServerMetrics metrics = new ServerMetrics();
 
         // listBuilding endpoint
-        Spark.get("/listBuilding", new Route() {
+        Spark.get("/listBuilding", metrics.timed("/listBuilding", new Route() {
             /**
              * The handle function of the list building endpoint that returns the campus building names
              * in the format of JSON.
              * @param request   the request object that provides information about the HTTP request
              * @param response  the response object that provides functionality for modifying the response
-             * @return  the campus building names in the format of JSON if the object is not null;
-             *          return 400 error status code to the requester otherwise.
+             * @return  the campus building names in the format of JSON, or an empty 304 response if the
+             *          requester already holds the current list.
              */
             @Override
             public Object handle(Request request, Response response) throws Exception {
-                Map<String, String> res = map.buildingNames();
-                if (res == null) {
-                    Spark.halt(400, "Error listing buildings");
+                ResponseCache current = campus.get().responses;
+                String etag = current.buildingNamesETag();
+                response.header("ETag", etag);
+                response.type("application/json");
+                if (etag.equals(request.headers("If-None-Match"))) {
+                    response.status(304);
+                    return "";
                 }
-                Gson gson = new Gson();
-                return gson.toJson(res);
+                return current.buildingNames();
             }
-        });
+        }));
 
         // findPath endpoint
-        Spark.get("findPath", new Route() {
+        Spark.get("findPath", metrics.timed("/findPath", new Route() {
             /**
              * The handle function of the find path endpoint that returns the shortest path between two
              * campus buildings in the format of JSON.
@@ -77,14 +126,103 @@ public class SparkServer {
                 if (sourceNode == null || destNode == null) {
                     Spark.halt(400, "Must have start and end node");
                 }
-                Path<Point> path = map.findShortestPath(sourceNode, destNode);
+                byte[] path = campus.get().responses.path(sourceNode, destNode);
                 if (path == null) {
                     Spark.halt(400, "Must provide valid building abbreviation");
                 }
-                Gson gson = new Gson();
-                return gson.toJson(path);
+                response.type("application/json");
+                return path;
+            }
+        }));
+
+        // findPaths endpoint
+        Spark.post("/findPaths", metrics.timed("/findPaths", new Route() {
+            /**
+             * The handle function of the find paths endpoint that returns the shortest paths between
+             * many pairs of campus buildings in the format of JSON. The request body is a JSON array of
+             * {"start": ..., "end": ...} objects holding building abbreviations.
+             * @param request   the request object that provides information about the HTTP request
+             * @param response  the response object that provides functionality for modifying the response
+             * @return  a JSON array holding the path between each pair of buildings, in the order they
+             *          were asked for; return 400 error status code to the requester if the body is not
+             *          such an array or names a building that does not exist.
+             */
+            @Override
+            public Object handle(Request request, Response response) throws Exception {
+                ResponseCache current = campus.get().responses;
+                RouteRequest[] routes = null;
+                try {
+                    routes = current.routeRequests(request.body());
+                } catch (JsonParseException e) {
+                    Spark.halt(400, "Body must be a JSON array of {\"start\", \"end\"} objects");
+                }
+                if (routes == null || routes.length > MAX_ROUTES_PER_REQUEST) {
+                    Spark.halt(400, "Must ask for 0 to " + MAX_ROUTES_PER_REQUEST + " routes");
+                }
+                List<String> starts = new ArrayList<>(routes.length);
+                List<String> ends = new ArrayList<>(routes.length);
+                for (RouteRequest route : routes) {
+                    if (route == null) {
+                        Spark.halt(400, "Must have start and end node");
+                    }
+                    starts.add(route.getStart());
+                    ends.add(route.getEnd());
+                }
+                byte[] paths = current.paths(starts, ends);
+                if (paths == null) {
+                    Spark.halt(400, "Must provide valid building abbreviations");
+                }
+                response.type("application/json");
+                return paths;
+            }
+        }));
+
+        // browsers check with an OPTIONS request before POSTing JSON from another origin
+        Spark.options("/findPaths", new Route() {
+            /**
+             * The handle function of the CORS preflight request of the find paths endpoint; the CORS
+             * headers themselves are added by CORSFilter.
+             * @param request   the request object that provides information about the HTTP request
+             * @param response  the response object that provides functionality for modifying the response
+             * @return  an empty body
+             */
+            @Override
+            public Object handle(Request request, Response response) throws Exception {
+                return "";
+            }
+        });
+
+        // metrics endpoint
+        Spark.get("/metrics", new Route() {
+            /**
+             * The handle function of the metrics endpoint that returns the request counts, error counts
+             * and latency percentiles of every endpoint, the route lookups and cache misses of the served
+             * campus, and the counters of the route searches run to build it, as plain text with one
+             * metric per line.
+             * @param request   the request object that provides information about the HTTP request
+             * @param response  the response object that provides functionality for modifying the response
+             * @return  the metrics of the server as text
+             */
+            @Override
+            public Object handle(Request request, Response response) throws Exception {
+                response.type("text/plain");
+                Campus current = campus.get();
+                return metrics.render(current.responses, current.map.getSearchStats());
             }
         });
     }
 
+    /**
+     * A campus map together with the response bodies served from it.
+     */
+    private static final class Campus {
+
+        private final CampusMap map;
+        private final ResponseCache responses;
+
+        private Campus(CampusMap map, ResponseCache responses) {
+            this.map = map;
+            this.responses = responses;
+        }
+    }
 }
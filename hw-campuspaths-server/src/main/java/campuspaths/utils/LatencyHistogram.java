@@ -0,0 +1,135 @@
+package campuspaths.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts latencies in log-linear buckets, the way HdrHistogram does: every power of two is split
+ * into SUB_BUCKETS equal buckets, so any recorded value is known to within 1/SUB_BUCKETS of
+ * itself (about 3%) from one microsecond up to over an hour, in a fixed array of counters.
+ * Recording is a single atomic increment, so request threads never wait on each other.
+ */
+public class LatencyHistogram {
+
+    /**
+     * log2 of the number of buckets each power of two is split into.
+     */
+    private static final int SUB_BUCKET_BITS = 5;
+
+    /**
+     * The number of buckets each power of two is split into.
+     */
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * Values are counted up to 2^MAX_MAGNITUDE microseconds; larger ones are counted as that.
+     */
+    private static final int MAX_MAGNITUDE = 32;
+
+    /**
+     * The number of values recorded in each bucket.
+     */
+    private final AtomicLongArray counts =
+            new AtomicLongArray((MAX_MAGNITUDE - SUB_BUCKET_BITS + 1) * SUB_BUCKETS);
+
+    /**
+     * The number of values recorded.
+     */
+    private final AtomicLong total = new AtomicLong();
+
+    /**
+     * The largest value recorded.
+     */
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records one latency.
+     *
+     * @param micros the latency in microseconds; negative values are counted as 0
+     */
+    public void record(long micros) {
+        long value = Math.max(0, Math.min(micros, (1L << MAX_MAGNITUDE) - 1));
+        counts.incrementAndGet(bucketOf(value));
+        total.incrementAndGet();
+        max.accumulateAndGet(micros, Math::max);
+    }
+
+    /**
+     * @return the number of latencies recorded
+     */
+    public long count() {
+        return total.get();
+    }
+
+    /**
+     * @return the largest latency recorded in microseconds, or 0 if there is none
+     */
+    public long max() {
+        return max.get();
+    }
+
+    /**
+     * Estimates a percentile of the recorded latencies. Recording may go on concurrently, so the
+     * result reflects some moment during the call.
+     *
+     * @param percentile the percentile to find, from 0 to 100
+     * @return the highest latency, in microseconds, of the bucket holding the percentile, or 0 if
+     * nothing was recorded
+     * @throws IllegalArgumentException if percentile is not between 0 and 100
+     */
+    public long percentile(double percentile) {
+        if (!(percentile >= 0 && percentile <= 100)) {
+            throw new IllegalArgumentException("percentile must be between 0 and 100");
+        }
+        long[] snapshot = new long[counts.length()];
+        long recorded = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = counts.get(i);
+            recorded += snapshot[i];
+        }
+        if (recorded == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * recorded));
+        long seen = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Math.min(highestValueOf(i), max());
+            }
+        }
+        return max();
+    }
+
+    /**
+     * Finds the bucket a value is counted in. Values below SUB_BUCKETS each get their own bucket;
+     * above that, the bucket is picked by the value's highest set bit and the SUB_BUCKET_BITS
+     * bits below it.
+     *
+     * @param value a value from 0 to 2^MAX_MAGNITUDE - 1
+     * @return the index of its bucket
+     */
+    private static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        int shift = magnitude - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) ((value >>> shift) - SUB_BUCKETS);
+    }
+
+    /**
+     * Finds the highest value counted in a bucket.
+     *
+     * @param bucket the index of a bucket
+     * @return the largest value whose bucket it is
+     */
+    private static long highestValueOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKETS - 1;
+        long lowest = (long) (bucket % SUB_BUCKETS + SUB_BUCKETS) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+}
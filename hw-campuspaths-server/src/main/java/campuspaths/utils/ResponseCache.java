@@ -0,0 +1,202 @@
+package campuspaths.utils;
+
+import com.google.gson.Gson;
+import pathfinder.ModelAPI;
+import pathfinder.datastructures.Path;
+import pathfinder.datastructures.Point;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.CRC32;
+
+/**
+ * Holds the JSON bodies the server sends, already serialized to bytes. The building list never
+ * changes after startup, so it is serialized once along with an ETag for it. Route bodies are
+ * serialized the first time each pair of buildings is asked for and reused after that; only
+ * valid building pairs are kept, so the cache can hold at most one body per pair.
+ */
+public class ResponseCache {
+
+    /**
+     * The model the bodies are built from.
+     */
+    private final ModelAPI map;
+
+    /**
+     * Shared serializer; Gson instances are thread-safe.
+     */
+    private final Gson gson = new Gson();
+
+    /**
+     * The serialized building list.
+     */
+    private final byte[] buildingNames;
+
+    /**
+     * The ETag of the serialized building list.
+     */
+    private final String buildingNamesETag;
+
+    /**
+     * Serialized routes, by start building and then end building.
+     */
+    private final Map<String, Map<String, byte[]>> paths = new ConcurrentHashMap<>();
+
+    /**
+     * The number of routes asked for between buildings that exist.
+     */
+    private final LongAdder routeLookups = new LongAdder();
+
+    /**
+     * The number of those routes that were not serialized yet and had to be looked up in the model.
+     */
+    private final LongAdder routeMisses = new LongAdder();
+
+    /**
+     * Serializes the building list of the given model.
+     *
+     * @param map the model to serve responses from
+     * @throws IllegalArgumentException if map is null or has no building list
+     */
+    public ResponseCache(ModelAPI map) {
+        if (map == null || map.buildingNames() == null) {
+            throw new IllegalArgumentException("map must have a building list");
+        }
+        this.map = map;
+        this.buildingNames = gson.toJson(map.buildingNames()).getBytes(StandardCharsets.UTF_8);
+        CRC32 crc = new CRC32();
+        crc.update(buildingNames);
+        this.buildingNamesETag = "\"" + Long.toHexString(crc.getValue()) + "\"";
+    }
+
+    /**
+     * @return the building list as UTF-8 JSON. The array must not be modified.
+     */
+    public byte[] buildingNames() {
+        return buildingNames;
+    }
+
+    /**
+     * @return the quoted ETag of the building list.
+     */
+    public String buildingNamesETag() {
+        return buildingNamesETag;
+    }
+
+    /**
+     * @return the number of routes asked for between buildings that exist
+     */
+    public long routeLookups() {
+        return routeLookups.sum();
+    }
+
+    /**
+     * @return the number of routes that were not serialized yet when they were asked for, and so
+     * were looked up in the model
+     */
+    public long routeMisses() {
+        return routeMisses.sum();
+    }
+
+    /**
+     * Parses the body of a /findPaths request with the shared serializer.
+     *
+     * @param json the request body, a JSON array of {"start": ..., "end": ...} objects
+     * @return the route requests in the body, or null if the body is empty
+     * @throws com.google.gson.JsonParseException if the body is not such an array
+     */
+    public RouteRequest[] routeRequests(String json) {
+        return gson.fromJson(json, RouteRequest[].class);
+    }
+
+    /**
+     * Gets the shortest path between two buildings as UTF-8 JSON, serializing it only the first
+     * time the pair is asked for.
+     *
+     * @param start the short name of the starting building
+     * @param end   the short name of the ending building
+     * @return the path as JSON, or null if either building does not exist. The array must not be
+     * modified.
+     */
+    public byte[] path(String start, String end) {
+        if (start == null || end == null || !map.shortNameExists(start) || !map.shortNameExists(end)) {
+            return null;
+        }
+        routeLookups.increment();
+        Map<String, byte[]> fromStart = paths.computeIfAbsent(start, s -> new ConcurrentHashMap<>());
+        byte[] body = fromStart.get(end);
+        if (body == null) {
+            routeMisses.increment();
+            Path<Point> path = map.findShortestPath(start, end);
+            if (path == null) {
+                return null;
+            }
+            body = gson.toJson(path).getBytes(StandardCharsets.UTF_8);
+            fromStart.put(end, body);
+        }
+        return body;
+    }
+
+    /**
+     * Gets the shortest paths between many pairs of buildings as one UTF-8 JSON array, in the order
+     * of the pairs. Pairs already serialized are reused, and the rest are found by one batch
+     * query to the model and then cached like the routes of path.
+     *
+     * @param starts the short names of the starting buildings
+     * @param ends   the short names of the ending buildings, one for each of starts
+     * @return the paths as a JSON array, or null if the lists are null or differ in size, or any
+     * building does not exist
+     */
+    public byte[] paths(List<String> starts, List<String> ends) {
+        if (starts == null || ends == null || starts.size() != ends.size()) {
+            return null;
+        }
+        byte[][] bodies = new byte[starts.size()][];
+        List<Integer> missing = new ArrayList<>();
+        List<String> missingStarts = new ArrayList<>();
+        List<String> missingEnds = new ArrayList<>();
+        for (int i = 0; i < starts.size(); i++) {
+            String start = starts.get(i);
+            String end = ends.get(i);
+            if (start == null || end == null || !map.shortNameExists(start) || !map.shortNameExists(end)) {
+                return null;
+            }
+            Map<String, byte[]> fromStart = paths.get(start);
+            bodies[i] = fromStart == null ? null : fromStart.get(end);
+            if (bodies[i] == null) {
+                missing.add(i);
+                missingStarts.add(start);
+                missingEnds.add(end);
+            }
+        }
+        routeLookups.add(starts.size());
+        if (!missing.isEmpty()) {
+            routeMisses.add(missing.size());
+            List<Path<Point>> found = map.findShortestPaths(missingStarts, missingEnds);
+            for (int k = 0; k < missing.size(); k++) {
+                byte[] body = gson.toJson(found.get(k)).getBytes(StandardCharsets.UTF_8);
+                if (found.get(k) != null) {
+                    paths.computeIfAbsent(missingStarts.get(k), s -> new ConcurrentHashMap<>())
+                            .put(missingEnds.get(k), body);
+                }
+                bodies[missing.get(k)] = body;
+            }
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write('[');
+        for (int i = 0; i < bodies.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            out.write(bodies[i], 0, bodies[i].length);
+        }
+        out.write(']');
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,32 @@
+package campuspaths.utils;
+
+/**
+ * One route asked for in the body of a /findPaths request, read from JSON of the form
+ * {"start": "CSE", "end": "KNE"}.
+ */
+public class RouteRequest {
+
+    /**
+     * The short name of the building the route starts at.
+     */
+    private String start;
+
+    /**
+     * The short name of the building the route ends at.
+     */
+    private String end;
+
+    /**
+     * @return the short name of the building the route starts at, or null if it was not given.
+     */
+    public String getStart() {
+        return start;
+    }
+
+    /**
+     * @return the short name of the building the route ends at, or null if it was not given.
+     */
+    public String getEnd() {
+        return end;
+    }
+}
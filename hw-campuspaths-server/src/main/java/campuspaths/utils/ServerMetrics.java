@@ -0,0 +1,125 @@
+package campuspaths.utils;
+
+import pathfinder.SearchStats;
+import spark.HaltException;
+import spark.Route;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects request counts, error counts and latency histograms for the server's endpoints, and
+ * renders them, along with the route counters of the response cache and the search counters of
+ * the routing engine, as plain text for the /metrics endpoint. A request is an error if it
+ * halts with a status of 400 or more, or throws. Everything is recorded with atomic counters, so
+ * timing a request never takes a lock.
+ */
+public class ServerMetrics {
+
+    /**
+     * The percentiles of latency reported for each endpoint.
+     */
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    /**
+     * The metrics of each endpoint, by path, sorted so the output is stable.
+     */
+    private final Map<String, EndpointMetrics> endpoints = new ConcurrentSkipListMap<>();
+
+    /**
+     * Wraps the handler of an endpoint so that every request to it is counted and timed.
+     *
+     * @param path  the path of the endpoint, used to label its metrics
+     * @param route the handler of the endpoint
+     * @return a handler that does the same as route and records its metrics
+     * @throws IllegalArgumentException if path or route is null
+     */
+    public Route timed(String path, Route route) {
+        if (path == null || route == null) {
+            throw new IllegalArgumentException("path and route should not be null");
+        }
+        EndpointMetrics metrics = endpoints.computeIfAbsent(path, p -> new EndpointMetrics());
+        return (request, response) -> {
+            long start = System.nanoTime();
+            boolean failed = true;
+            try {
+                Object res = route.handle(request, response);
+                failed = false;
+                return res;
+            } catch (HaltException e) {
+                failed = e.statusCode() >= 400;
+                throw e;
+            } finally {
+                metrics.requests.increment();
+                if (failed) {
+                    metrics.errors.increment();
+                }
+                metrics.latency.record((System.nanoTime() - start) / 1000);
+            }
+        };
+    }
+
+    /**
+     * Renders every metric as text, one "name{labels} value" line each, with latencies in
+     * microseconds. The route_* lines count the routes served from the response cache. The
+     * search_* lines count the searches the routing engine has run; a precomputed map runs all of
+     * them while it is built, so for one they are build-time totals that requests never change.
+     *
+     * @param responses the response cache the server serves from
+     * @param search    the search counters of the routing engine behind responses
+     * @return the metrics as text
+     * @throws IllegalArgumentException if responses or search is null
+     */
+    public String render(ResponseCache responses, SearchStats search) {
+        if (responses == null || search == null) {
+            throw new IllegalArgumentException("responses and search should not be null");
+        }
+        StringBuilder res = new StringBuilder();
+        for (Map.Entry<String, EndpointMetrics> entry : endpoints.entrySet()) {
+            String label = "{endpoint=\"" + entry.getKey() + "\"";
+            EndpointMetrics metrics = entry.getValue();
+            line(res, "requests_total" + label + "}", metrics.requests.sum());
+            line(res, "errors_total" + label + "}", metrics.errors.sum());
+            for (double percentile : PERCENTILES) {
+                String quantile = BigDecimal.valueOf(percentile).movePointLeft(2)
+                        .stripTrailingZeros().toPlainString();
+                line(res, "latency_us" + label + ",quantile=\"" + quantile + "\"}",
+                        metrics.latency.percentile(percentile));
+            }
+            line(res, "latency_us_max" + label + "}", metrics.latency.max());
+        }
+        line(res, "route_lookups_total", responses.routeLookups());
+        line(res, "route_cache_misses_total", responses.routeMisses());
+        res.append("# search_* are build-time totals for a precomputed map\n");
+        line(res, "search_total", search.getSearches());
+        line(res, "search_nodes_settled_total", search.getNodesSettled());
+        line(res, "search_heap_pushes_total", search.getHeapPushes());
+        line(res, "search_paths_total", search.getPaths());
+        line(res, "search_path_segments_total", search.getPathSegments());
+        return res.toString();
+    }
+
+    /**
+     * Appends one metric to the output.
+     *
+     * @param out   the output
+     * @param name  the name and labels of the metric
+     * @param value the value of the metric
+     * @spec.modifies out
+     */
+    private static void line(StringBuilder out, String name, long value) {
+        out.append(name).append(' ').append(value).append('\n');
+    }
+
+    /**
+     * The metrics of one endpoint.
+     */
+    private static final class EndpointMetrics {
+
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LatencyHistogram latency = new LatencyHistogram();
+    }
+}
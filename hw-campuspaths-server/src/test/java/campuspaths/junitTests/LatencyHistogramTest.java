@@ -0,0 +1,125 @@
+package campuspaths.junitTests;
+
+import campuspaths.utils.LatencyHistogram;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import static org.junit.Assert.*;
+
+public class LatencyHistogramTest {
+    @Rule
+    public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    private LatencyHistogram histogram;
+
+    @Before
+    public void init() throws Exception {
+        histogram = new LatencyHistogram();
+    }
+
+    // test that an empty histogram reports zero everywhere
+    @Test
+    public void testEmpty() {
+        assertEquals(0, histogram.count());
+        assertEquals(0, histogram.max());
+        assertEquals(0, histogram.percentile(0));
+        assertEquals(0, histogram.percentile(50));
+        assertEquals(0, histogram.percentile(100));
+    }
+
+    // test that values below 32 microseconds each get their own bucket, so they are exact
+    @Test
+    public void testSmallValuesExact() {
+        for (int i = 0; i < 32; i++) {
+            histogram.record(i);
+        }
+        assertEquals(32, histogram.count());
+        assertEquals(31, histogram.max());
+        assertEquals(0, histogram.percentile(0));
+        assertEquals(15, histogram.percentile(50));
+        assertEquals(31, histogram.percentile(100));
+    }
+
+    // test the percentiles of a uniform distribution, which are known to within 1/32 of themselves
+    @Test
+    public void testUniformDistribution() {
+        for (int i = 1; i <= 100000; i++) {
+            histogram.record(i);
+        }
+        assertEquals(100000, histogram.count());
+        assertEquals(100000, histogram.max());
+        assertWithin(50000, histogram.percentile(50));
+        assertWithin(90000, histogram.percentile(90));
+        assertWithin(99000, histogram.percentile(99));
+        assertEquals(100000, histogram.percentile(100));
+    }
+
+    // test a distribution with a slow tail
+    @Test
+    public void testTail() {
+        for (int i = 0; i < 990; i++) {
+            histogram.record(100);
+        }
+        for (int i = 0; i < 10; i++) {
+            histogram.record(1000000);
+        }
+        assertWithin(100, histogram.percentile(50));
+        assertWithin(100, histogram.percentile(99));
+        assertWithin(1000000, histogram.percentile(99.9));
+        assertEquals(1000000, histogram.max());
+    }
+
+    // test that a percentile never exceeds the largest value recorded
+    @Test
+    public void testPercentileAtMostMax() {
+        histogram.record(1000);
+        assertEquals(1000, histogram.percentile(50));
+        assertEquals(1000, histogram.percentile(100));
+    }
+
+    // test values at and above 2^32 microseconds, which all share the last bucket
+    @Test
+    public void testLargeValues() {
+        long limit = 1L << 32;
+        histogram.record(limit - 1);
+        assertEquals(limit - 1, histogram.percentile(100));
+        histogram.record(limit);
+        histogram.record(Long.MAX_VALUE);
+        assertEquals(3, histogram.count());
+        assertEquals(Long.MAX_VALUE, histogram.max());
+        assertEquals(limit - 1, histogram.percentile(0));
+        assertEquals(limit - 1, histogram.percentile(100));
+    }
+
+    // test that negative values are counted as 0
+    @Test
+    public void testNegativeValue() {
+        histogram.record(-5);
+        assertEquals(1, histogram.count());
+        assertEquals(0, histogram.max());
+        assertEquals(0, histogram.percentile(100));
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void testPercentileTooLarge() {
+        histogram.percentile(100.5);
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void testPercentileNaN() {
+        histogram.percentile(Double.NaN);
+    }
+
+    /**
+     * Asserts that a percentile estimate is at least the true value and within 1/32 above it.
+     *
+     * @param expected the true value
+     * @param actual the estimate
+     */
+    private static void assertWithin(long expected, long actual) {
+        assertTrue(actual + " should be at least " + expected, actual >= expected);
+        assertTrue(actual + " should be within 1/32 of " + expected, actual <= expected + expected / 32);
+    }
+}
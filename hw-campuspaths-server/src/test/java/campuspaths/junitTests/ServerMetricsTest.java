@@ -0,0 +1,133 @@
+package campuspaths.junitTests;
+
+import campuspaths.utils.ResponseCache;
+import campuspaths.utils.ServerMetrics;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+import pathfinder.CampusMap;
+import spark.HaltException;
+import spark.Route;
+import spark.Spark;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ServerMetricsTest {
+    @Rule
+    public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    private static CampusMap map;
+
+    private ServerMetrics metrics;
+    private ResponseCache responses;
+
+    @BeforeClass
+    public static void loadMap() {
+        map = new CampusMap(CampusMap.RoutingMode.DIJKSTRA);
+    }
+
+    @Before
+    public void init() throws Exception {
+        metrics = new ServerMetrics();
+        responses = new ResponseCache(map);
+    }
+
+    // test that successful requests are counted and not counted as errors
+    @Test
+    public void testCountsRequests() throws Exception {
+        Route route = metrics.timed("/ok", (request, response) -> "body");
+        assertEquals("body", route.handle(null, null));
+        assertEquals("body", route.handle(null, null));
+        String text = render();
+        assertTrue(text.contains("requests_total{endpoint=\"/ok\"} 2\n"));
+        assertTrue(text.contains("errors_total{endpoint=\"/ok\"} 0\n"));
+    }
+
+    // test that a halt with a 4xx status is an error but a 304 is not
+    @Test
+    public void testHaltStatus() throws Exception {
+        Route badRequest = metrics.timed("/bad", (request, response) -> {
+            throw Spark.halt(400, "bad");
+        });
+        Route notModified = metrics.timed("/same", (request, response) -> {
+            throw Spark.halt(304);
+        });
+        assertEquals(400, haltStatus(badRequest));
+        assertEquals(304, haltStatus(notModified));
+        String text = render();
+        assertTrue(text.contains("requests_total{endpoint=\"/bad\"} 1\n"));
+        assertTrue(text.contains("errors_total{endpoint=\"/bad\"} 1\n"));
+        assertTrue(text.contains("requests_total{endpoint=\"/same\"} 1\n"));
+        assertTrue(text.contains("errors_total{endpoint=\"/same\"} 0\n"));
+    }
+
+    // test that any other exception is an error and is passed on
+    @Test
+    public void testException() throws Exception {
+        Route route = metrics.timed("/broken", (request, response) -> {
+            throw new IllegalStateException();
+        });
+        try {
+            route.handle(null, null);
+            fail("the exception should be passed on");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        assertTrue(render().contains("errors_total{endpoint=\"/broken\"} 1\n"));
+    }
+
+    // test that every percentile is rendered for each endpoint
+    @Test
+    public void testRendersLatency() throws Exception {
+        metrics.timed("/ok", (request, response) -> "").handle(null, null);
+        String text = render();
+        assertTrue(text.contains("latency_us{endpoint=\"/ok\",quantile=\"0.5\"} "));
+        assertTrue(text.contains("latency_us{endpoint=\"/ok\",quantile=\"0.999\"} "));
+        assertTrue(text.contains("latency_us_max{endpoint=\"/ok\"} "));
+    }
+
+    // test that route lookups and cache misses are counted where routes are served
+    @Test
+    public void testRouteCounters() {
+        assertNotNull(responses.path("CSE", "CSE"));
+        assertNotNull(responses.path("CSE", "CSE"));
+        assertNull(responses.path("CSE", "NOT A BUILDING"));
+        assertNotNull(responses.paths(List.of("CSE", "CSE"), List.of("CSE", "CSE")));
+        String text = render();
+        assertTrue(text.contains("route_lookups_total 4\n"));
+        assertTrue(text.contains("route_cache_misses_total 1\n"));
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void testTimedNullRoute() {
+        metrics.timed("/ok", null);
+    }
+
+    /**
+     * @return the metrics rendered against the shared map
+     */
+    private String render() {
+        return metrics.render(responses, map.getSearchStats());
+    }
+
+    /**
+     * Runs a route that should halt.
+     *
+     * @param route the route to run
+     * @return the status it halted with
+     * @throws Exception if the route throws something other than a halt
+     */
+    private static int haltStatus(Route route) throws Exception {
+        try {
+            route.handle(null, null);
+        } catch (HaltException e) {
+            return e.statusCode();
+        }
+        fail("the route should halt");
+        return 0;
+    }
+}
@@ -1,9 +1,15 @@
 package graph;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * <b>DirectedGraph</b> class represents a mutable, directed graph.
@@ -42,6 +48,53 @@ public class DirectedGraph<T, E> {
         checkRep();
     }
 
+    /**
+     * Creates a directed graph of the given nodes, working out the outgoing edges of the nodes in
+     * parallel on the fork-join common pool. Each node's edges are collected into that node's own
+     * edge set by the worker that asked for them, so the workers share nothing they write, and the
+     * finished sets are put into the graph in one pass.
+     *
+     * @param nodes the nodes of the graph
+     * @param edgesOf gives the outgoing edges of a node; it is called once per node, from any thread
+     * @param <T> The type of the nodes of the graph
+     * @param <E> The type of the edge labels of the graph
+     * @return a graph holding nodes and, for every node, the edges edgesOf gives for it
+     * @spec.requires nodes != null &amp;&amp; edgesOf != null &amp;&amp; nodes does not contain null
+     *                &amp;&amp; edgesOf is safe to call concurrently and never returns null
+     *                &amp;&amp; every edge it returns is not null and its destination node is in nodes
+     */
+    public static <T, E> DirectedGraph<T, E> parallelBuild(
+            Collection<T> nodes, Function<? super T, ? extends Collection<LabeledEdge<T, E>>> edgesOf) {
+        if (nodes == null || edgesOf == null) {
+            throw new IllegalArgumentException("Nodes and edgesOf should not be null");
+        }
+        Set<T> nodeSet = new HashSet<>(nodes);
+        if (nodeSet.contains(null)) {
+            throw new IllegalArgumentException("Node should not be null");
+        }
+        List<T> order = new ArrayList<>(nodeSet);
+        List<HashSet<LabeledEdge<T, E>>> adjacency = order.parallelStream().map(node -> {
+            Collection<LabeledEdge<T, E>> edges = edgesOf.apply(node);
+            if (edges == null) {
+                throw new IllegalArgumentException("Edges should not be null");
+            }
+            HashSet<LabeledEdge<T, E>> res = new HashSet<>(edges);
+            for (LabeledEdge<T, E> le : res) {
+                if (le == null || !nodeSet.contains(le.getDest())) {
+                    throw new IllegalArgumentException("Edges should not be null, dest nodes should be in the graph");
+                }
+            }
+            return res;
+        }).collect(Collectors.toList());
+
+        DirectedGraph<T, E> graph = new DirectedGraph<>();
+        for (int i = 0; i < order.size(); i++) {
+            graph.g.put(order.get(i), adjacency.get(i));
+        }
+        graph.checkRep();
+        return graph;
+    }
+
     /**
      * Add a new node to the graph in case of it is not present already.
      *
@@ -122,7 +175,7 @@ public class DirectedGraph<T, E> {
         if (source != null && dest != null && label != null && containsNode(source) && containsNode(dest)) {
             LabeledEdge<T, E> curr = new LabeledEdge<>(dest, label);
             checkRep();
-            return getEdges(source).contains(curr);
+            return g.get(source).contains(curr);
         }
         return false;
     }
@@ -181,6 +234,23 @@ public class DirectedGraph<T, E> {
         return new HashSet<>(g.get(node));
     }
 
+    /**
+     * Get a read-only view of the edges that connects to the given node. Unlike getEdges, no copy is
+     * made: the view reflects later changes to the graph, and must not be iterated while the
+     * graph is being modified.
+     *
+     * @param node the node treated as the head node to be traced for connecting edges
+     * @return an unmodifiable live view of the edges that are connecting to the given node
+     * @spec.requires node != null &amp;&amp; node is in the graph
+     */
+    public Set<LabeledEdge<T, E>> edgesOf(T node) {
+        checkRep();
+        if (node == null || !g.containsKey(node)) {
+            throw new IllegalArgumentException();
+        }
+        return Collections.unmodifiableSet(g.get(node));
+    }
+
     /**
      * Get all the nodes in the graph.
      *
@@ -227,6 +297,34 @@ public class DirectedGraph<T, E> {
         return g.isEmpty();
     }
 
+    /**
+     * Freezes the current state of the graph into an immutable CSR snapshot. Later changes to
+     * this graph are not reflected in the snapshot.
+     *
+     * @return a FrozenGraph holding the same nodes and edges as this graph
+     */
+    public FrozenGraph<T, E> freeze() {
+        checkRep();
+        return new FrozenGraph<>(g, null);
+    }
+
+    /**
+     * Freezes the current state of the graph into an immutable CSR snapshot whose outgoing edges
+     * of every node are sorted by the given order. Later changes to this graph are not reflected
+     * in the snapshot.
+     *
+     * @param order the order of the outgoing edges of each node in the snapshot
+     * @return a FrozenGraph holding the same nodes and edges as this graph
+     * @spec.requires order != null
+     */
+    public FrozenGraph<T, E> freeze(Comparator<? super LabeledEdge<T, E>> order) {
+        checkRep();
+        if (order == null) {
+            throw new IllegalArgumentException("order should not be null");
+        }
+        return new FrozenGraph<>(g, order);
+    }
+
     /**
      * Standard hashCode function with the exception of returning 0 when the graph is null.
      *
@@ -0,0 +1,287 @@
+package graph;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <b>FrozenGraph</b> is an immutable, compressed-sparse-row (CSR) snapshot of a DirectedGraph.
+ *
+ * <p>Every node is interned to a dense int id in [0, nodeCount()). The outgoing edges of the node
+ * with id i are the edge ids in [firstEdge(i), endEdge(i)), and each edge id indexes into parallel
+ * arrays holding the id of its destination node and its label. Search algorithms can walk the
+ * adjacency with plain int loops instead of iterating hash sets.
+ *
+ * @param <T> The type of nodes in the FrozenGraph
+ * @param <E> The type of edge labels in the FrozenGraph
+ */
+public final class FrozenGraph<T, E> {
+
+    // Abstraction Function:
+    // AF(this) = a directed graph, g, such that
+    //      the nodes of g = {nodes[0], ..., nodes[nodes.length - 1]}
+    //      the edges outgoing from nodes[i] = {(nodes[targets[e]], labels[e]) |
+    //                                          offsets[i] <= e < offsets[i + 1]}
+
+    // Representation Invariant:
+    //      nodes != null && ids != null && offsets != null && targets != null && labels != null
+    //      && offsets.length == nodes.length + 1 && offsets[0] == 0
+    //      && offsets[nodes.length] == targets.length == labels.length
+    //      && offsets is non-decreasing
+    //      && for all i, ids.get(nodes[i]) == i
+    //      && for all e, 0 <= targets[e] < nodes.length && labels[e] != null
+
+    /**
+     * Nodes of the graph, indexed by id.
+     */
+    private final Object[] nodes;
+
+    /**
+     * Reverse lookup from a node to its id.
+     */
+    private final Map<T, Integer> ids;
+
+    /**
+     * Start offset of each node's edge run, with one trailing sentinel.
+     */
+    private final int[] offsets;
+
+    /**
+     * Destination node id of each edge.
+     */
+    private final int[] targets;
+
+    /**
+     * Label of each edge.
+     */
+    private final Object[] labels;
+
+    /**
+     * Freezes the given adjacency into CSR form.
+     *
+     * @param adjacency the adjacency of the graph being frozen
+     * @param order the order of edges within one node's run, or null to keep iteration order
+     * @spec.requires adjacency != null &amp;&amp; every edge destination is a key of adjacency
+     * @spec.effects Constructs a new FrozenGraph holding the same nodes and edges as adjacency
+     */
+    FrozenGraph(Map<T, ? extends Set<DirectedGraph.LabeledEdge<T, E>>> adjacency,
+                Comparator<? super DirectedGraph.LabeledEdge<T, E>> order) {
+        int n = adjacency.size();
+        nodes = new Object[n];
+        ids = new HashMap<>();
+        offsets = new int[n + 1];
+
+        int edgeCount = 0;
+        for (Map.Entry<T, ? extends Set<DirectedGraph.LabeledEdge<T, E>>> entry : adjacency.entrySet()) {
+            int id = ids.size();
+            nodes[id] = entry.getKey();
+            ids.put(entry.getKey(), id);
+            edgeCount += entry.getValue().size();
+            offsets[id + 1] = edgeCount;
+        }
+
+        targets = new int[edgeCount];
+        labels = new Object[edgeCount];
+        for (int i = 0; i < n; i++) {
+            @SuppressWarnings("unchecked")
+            T node = (T) nodes[i];
+            List<DirectedGraph.LabeledEdge<T, E>> run = new ArrayList<>(adjacency.get(node));
+            if (order != null) {
+                run.sort(order);
+            }
+            int e = offsets[i];
+            for (DirectedGraph.LabeledEdge<T, E> le : run) {
+                targets[e] = ids.get(le.getDest());
+                labels[e] = le.getEdgeLabel();
+                e++;
+            }
+        }
+        checkRep();
+    }
+
+    /**
+     * Gets the number of nodes in the graph.
+     *
+     * @return the number of nodes in the graph
+     */
+    public int nodeCount() {
+        return nodes.length;
+    }
+
+    /**
+     * Gets the number of edges in the graph.
+     *
+     * @return the number of edges in the graph
+     */
+    public int edgeCount() {
+        return targets.length;
+    }
+
+    /**
+     * Check if the node is in the graph.
+     *
+     * @param node the node to be checked
+     * @return true if the node is in the graph, otherwise return false
+     * @spec.requires node != null
+     */
+    public boolean containsNode(T node) {
+        if (node == null) {
+            throw new IllegalArgumentException("node should not be null");
+        }
+        return ids.containsKey(node);
+    }
+
+    /**
+     * Gets the dense id of the given node.
+     *
+     * @param node the node to look up
+     * @return the id of node, or -1 if node is not in the graph
+     * @spec.requires node != null
+     */
+    public int idOf(T node) {
+        if (node == null) {
+            throw new IllegalArgumentException("node should not be null");
+        }
+        Integer id = ids.get(node);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Gets the node with the given id.
+     *
+     * @param id the id of the node
+     * @return the node whose id is id
+     * @spec.requires 0 &lt;= id &lt; nodeCount()
+     */
+    @SuppressWarnings("unchecked")
+    public T nodeOf(int id) {
+        return (T) nodes[id];
+    }
+
+    /**
+     * Gets all the nodes in the graph, in id order.
+     *
+     * @return an unmodifiable list whose i-th element is the node with id i
+     */
+    public List<T> getAllNodes() {
+        List<T> res = new ArrayList<>(nodes.length);
+        for (int i = 0; i < nodes.length; i++) {
+            res.add(nodeOf(i));
+        }
+        return Collections.unmodifiableList(res);
+    }
+
+    /**
+     * Gets the id of the first outgoing edge of the given node.
+     *
+     * @param id the id of the node
+     * @return the first edge id of the node's outgoing run
+     * @spec.requires 0 &lt;= id &lt; nodeCount()
+     */
+    public int firstEdge(int id) {
+        return offsets[id];
+    }
+
+    /**
+     * Gets the id one past the last outgoing edge of the given node.
+     *
+     * @param id the id of the node
+     * @return the exclusive end of the node's outgoing edge run
+     * @spec.requires 0 &lt;= id &lt; nodeCount()
+     */
+    public int endEdge(int id) {
+        return offsets[id + 1];
+    }
+
+    /**
+     * Gets the number of outgoing edges of the given node.
+     *
+     * @param id the id of the node
+     * @return the out-degree of the node
+     * @spec.requires 0 &lt;= id &lt; nodeCount()
+     */
+    public int degree(int id) {
+        return offsets[id + 1] - offsets[id];
+    }
+
+    /**
+     * Gets the destination node id of the given edge.
+     *
+     * @param edge the id of the edge
+     * @return the id of the edge's destination node
+     * @spec.requires 0 &lt;= edge &lt; edgeCount()
+     */
+    public int target(int edge) {
+        return targets[edge];
+    }
+
+    /**
+     * Gets the label of the given edge.
+     *
+     * @param edge the id of the edge
+     * @return the label of the edge
+     * @spec.requires 0 &lt;= edge &lt; edgeCount()
+     */
+    @SuppressWarnings("unchecked")
+    public E label(int edge) {
+        return (E) labels[edge];
+    }
+
+    /**
+     * Builds the LabeledEdge equivalent of the given edge.
+     *
+     * @param edge the id of the edge
+     * @return a LabeledEdge with the same destination and label as the edge
+     * @spec.requires 0 &lt;= edge &lt; edgeCount()
+     */
+    public DirectedGraph.LabeledEdge<T, E> labeledEdge(int edge) {
+        return new DirectedGraph.LabeledEdge<>(nodeOf(targets[edge]), label(edge));
+    }
+
+    /**
+     * Returns a string representation of this frozen graph.
+     *
+     * @return a String representation of the graph represented by this.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        for (int i = 0; i < nodes.length; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(nodes[i]).append("=[");
+            for (int e = offsets[i]; e < offsets[i + 1]; e++) {
+                if (e > offsets[i]) {
+                    sb.append(", ");
+                }
+                sb.append("(").append(nodes[targets[e]]).append(",").append(labels[e]).append(")");
+            }
+            sb.append("]");
+        }
+        return sb.append("}").toString();
+    }
+
+    /**
+     * Throws an exception if the representation invariant is violated.
+     */
+    private void checkRep() {
+        assert (offsets.length == nodes.length + 1) : "OFFSETS LENGTH MISMATCH";
+        assert (offsets[0] == 0 && offsets[nodes.length] == targets.length) : "BAD OFFSET BOUNDS";
+        assert (targets.length == labels.length) : "TARGETS AND LABELS MISMATCH";
+        if (DirectedGraph.DEBUG) {
+            for (int i = 0; i < nodes.length; i++) {
+                assert (offsets[i] <= offsets[i + 1]) : "DECREASING OFFSETS";
+                assert (ids.get(nodes[i]) == i) : "BAD NODE ID";
+            }
+            for (int e = 0; e < targets.length; e++) {
+                assert (targets[e] >= 0 && targets[e] < nodes.length) : "NON-EXIST NODE IN GRAPH";
+                assert (labels[e] != null) : "NULL EDGE LABEL";
+            }
+        }
+    }
+}
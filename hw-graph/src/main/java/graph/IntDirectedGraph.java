@@ -0,0 +1,320 @@
+package graph;
+
+import java.util.Arrays;
+
+/**
+ * <b>IntDirectedGraph</b> is a mutable directed graph whose nodes are the dense ids
+ * 0 ... nodeCount() - 1 and whose edges carry double weights.
+ *
+ * <p>Each node keeps its outgoing edges in a pair of growable arrays, one of destination ids and
+ * one of weights, so no node, edge or weight is ever boxed. The i-th edge of a node is read with
+ * target(node, i) and weight(node, i). Pair the graph with a SymbolTable to use it for a graph
+ * of other objects.
+ *
+ * <p>Like DirectedGraph, it holds at most one edge with the same source, destination and weight.
+ */
+public final class IntDirectedGraph {
+
+    // Abstraction Function:
+    // AF(this) = a directed graph, g, such that
+    //      the nodes of g = {0, ..., nodeCount - 1}
+    //      the edges outgoing from node i = {(targets[i][k], weights[i][k]) | 0 <= k < degrees[i]}
+
+    // Representation Invariant:
+    //      targets != null && weights != null && degrees != null
+    //      && targets.length == weights.length == degrees.length >= nodeCount >= 0
+    //      && for all i < nodeCount, targets[i] != null && weights[i] != null
+    //         && targets[i].length == weights[i].length >= degrees[i] >= 0
+    //      && for all i < nodeCount and k < degrees[i], 0 <= targets[i][k] < nodeCount
+    //         && weights[i][k] is not NaN
+    //      && no node has two edges with the same destination and weight
+    //      && edgeCount == sum of degrees[i] for i < nodeCount
+
+    /**
+     * Initial capacity of a node's edge arrays.
+     */
+    private static final int INITIAL_DEGREE = 4;
+
+    /**
+     * Destination ids of each node's edges; only the first degrees[i] entries are in use.
+     */
+    private int[][] targets;
+
+    /**
+     * Weights of each node's edges, parallel to targets.
+     */
+    private double[][] weights;
+
+    /**
+     * Number of outgoing edges of each node.
+     */
+    private int[] degrees;
+
+    private int nodeCount;
+    private int edgeCount;
+
+    /**
+     * @spec.effects Constructs a new empty IntDirectedGraph
+     */
+    public IntDirectedGraph() {
+        this(16);
+    }
+
+    /**
+     * @param expectedNodes the number of nodes to allocate room for
+     * @spec.requires expectedNodes &gt;= 0
+     * @spec.effects Constructs a new empty IntDirectedGraph
+     */
+    public IntDirectedGraph(int expectedNodes) {
+        if (expectedNodes < 0) {
+            throw new IllegalArgumentException("expectedNodes should not be negative");
+        }
+        targets = new int[expectedNodes][];
+        weights = new double[expectedNodes][];
+        degrees = new int[expectedNodes];
+        checkRep();
+    }
+
+    /**
+     * Builds a graph from its compressed sparse row form, as written by a snapshot. The outgoing
+     * edges of node i are (targets[e], weights[e]) for offsets[i] &lt;= e &lt; offsets[i + 1].
+     * Unlike addEdge this does not look for duplicate edges, so loading is linear in the size
+     * of the graph.
+     *
+     * @param offsets the start of each node's edges in targets and weights, followed by their length
+     * @param targets the destination ids of the edges
+     * @param weights the weights of the edges, parallel to targets
+     * @throws IllegalArgumentException if the arrays do not describe a graph
+     * @spec.requires no node has two edges with the same destination and weight
+     * @spec.effects Constructs a new IntDirectedGraph with offsets.length - 1 nodes and the given edges
+     */
+    public IntDirectedGraph(int[] offsets, int[] targets, double[] weights) {
+        if (offsets == null || targets == null || weights == null) {
+            throw new IllegalArgumentException("arrays should not be null");
+        }
+        int n = offsets.length - 1;
+        if (n < 0 || offsets[0] != 0 || offsets[n] != targets.length || weights.length != targets.length) {
+            throw new IllegalArgumentException("arrays do not describe a graph");
+        }
+        this.targets = new int[n][];
+        this.weights = new double[n][];
+        this.degrees = new int[n];
+        for (int i = 0; i < n; i++) {
+            int from = offsets[i];
+            int to = offsets[i + 1];
+            if (from > to || to > targets.length) {
+                throw new IllegalArgumentException("offsets should not decrease");
+            }
+            for (int e = from; e < to; e++) {
+                if (targets[e] < 0 || targets[e] >= n) {
+                    throw new IllegalArgumentException("edge to a node not in the graph");
+                }
+                if (Double.isNaN(weights[e])) {
+                    throw new IllegalArgumentException("weight should not be NaN");
+                }
+            }
+            this.targets[i] = Arrays.copyOfRange(targets, from, to);
+            this.weights[i] = Arrays.copyOfRange(weights, from, to);
+            this.degrees[i] = to - from;
+        }
+        nodeCount = n;
+        edgeCount = targets.length;
+        checkRep();
+    }
+
+    /**
+     * Adds a node with no edges to the graph.
+     *
+     * @return the id of the new node, which is the old nodeCount()
+     * @spec.modifies this
+     * @spec.effects adds the node nodeCount() to the graph
+     */
+    public int addNode() {
+        if (nodeCount == degrees.length) {
+            int capacity = Math.max(16, degrees.length * 2);
+            targets = Arrays.copyOf(targets, capacity);
+            weights = Arrays.copyOf(weights, capacity);
+            degrees = Arrays.copyOf(degrees, capacity);
+        }
+        targets[nodeCount] = new int[INITIAL_DEGREE];
+        weights[nodeCount] = new double[INITIAL_DEGREE];
+        nodeCount++;
+        checkRep();
+        return nodeCount - 1;
+    }
+
+    /**
+     * Adds nodes until the graph holds the given number of them.
+     *
+     * @param count the number of nodes the graph should hold
+     * @spec.modifies this
+     * @spec.effects adds the nodes nodeCount() ... count - 1 if they are not in the graph yet
+     */
+    public void ensureNodes(int count) {
+        while (nodeCount < count) {
+            addNode();
+        }
+    }
+
+    /**
+     * Adds a weighted edge from source to dest, if the same edge is not in the graph yet.
+     *
+     * @param source the id of the source node
+     * @param dest the id of the destination node
+     * @param weight the weight of the edge
+     * @return true if the edge was added, false if it was already in the graph
+     * @spec.requires source and dest are in the graph &amp;&amp; weight is not NaN
+     * @spec.modifies this
+     * @spec.effects adds the edge (source, dest, weight) to the graph
+     */
+    public boolean addEdge(int source, int dest, double weight) {
+        if (!containsNode(source) || !containsNode(dest) || Double.isNaN(weight)) {
+            throw new IllegalArgumentException("source and dest should be in the graph and weight is not NaN");
+        }
+        if (containsEdge(source, dest, weight)) {
+            return false;
+        }
+        int degree = degrees[source];
+        if (degree == targets[source].length) {
+            int capacity = Math.max(INITIAL_DEGREE, degree * 2);
+            targets[source] = Arrays.copyOf(targets[source], capacity);
+            weights[source] = Arrays.copyOf(weights[source], capacity);
+        }
+        targets[source][degree] = dest;
+        weights[source][degree] = weight;
+        degrees[source]++;
+        edgeCount++;
+        checkRep();
+        return true;
+    }
+
+    /**
+     * Check if the node is in the graph.
+     *
+     * @param node the id of the node to be checked
+     * @return true if 0 &lt;= node &lt; nodeCount(), otherwise return false
+     */
+    public boolean containsNode(int node) {
+        return node >= 0 && node < nodeCount;
+    }
+
+    /**
+     * Check if the edge is in the graph.
+     *
+     * @param source the id of the source node
+     * @param dest the id of the destination node
+     * @param weight the weight of the edge
+     * @return true if the graph has an edge from source to dest with the given weight
+     * @spec.requires source is in the graph
+     */
+    public boolean containsEdge(int source, int dest, double weight) {
+        if (!containsNode(source)) {
+            throw new IllegalArgumentException("source should be in the graph");
+        }
+        int[] nodeTargets = targets[source];
+        double[] nodeWeights = weights[source];
+        for (int k = 0; k < degrees[source]; k++) {
+            if (nodeTargets[k] == dest && Double.compare(nodeWeights[k], weight) == 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the number of nodes in the graph.
+     *
+     * @return the number of nodes in the graph
+     */
+    public int nodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * Gets the number of edges in the graph.
+     *
+     * @return the number of edges in the graph
+     */
+    public int edgeCount() {
+        return edgeCount;
+    }
+
+    /**
+     * Gets the number of outgoing edges of the given node.
+     *
+     * @param node the id of the node
+     * @return the out-degree of the node
+     * @spec.requires node is in the graph
+     */
+    public int degree(int node) {
+        return degrees[node];
+    }
+
+    /**
+     * Gets the destination of an outgoing edge of the given node.
+     *
+     * @param node the id of the node
+     * @param k the index of the edge among the node's outgoing edges
+     * @return the id of the edge's destination node
+     * @spec.requires node is in the graph &amp;&amp; 0 &lt;= k &lt; degree(node)
+     */
+    public int target(int node, int k) {
+        return targets[node][k];
+    }
+
+    /**
+     * Gets the weight of an outgoing edge of the given node.
+     *
+     * @param node the id of the node
+     * @param k the index of the edge among the node's outgoing edges
+     * @return the weight of the edge
+     * @spec.requires node is in the graph &amp;&amp; 0 &lt;= k &lt; degree(node)
+     */
+    public double weight(int node, int k) {
+        return weights[node][k];
+    }
+
+    /**
+     * Returns a string representation of this graph.
+     *
+     * @return a String representation of the graph represented by this.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        for (int i = 0; i < nodeCount; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(i).append("=[");
+            for (int k = 0; k < degrees[i]; k++) {
+                if (k > 0) {
+                    sb.append(", ");
+                }
+                sb.append("(").append(targets[i][k]).append(",").append(weights[i][k]).append(")");
+            }
+            sb.append("]");
+        }
+        return sb.append("}").toString();
+    }
+
+    /**
+     * Throws an exception if the representation invariant is violated.
+     */
+    private void checkRep() {
+        assert (targets.length == degrees.length && weights.length == degrees.length) : "ARRAY LENGTH MISMATCH";
+        assert (nodeCount >= 0 && nodeCount <= degrees.length) : "BAD NODE COUNT";
+        if (DirectedGraph.DEBUG) {
+            int edges = 0;
+            for (int i = 0; i < nodeCount; i++) {
+                assert (targets[i].length == weights[i].length && degrees[i] <= targets[i].length) : "BAD EDGE ARRAYS";
+                for (int k = 0; k < degrees[i]; k++) {
+                    assert (targets[i][k] >= 0 && targets[i][k] < nodeCount) : "NON-EXIST NODE IN GRAPH";
+                    assert (!Double.isNaN(weights[i][k])) : "NAN EDGE WEIGHT";
+                }
+                edges += degrees[i];
+            }
+            assert (edges == edgeCount) : "BAD EDGE COUNT";
+        }
+    }
+}
@@ -0,0 +1,284 @@
+package graph;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * SnapshotIO reads and writes the sections of a binary graph snapshot: a header, string tables,
+ * and arrays of ints and doubles. A snapshot is written once through a DataOutputStream and read
+ * back through a read-only memory-mapped buffer, so loading one costs little more than copying
+ * its arrays out of the page cache.
+ *
+ * <p>A snapshot is written to a temporary file beside it and then moved over it atomically, so a
+ * reader, or a process that still has the old file mapped, only ever sees a whole snapshot, and a
+ * write that fails partway leaves the old one in place.
+ *
+ * <p>Every section is an int count followed by that many values, big-endian. A string table
+ * stores each string as an int byte length followed by its UTF-8 bytes.
+ */
+public final class SnapshotIO {
+
+    // This class does not represent an ADT.
+
+    private SnapshotIO() {
+    }
+
+    /**
+     * Writes the sections of a snapshot after its header.
+     */
+    @FunctionalInterface
+    public interface Body {
+
+        /**
+         * Writes the sections.
+         *
+         * @param out the stream to write to, positioned after the header
+         * @throws IOException if the stream can not be written
+         */
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    /**
+     * Writes a snapshot file: its header, then the sections written by body. The file is
+     * replaced only once the whole snapshot has been written.
+     *
+     * @param file the file to write, replaced if it exists
+     * @param magic identifies the kind of snapshot
+     * @param version the version of the snapshot layout
+     * @param fingerprint identifies the data the snapshot was built from
+     * @param body writes the sections of the snapshot
+     * @throws IOException if the file can not be written; file is then left as it was
+     * @spec.requires file != null &amp;&amp; body != null
+     */
+    public static void write(Path file, int magic, int version, long fingerprint, Body body) throws IOException {
+        if (file == null || body == null) {
+            throw new IllegalArgumentException("file and body should not be null");
+        }
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        // the temporary file is in the same directory, so the move never crosses file systems
+        Path tmp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(tmp), 1 << 16))) {
+                out.writeInt(magic);
+                out.writeInt(version);
+                out.writeLong(fingerprint);
+                body.write(out);
+            }
+            Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /**
+     * Maps a snapshot file into memory and checks its header.
+     *
+     * @param file the file to read
+     * @param magic the kind of snapshot expected
+     * @param version the version of the snapshot layout expected
+     * @return a read-only buffer positioned after the magic number and version, at the fingerprint,
+     * which readFingerprint reads
+     * @throws IOException if the file can not be read or is not a snapshot of the expected kind and version
+     * @spec.requires file != null
+     */
+    public static ByteBuffer open(Path file, int magic, int version) throws IOException {
+        if (file == null) {
+            throw new IllegalArgumentException("file should not be null");
+        }
+        ByteBuffer in;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // the mapping stays valid after the channel is closed
+            in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        try {
+            if (in.getInt() != magic || in.getInt() != version) {
+                throw new IOException("not a current snapshot: " + file);
+            }
+        } catch (BufferUnderflowException e) {
+            throw new IOException("truncated snapshot: " + file, e);
+        }
+        return in;
+    }
+
+    /**
+     * Reads the fingerprint of a snapshot.
+     *
+     * @param in a buffer returned by open, not yet read from
+     * @return the fingerprint written to the header of the snapshot
+     * @throws IOException if the snapshot ends before its fingerprint
+     * @spec.requires in != null
+     */
+    public static long readFingerprint(ByteBuffer in) throws IOException {
+        try {
+            return in.getLong();
+        } catch (BufferUnderflowException e) {
+            throw new IOException("truncated snapshot", e);
+        }
+    }
+
+    /**
+     * Computes a fingerprint of a classpath resource, to tell whether a snapshot built from it is
+     * still current.
+     *
+     * @param anchor the class the resource is looked up relative to
+     * @param resource the name of the resource
+     * @param crc the checksum the bytes of the resource are added to
+     * @throws IOException if the resource is missing or can not be read
+     * @spec.requires anchor != null &amp;&amp; resource != null &amp;&amp; crc != null
+     * @spec.modifies crc
+     */
+    public static void fingerprint(Class<?> anchor, String resource, CRC32 crc) throws IOException {
+        try (InputStream in = anchor.getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IOException("No such resource: " + resource);
+            }
+            byte[] buffer = new byte[1 << 16];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                crc.update(buffer, 0, read);
+            }
+        }
+    }
+
+    /**
+     * Writes a string table.
+     *
+     * @param out the stream to write to
+     * @param strings the strings to write
+     * @throws IOException if the stream can not be written
+     * @spec.requires out != null &amp;&amp; strings != null &amp;&amp; strings does not contain null
+     */
+    public static void writeStrings(DataOutputStream out, String[] strings) throws IOException {
+        out.writeInt(strings.length);
+        for (String s : strings) {
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * Reads a string table.
+     *
+     * @param in the buffer to read from
+     * @return the strings of the table
+     * @throws IOException if the buffer does not hold a whole string table
+     * @spec.requires in != null
+     */
+    public static String[] readStrings(ByteBuffer in) throws IOException {
+        try {
+            String[] res = new String[checkCount(in, in.getInt(), 4)];
+            byte[] bytes = new byte[256];
+            for (int i = 0; i < res.length; i++) {
+                int length = checkCount(in, in.getInt(), 1);
+                if (length > bytes.length) {
+                    bytes = new byte[Math.max(length, bytes.length * 2)];
+                }
+                in.get(bytes, 0, length);
+                res[i] = new String(bytes, 0, length, StandardCharsets.UTF_8);
+            }
+            return res;
+        } catch (BufferUnderflowException e) {
+            throw new IOException("truncated snapshot", e);
+        }
+    }
+
+    /**
+     * Writes an array of ints.
+     *
+     * @param out the stream to write to
+     * @param values the values to write
+     * @throws IOException if the stream can not be written
+     * @spec.requires out != null &amp;&amp; values != null
+     */
+    public static void writeInts(DataOutputStream out, int[] values) throws IOException {
+        out.writeInt(values.length);
+        for (int value : values) {
+            out.writeInt(value);
+        }
+    }
+
+    /**
+     * Reads an array of ints.
+     *
+     * @param in the buffer to read from
+     * @return the values of the array
+     * @throws IOException if the buffer does not hold a whole array
+     * @spec.requires in != null
+     */
+    public static int[] readInts(ByteBuffer in) throws IOException {
+        try {
+            int[] res = new int[checkCount(in, in.getInt(), Integer.BYTES)];
+            in.asIntBuffer().get(res);
+            in.position(in.position() + res.length * Integer.BYTES);
+            return res;
+        } catch (BufferUnderflowException e) {
+            throw new IOException("truncated snapshot", e);
+        }
+    }
+
+    /**
+     * Writes an array of doubles.
+     *
+     * @param out the stream to write to
+     * @param values the values to write
+     * @throws IOException if the stream can not be written
+     * @spec.requires out != null &amp;&amp; values != null
+     */
+    public static void writeDoubles(DataOutputStream out, double[] values) throws IOException {
+        out.writeInt(values.length);
+        for (double value : values) {
+            out.writeDouble(value);
+        }
+    }
+
+    /**
+     * Reads an array of doubles.
+     *
+     * @param in the buffer to read from
+     * @return the values of the array
+     * @throws IOException if the buffer does not hold a whole array
+     * @spec.requires in != null
+     */
+    public static double[] readDoubles(ByteBuffer in) throws IOException {
+        try {
+            double[] res = new double[checkCount(in, in.getInt(), Double.BYTES)];
+            in.asDoubleBuffer().get(res);
+            in.position(in.position() + res.length * Double.BYTES);
+            return res;
+        } catch (BufferUnderflowException e) {
+            throw new IOException("truncated snapshot", e);
+        }
+    }
+
+    /**
+     * Checks that a section count read from a snapshot fits in what is left of it.
+     *
+     * @param in the buffer being read
+     * @param count the count read
+     * @param bytesEach the least number of bytes each counted value takes
+     * @return count
+     * @throws IOException if count is negative or the rest of the buffer is too short for it
+     */
+    private static int checkCount(ByteBuffer in, int count, int bytesEach) throws IOException {
+        if (count < 0 || (long) count * bytesEach > in.remaining()) {
+            throw new IOException("corrupt snapshot");
+        }
+        return count;
+    }
+}
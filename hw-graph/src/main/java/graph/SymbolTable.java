@@ -0,0 +1,127 @@
+package graph;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <b>SymbolTable</b> assigns dense int ids to keys, in the order the keys are first seen, so that
+ * an IntDirectedGraph can stand for a graph whose nodes are hero names, Points or other objects.
+ *
+ * @param <K> The type of keys in the SymbolTable
+ */
+public final class SymbolTable<K> {
+
+    // Abstraction Function:
+    // AF(this) = a table, t, such that
+    //      the key with id i = keys.get(i), for 0 <= i < keys.size()
+
+    // Representation Invariant:
+    //      keys != null && ids != null && keys.size() == ids.size()
+    //      && for all i, keys.get(i) != null && ids.get(keys.get(i)) == i
+
+    /**
+     * Keys, indexed by id.
+     */
+    private final List<K> keys;
+
+    /**
+     * Reverse lookup from a key to its id.
+     */
+    private final Map<K, Integer> ids;
+
+    /**
+     * @spec.effects Constructs a new empty SymbolTable
+     */
+    public SymbolTable() {
+        keys = new ArrayList<>();
+        ids = new HashMap<>();
+        checkRep();
+    }
+
+    /**
+     * Gets the id of the given key, giving it the next free id if it has none yet.
+     *
+     * @param key the key to look up or add
+     * @return the id of key
+     * @spec.requires key != null
+     * @spec.modifies this
+     * @spec.effects adds key with id size() if key is not in the table
+     */
+    public int intern(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("key should not be null");
+        }
+        Integer id = ids.get(key);
+        if (id == null) {
+            id = keys.size();
+            keys.add(key);
+            ids.put(key, id);
+            checkRep();
+        }
+        return id;
+    }
+
+    /**
+     * Check if the key is in the table.
+     *
+     * @param key the key to be checked
+     * @return true if the key has an id, otherwise return false
+     * @spec.requires key != null
+     */
+    public boolean contains(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("key should not be null");
+        }
+        return ids.containsKey(key);
+    }
+
+    /**
+     * Gets the id of the given key.
+     *
+     * @param key the key to look up
+     * @return the id of key, or -1 if key is not in the table
+     * @spec.requires key != null
+     */
+    public int idOf(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("key should not be null");
+        }
+        Integer id = ids.get(key);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Gets the key with the given id.
+     *
+     * @param id the id of the key
+     * @return the key whose id is id
+     * @spec.requires 0 &lt;= id &lt; size()
+     */
+    public K keyOf(int id) {
+        return keys.get(id);
+    }
+
+    /**
+     * Gets the number of keys in the table.
+     *
+     * @return the number of keys in the table
+     */
+    public int size() {
+        return keys.size();
+    }
+
+    /**
+     * Throws an exception if the representation invariant is violated.
+     */
+    private void checkRep() {
+        assert (keys.size() == ids.size()) : "KEYS AND IDS MISMATCH";
+        if (DirectedGraph.DEBUG) {
+            for (int i = 0; i < keys.size(); i++) {
+                assert (keys.get(i) != null) : "NULL KEY";
+                assert (ids.get(keys.get(i)) == i) : "BAD KEY ID";
+            }
+        }
+    }
+}
@@ -204,6 +204,22 @@ public class DirectedGraphTest {
         assertEquals(edges3, graph3.getEdges("node1"));
     }
 
+    // test edgesOf() method returns a live view of the same edges as getEdges()
+    @Test
+    public void testEdgesOf() {
+        assertTrue(graph2.edgesOf("node1").isEmpty());
+        Set<DirectedGraph.LabeledEdge<String, String>> view = graph3.edgesOf("node1");
+        assertEquals(graph3.getEdges("node1"), view);
+        graph3.addEdge("node1", "node3", "edge13");
+        assertTrue(view.contains(new DirectedGraph.LabeledEdge<>("node3", "edge13")));
+    }
+
+    // test edgesOf() method rejects modification through the view
+    @Test(expected = UnsupportedOperationException.class)
+    public void testEdgesOfUnmodifiable() {
+        graph3.edgesOf("node1").add(new DirectedGraph.LabeledEdge<>("node3", "edge13"));
+    }
+
     // test getAllEdges() method for the graph
     @Test
     public void testGetAllEdges() {
@@ -237,6 +253,20 @@ public class DirectedGraphTest {
         assertTrue(graph2.equals(graph1));
     }
 
+    // test that parallelBuild() builds the same graph as adding the edges one at a time
+    @Test
+    public void testParallelBuild() {
+        DirectedGraph<String, String> built = DirectedGraph.parallelBuild(nodes3, node -> graph3.getEdges(node));
+        assertEquals(graph3, built);
+        assertEquals(graph2, DirectedGraph.parallelBuild(nodes2, node -> new HashSet<>()));
+        assertEquals(graph1, DirectedGraph.parallelBuild(nodes1, node -> new HashSet<>()));
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void testParallelBuildMissingDest() {
+        DirectedGraph.parallelBuild(nodes2, node -> edges3);
+    }
+
     // test toString() method
     @Test
     public void testToString() {
@@ -0,0 +1,97 @@
+package graph.junitTests;
+
+import graph.DirectedGraph;
+import graph.FrozenGraph;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class FrozenGraphTest {
+    @Rule
+    public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    private DirectedGraph<String, String> graph;
+    private FrozenGraph<String, String> emptyFrozen, frozen;
+
+    @Before
+    public void init() throws Exception {
+        emptyFrozen = new DirectedGraph<String, String>().freeze();
+
+        graph = new DirectedGraph<>();
+        graph.addNode("node1");
+        graph.addNode("node2");
+        graph.addNode("node3");
+        graph.addEdge("node1", "node3", "edge13");
+        graph.addEdge("node1", "node2", "edge12b");
+        graph.addEdge("node1", "node2", "edge12a");
+        graph.addEdge("node2", "node2", "edge22");
+        frozen = graph.freeze((o1, o2) -> o1.getEdgeLabel().compareTo(o2.getEdgeLabel()));
+    }
+
+    // test nodeCount() and edgeCount() methods
+    @Test
+    public void testCounts() {
+        assertEquals(0, emptyFrozen.nodeCount());
+        assertEquals(0, emptyFrozen.edgeCount());
+        assertEquals(3, frozen.nodeCount());
+        assertEquals(4, frozen.edgeCount());
+    }
+
+    // test that ids and nodes map back to each other
+    @Test
+    public void testIdOfAndNodeOf() {
+        for (String node : graph.getAllNodes()) {
+            assertTrue(frozen.containsNode(node));
+            assertEquals(node, frozen.nodeOf(frozen.idOf(node)));
+        }
+        assertFalse(frozen.containsNode("node8"));
+        assertEquals(-1, frozen.idOf("node8"));
+        assertEquals(graph.getAllNodes(), new HashSet<>(frozen.getAllNodes()));
+    }
+
+    // test that every node's edge run holds the same edges as the original graph
+    @Test
+    public void testEdgeRuns() {
+        for (String node : graph.getAllNodes()) {
+            int id = frozen.idOf(node);
+            Set<DirectedGraph.LabeledEdge<String, String>> edges = new HashSet<>();
+            for (int e = frozen.firstEdge(id); e < frozen.endEdge(id); e++) {
+                edges.add(frozen.labeledEdge(e));
+            }
+            assertEquals(frozen.degree(id), edges.size());
+            assertEquals(graph.getEdges(node), edges);
+        }
+    }
+
+    // test that edge runs follow the order given to freeze()
+    @Test
+    public void testEdgeOrder() {
+        int id = frozen.idOf("node1");
+        int e = frozen.firstEdge(id);
+        assertEquals("edge12a", frozen.label(e));
+        assertEquals("edge12b", frozen.label(e + 1));
+        assertEquals("edge13", frozen.label(e + 2));
+        assertEquals("node3", frozen.nodeOf(frozen.target(e + 2)));
+    }
+
+    // test that the snapshot does not see later changes to the graph
+    @Test
+    public void testSnapshotIsolation() {
+        graph.addNode("node8");
+        graph.addEdge("node3", "node8", "edge38");
+        assertEquals(3, frozen.nodeCount());
+        assertEquals(0, frozen.degree(frozen.idOf("node3")));
+    }
+
+    // test freeze() with a null order
+    @Test(expected = IllegalArgumentException.class)
+    public void testFreezeNullOrder() {
+        graph.freeze(null);
+    }
+}
@@ -0,0 +1,133 @@
+package graph.junitTests;
+
+import graph.IntDirectedGraph;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import static org.junit.Assert.*;
+
+public class IntDirectedGraphTest {
+    @Rule
+    public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    private IntDirectedGraph emptyGraph, graph;
+
+    @Before
+    public void init() throws Exception {
+        emptyGraph = new IntDirectedGraph();
+
+        graph = new IntDirectedGraph(0);
+        graph.ensureNodes(3);
+        graph.addEdge(0, 2, 1.5);
+        graph.addEdge(0, 1, 2.0);
+        graph.addEdge(0, 1, 3.0);
+        graph.addEdge(1, 1, 0.0);
+    }
+
+    // test nodeCount() and edgeCount() methods
+    @Test
+    public void testCounts() {
+        assertEquals(0, emptyGraph.nodeCount());
+        assertEquals(0, emptyGraph.edgeCount());
+        assertEquals(3, graph.nodeCount());
+        assertEquals(4, graph.edgeCount());
+    }
+
+    // test that addNode() hands out consecutive ids, past the initial capacity
+    @Test
+    public void testAddNode() {
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, emptyGraph.addNode());
+            assertTrue(emptyGraph.containsNode(i));
+        }
+        assertFalse(emptyGraph.containsNode(100));
+        assertFalse(emptyGraph.containsNode(-1));
+        emptyGraph.ensureNodes(50);
+        assertEquals(100, emptyGraph.nodeCount());
+    }
+
+    // test that edges are kept in the order they were added
+    @Test
+    public void testEdges() {
+        assertEquals(3, graph.degree(0));
+        assertEquals(2, graph.target(0, 0));
+        assertEquals(1.5, graph.weight(0, 0), 0.0);
+        assertEquals(1, graph.target(0, 1));
+        assertEquals(2.0, graph.weight(0, 1), 0.0);
+        assertEquals(1, graph.target(0, 2));
+        assertEquals(3.0, graph.weight(0, 2), 0.0);
+        assertEquals(1, graph.degree(1));
+        assertEquals(0, graph.degree(2));
+    }
+
+    // test that a node's edge arrays grow past their initial capacity
+    @Test
+    public void testManyEdges() {
+        emptyGraph.ensureNodes(2);
+        for (int i = 0; i < 100; i++) {
+            assertTrue(emptyGraph.addEdge(0, 1, i));
+        }
+        assertEquals(100, emptyGraph.degree(0));
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, emptyGraph.weight(0, i), 0.0);
+        }
+    }
+
+    // test containsEdge() and that the same edge is not added twice
+    @Test
+    public void testContainsEdge() {
+        assertTrue(graph.containsEdge(0, 1, 2.0));
+        assertTrue(graph.containsEdge(1, 1, 0.0));
+        assertFalse(graph.containsEdge(0, 1, 2.5));
+        assertFalse(graph.containsEdge(1, 0, 2.0));
+        assertFalse(graph.addEdge(0, 1, 2.0));
+        assertEquals(4, graph.edgeCount());
+    }
+
+    // test building a graph from its compressed sparse row form
+    @Test
+    public void testFromCsr() {
+        IntDirectedGraph csr = new IntDirectedGraph(new int[] {0, 3, 4, 4},
+                new int[] {2, 1, 1, 1}, new double[] {1.5, 2.0, 3.0, 0.0});
+        assertEquals(graph.toString(), csr.toString());
+        assertEquals(4, csr.edgeCount());
+        assertEquals(0, csr.degree(2));
+        assertTrue(csr.addEdge(2, 0, 1.0));
+        assertEquals(3, csr.addNode());
+        assertTrue(csr.addEdge(3, 2, 1.0));
+        assertEquals(6, csr.edgeCount());
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void testFromCsrBadTarget() {
+        new IntDirectedGraph(new int[] {0, 1}, new int[] {1}, new double[] {1.0});
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void testFromCsrBadOffsets() {
+        new IntDirectedGraph(new int[] {0, 2, 1}, new int[] {0}, new double[] {1.0});
+    }
+
+    @Test
+    public void testToString() {
+        assertEquals("{}", emptyGraph.toString());
+        assertEquals("{0=[(2,1.5), (1,2.0), (1,3.0)], 1=[(1,0.0)], 2=[]}", graph.toString());
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void testAddEdgeToMissingNode() {
+        graph.addEdge(0, 3, 1.0);
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void testAddNaNEdge() {
+        graph.addEdge(0, 1, Double.NaN);
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void testNegativeCapacity() {
+        new IntDirectedGraph(-1);
+    }
+}
@@ -0,0 +1,120 @@
+package graph.junitTests;
+
+import graph.SnapshotIO;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+public class SnapshotIOTest {
+    @Rule
+    public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    private static final int MAGIC = 0x54455354;
+
+    private Path file;
+
+    @Before
+    public void init() throws Exception {
+        file = Files.createTempFile("snapshot", ".bin");
+    }
+
+    @After
+    public void cleanUp() throws Exception {
+        Files.deleteIfExists(file);
+    }
+
+    // test that every kind of section reads back as written, in order
+    @Test
+    public void testRoundTrip() throws IOException {
+        String[] strings = {"", "node1", "Æsir", "a\tb"};
+        int[] ints = {0, -1, Integer.MAX_VALUE, 42};
+        double[] doubles = {0.0, -1.5, Double.MAX_VALUE, Double.POSITIVE_INFINITY};
+        SnapshotIO.write(file, MAGIC, 3, 1234L, out -> {
+            SnapshotIO.writeStrings(out, strings);
+            SnapshotIO.writeInts(out, ints);
+            SnapshotIO.writeDoubles(out, doubles);
+            SnapshotIO.writeInts(out, new int[0]);
+        });
+        ByteBuffer in = SnapshotIO.open(file, MAGIC, 3);
+        assertEquals(1234L, SnapshotIO.readFingerprint(in));
+        assertArrayEquals(strings, SnapshotIO.readStrings(in));
+        assertArrayEquals(ints, SnapshotIO.readInts(in));
+        assertArrayEquals(doubles, SnapshotIO.readDoubles(in), 0.0);
+        assertEquals(0, SnapshotIO.readInts(in).length);
+        assertFalse(in.hasRemaining());
+    }
+
+    @Test (expected = IOException.class)
+    public void testWrongMagic() throws IOException {
+        SnapshotIO.write(file, MAGIC, 1, 0L, out -> { });
+        SnapshotIO.open(file, MAGIC + 1, 1);
+    }
+
+    @Test (expected = IOException.class)
+    public void testWrongVersion() throws IOException {
+        SnapshotIO.write(file, MAGIC, 1, 0L, out -> { });
+        SnapshotIO.open(file, MAGIC, 2);
+    }
+
+    @Test (expected = IOException.class)
+    public void testEmptyFile() throws IOException {
+        SnapshotIO.open(file, MAGIC, 1);
+    }
+
+    // a count larger than the rest of the file is rejected instead of allocating a huge array
+    @Test (expected = IOException.class)
+    public void testTruncatedSection() throws IOException {
+        SnapshotIO.write(file, MAGIC, 1, 0L, out -> {
+            out.writeInt(1000);
+            out.writeInt(1);
+        });
+        ByteBuffer in = SnapshotIO.open(file, MAGIC, 1);
+        SnapshotIO.readFingerprint(in);
+        SnapshotIO.readInts(in);
+    }
+
+    // a file cut off inside the fingerprint is reported like any other truncated snapshot
+    @Test (expected = IOException.class)
+    public void testTruncatedFingerprint() throws IOException {
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(file))) {
+            out.writeInt(MAGIC);
+            out.writeInt(1);
+            out.writeInt(0);
+        }
+        SnapshotIO.readFingerprint(SnapshotIO.open(file, MAGIC, 1));
+    }
+
+    // a write that fails partway leaves the old snapshot whole, and no temporary file behind
+    @Test
+    public void testFailedWriteKeepsOldSnapshot() throws IOException {
+        SnapshotIO.write(file, MAGIC, 1, 7L, out -> SnapshotIO.writeInts(out, new int[] {1, 2, 3}));
+        try {
+            SnapshotIO.write(file, MAGIC, 1, 8L, out -> {
+                out.writeInt(1);
+                throw new IOException("disk full");
+            });
+            fail("the failed write should throw");
+        } catch (IOException e) {
+            assertEquals("disk full", e.getMessage());
+        }
+        ByteBuffer in = SnapshotIO.open(file, MAGIC, 1);
+        assertEquals(7L, SnapshotIO.readFingerprint(in));
+        assertArrayEquals(new int[] {1, 2, 3}, SnapshotIO.readInts(in));
+        try (Stream<Path> siblings = Files.list(file.getParent())) {
+            String prefix = file.getFileName().toString();
+            assertTrue(siblings.noneMatch(p -> p.getFileName().toString().startsWith(prefix)
+                                               && p.toString().endsWith(".tmp")));
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package graph.junitTests;
+
+import graph.SymbolTable;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import static org.junit.Assert.*;
+
+public class SymbolTableTest {
+    @Rule
+    public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    private SymbolTable<String> table;
+
+    @Before
+    public void init() throws Exception {
+        table = new SymbolTable<>();
+    }
+
+    // test that keys get consecutive ids in the order they are first interned
+    @Test
+    public void testIntern() {
+        assertEquals(0, table.size());
+        assertEquals(0, table.intern("a"));
+        assertEquals(1, table.intern("b"));
+        assertEquals(0, table.intern("a"));
+        assertEquals(2, table.intern("c"));
+        assertEquals(3, table.size());
+    }
+
+    // test that ids and keys map back to each other
+    @Test
+    public void testIdOfAndKeyOf() {
+        table.intern("a");
+        table.intern("b");
+        assertTrue(table.contains("b"));
+        assertEquals(1, table.idOf("b"));
+        assertEquals("b", table.keyOf(1));
+        assertFalse(table.contains("c"));
+        assertEquals(-1, table.idOf("c"));
+        assertEquals(2, table.size());
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void testInternNull() {
+        table.intern(null);
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void testIdOfNull() {
+        table.idOf(null);
+    }
+}
@@ -0,0 +1,374 @@
+package marvel;
+
+import graph.DirectedGraph;
+import graph.SnapshotIO;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.zip.CRC32;
+
+/**
+ * HeroBookGraph is an immutable bipartite graph of heroes and the books they appear in.
+ *
+ * <p>MarvelPaths.buildGraph connects every pair of heroes sharing a book, so a book with n heroes
+ * costs n * (n - 1) edges. Here each appearance is stored once, as a hero-book link, and BFS steps
+ * from a hero through a book to its other heroes on the fly. Heroes and books are numbered in
+ * name order, so walking links in id order visits them in the same order MarvelPaths.BFS sorts
+ * its edges, and the paths found are the same.
+ */
+public class HeroBookGraph {
+
+    // Rep invariant:
+    // heroes, books, heroIds, heroOffsets, heroBooks, bookOffsets, bookHeroes != null
+    // && heroes and books are sorted and contain no duplicates or nulls
+    // && heroIds.get(heroes[i]) == i for every i
+    // && heroOffsets.length == heroes.length + 1 && bookOffsets.length == books.length + 1
+    // && the books of hero i are heroBooks[heroOffsets[i] ... heroOffsets[i + 1]), ascending
+    // && the heroes of book b are bookHeroes[bookOffsets[b] ... bookOffsets[b + 1]), ascending
+    // && hero h is linked to book b in heroBooks iff b is linked to h in bookHeroes
+
+    // Abstract Function:
+    // AF(this) = a graph such that
+    //      the heroes of the graph = heroes
+    //      hero heroes[i] appears in book books[b] iff b is one of the books of hero i
+    //      there is an edge (x, y, book) iff x != y and both x and y appear in book
+
+    /**
+     * "HBGS", identifying a hero-book graph snapshot file.
+     */
+    private static final int MAGIC = 0x48424753;
+
+    /**
+     * The version of the binary layout; bump it whenever the layout changes.
+     */
+    private static final int VERSION = 1;
+
+    private final String[] heroes;
+    private final String[] books;
+    private final Map<String, Integer> heroIds;
+    private final int[] heroOffsets;
+    private final int[] heroBooks;
+    private final int[] bookOffsets;
+    private final int[] bookHeroes;
+
+    /**
+     * Build a bipartite graph with the data from the given .tsv file.
+     *
+     * @param filename file used to build the graph
+     * @spec.requires filename != null
+     * @return a HeroBookGraph built from the given file
+     */
+    public static HeroBookGraph buildGraph(String filename) {
+        if (filename == null) {
+            throw new IllegalArgumentException("filename is null");
+        }
+        Set<String> heroSet = new HashSet<>();
+        Map<String, Set<String>> appearances = new HashMap<>();
+        MarvelParser.forEachRecord(filename, (currHero, currBook) -> {
+            if (currHero != null) {
+                heroSet.add(currHero);
+                if (currBook != null) {
+                    appearances.computeIfAbsent(currBook, k -> new HashSet<>()).add(currHero);
+                }
+            }
+        });
+        return new HeroBookGraph(heroSet, appearances);
+    }
+
+    /**
+     * Creates a bipartite graph of the given heroes and books.
+     *
+     * @param heroSet     the heroes of the graph
+     * @param appearances a map from each book to the heroes appearing in it
+     * @spec.requires every hero in appearances is in heroSet
+     */
+    private HeroBookGraph(Set<String> heroSet, Map<String, Set<String>> appearances) {
+        heroes = heroSet.toArray(new String[0]);
+        books = appearances.keySet().toArray(new String[0]);
+        Arrays.sort(heroes);
+        Arrays.sort(books);
+        heroIds = new HashMap<>();
+        for (int i = 0; i < heroes.length; i++) {
+            heroIds.put(heroes[i], i);
+        }
+
+        bookOffsets = new int[books.length + 1];
+        heroOffsets = new int[heroes.length + 1];
+        for (int b = 0; b < books.length; b++) {
+            Set<String> cast = appearances.get(books[b]);
+            bookOffsets[b + 1] = bookOffsets[b] + cast.size();
+            for (String hero : cast) {
+                heroOffsets[heroIds.get(hero) + 1]++;
+            }
+        }
+        for (int i = 0; i < heroes.length; i++) {
+            heroOffsets[i + 1] += heroOffsets[i];
+        }
+
+        bookHeroes = new int[bookOffsets[books.length]];
+        heroBooks = new int[heroOffsets[heroes.length]];
+        int[] next = Arrays.copyOf(heroOffsets, heroes.length);
+        for (int b = 0; b < books.length; b++) {
+            int e = bookOffsets[b];
+            for (String hero : appearances.get(books[b])) {
+                bookHeroes[e++] = heroIds.get(hero);
+            }
+            Arrays.sort(bookHeroes, bookOffsets[b], bookOffsets[b + 1]);
+            // books are visited in ascending order, so each hero's run ends up sorted
+            for (int k = bookOffsets[b]; k < bookOffsets[b + 1]; k++) {
+                heroBooks[next[bookHeroes[k]]++] = b;
+            }
+        }
+    }
+
+    /**
+     * Creates a bipartite graph from its arrays, as loaded from a snapshot.
+     *
+     * @param heroes      the heroes, sorted
+     * @param books       the books, sorted
+     * @param heroOffsets where the books of each hero start in heroBooks
+     * @param heroBooks   the books of every hero
+     * @param bookOffsets where the heroes of each book start in bookHeroes
+     * @param bookHeroes  the heroes of every book
+     * @throws IOException if the arrays do not satisfy the rep invariant
+     */
+    private HeroBookGraph(String[] heroes, String[] books, int[] heroOffsets, int[] heroBooks,
+                          int[] bookOffsets, int[] bookHeroes) throws IOException {
+        this.heroes = heroes;
+        this.books = books;
+        this.heroOffsets = heroOffsets;
+        this.heroBooks = heroBooks;
+        this.bookOffsets = bookOffsets;
+        this.bookHeroes = bookHeroes;
+        heroIds = new HashMap<>();
+        for (int i = 0; i < heroes.length; i++) {
+            heroIds.put(heroes[i], i);
+        }
+        if (heroIds.size() != heroes.length || !isRun(heroOffsets, heroBooks, books.length)
+                || !isRun(bookOffsets, bookHeroes, heroes.length)) {
+            throw new IOException("corrupt snapshot");
+        }
+    }
+
+    /**
+     * Checks that offsets splits links into runs whose values are all ids below bound.
+     *
+     * @param offsets the start of each run, with one trailing sentinel
+     * @param links   the values of all runs
+     * @param bound   one past the largest valid id
+     * @return true iff offsets is non-decreasing from 0 to links.length and every link is in range
+     */
+    private static boolean isRun(int[] offsets, int[] links, int bound) {
+        if (offsets.length == 0 || offsets[0] != 0 || offsets[offsets.length - 1] != links.length) {
+            return false;
+        }
+        for (int i = 0; i + 1 < offsets.length; i++) {
+            if (offsets[i] > offsets[i + 1]) {
+                return false;
+            }
+        }
+        for (int link : links) {
+            if (link < 0 || link >= bound) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Loads the snapshot of the given .tsv file if it is up to date with the file. Otherwise builds
+     * the graph from the file and saves a snapshot of it for next time.
+     *
+     * @param filename file used to build the graph
+     * @param snapshot the snapshot file
+     * @spec.requires filename != null &amp;&amp; snapshot != null
+     * @spec.effects writes snapshot if it is missing or out of date
+     * @return a HeroBookGraph built from the given file
+     */
+    public static HeroBookGraph loadOrBuild(String filename, Path snapshot) {
+        if (filename == null || snapshot == null) {
+            throw new IllegalArgumentException("filename and snapshot should not be null");
+        }
+        long current = sourceFingerprint(filename);
+        try {
+            ByteBuffer in = SnapshotIO.open(snapshot, MAGIC, VERSION);
+            if (SnapshotIO.readFingerprint(in) == current) {
+                return read(in);
+            }
+        } catch (IOException e) {
+            // missing or unreadable, so it is rebuilt below
+        }
+        HeroBookGraph g = buildGraph(filename);
+        try {
+            g.write(snapshot, current);
+        } catch (IOException e) {
+            // the snapshot only speeds up the next start, so failing to save it is not an error
+        }
+        return g;
+    }
+
+    /**
+     * Loads a graph from a snapshot file written by loadOrBuild, whatever data it was built from.
+     *
+     * @param snapshot the snapshot file
+     * @spec.requires snapshot != null
+     * @return the graph held in the file
+     * @throws IOException if the file can not be read or does not hold a hero-book graph
+     */
+    public static HeroBookGraph read(Path snapshot) throws IOException {
+        ByteBuffer in = SnapshotIO.open(snapshot, MAGIC, VERSION);
+        SnapshotIO.readFingerprint(in);
+        return read(in);
+    }
+
+    /**
+     * Reads the arrays of a graph from a snapshot positioned after its header.
+     *
+     * @param in the snapshot being read
+     * @return the graph held in the snapshot
+     * @throws IOException if the snapshot does not hold a whole, valid graph
+     */
+    private static HeroBookGraph read(ByteBuffer in) throws IOException {
+        String[] heroes = SnapshotIO.readStrings(in);
+        String[] books = SnapshotIO.readStrings(in);
+        int[] heroOffsets = SnapshotIO.readInts(in);
+        int[] heroBooks = SnapshotIO.readInts(in);
+        int[] bookOffsets = SnapshotIO.readInts(in);
+        int[] bookHeroes = SnapshotIO.readInts(in);
+        if (heroOffsets.length != heroes.length + 1 || bookOffsets.length != books.length + 1) {
+            throw new IOException("corrupt snapshot");
+        }
+        return new HeroBookGraph(heroes, books, heroOffsets, heroBooks, bookOffsets, bookHeroes);
+    }
+
+    /**
+     * Saves this graph to a snapshot file.
+     *
+     * @param snapshot    the file to write, replaced if it exists
+     * @param fingerprint the checksum of the .tsv file the graph was built from
+     * @throws IOException if the file can not be written
+     */
+    private void write(Path snapshot, long fingerprint) throws IOException {
+        SnapshotIO.write(snapshot, MAGIC, VERSION, fingerprint, out -> {
+            SnapshotIO.writeStrings(out, heroes);
+            SnapshotIO.writeStrings(out, books);
+            SnapshotIO.writeInts(out, heroOffsets);
+            SnapshotIO.writeInts(out, heroBooks);
+            SnapshotIO.writeInts(out, bookOffsets);
+            SnapshotIO.writeInts(out, bookHeroes);
+        });
+    }
+
+    /**
+     * Computes the checksum of a data file.
+     *
+     * @param filename a file in the resources/data folder
+     * @return the checksum of the file
+     */
+    private static long sourceFingerprint(String filename) {
+        CRC32 crc = new CRC32();
+        try {
+            SnapshotIO.fingerprint(MarvelParser.class, "/data/" + filename, crc);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("provided an invalid file name", e);
+        }
+        return crc.getValue();
+    }
+
+    /**
+     * Check if the hero is in the graph.
+     *
+     * @param hero the hero to be checked
+     * @return true if the hero is in the graph, otherwise return false
+     * @spec.requires hero != null
+     */
+    public boolean containsNode(String hero) {
+        if (hero == null) {
+            throw new IllegalArgumentException("hero should not be null");
+        }
+        return heroIds.containsKey(hero);
+    }
+
+    /**
+     * Gets the number of heroes in the graph.
+     *
+     * @return the number of heroes in the graph
+     */
+    public int size() {
+        return heroes.length;
+    }
+
+    /**
+     * Gets the number of books in the graph.
+     *
+     * @return the number of books in the graph
+     */
+    public int bookCount() {
+        return books.length;
+    }
+
+    /**
+     * Find the shortest path from one hero to another using BFS, stepping from hero to book to hero.
+     * Ties are broken exactly as MarvelPaths.BFS breaks them: by the name of the next hero, then
+     * by the title of the book.
+     *
+     * @param source the source hero
+     * @param dest the destination hero
+     * @spec.requires source != null &amp;&amp; dest != null &amp;&amp; source and dest are in the graph
+     * @return the shortest path from source to dest in the format of MarvelPaths.BFS, return null
+     *         if no path exist
+     */
+    public List<DirectedGraph.LabeledEdge<String, String>> BFS(String source, String dest) {
+        if (source == null || dest == null || !containsNode(source) || !containsNode(dest)) {
+            throw new IllegalArgumentException();
+        }
+        int src = heroIds.get(source);
+        int dst = heroIds.get(dest);
+        int[] parentHero = new int[heroes.length];
+        int[] parentBook = new int[heroes.length];
+        boolean[] visited = new boolean[heroes.length];
+        // once a book is expanded, every hero in it is discovered, so no book is expanded twice
+        boolean[] bookExpanded = new boolean[books.length];
+        int[] queue = new int[heroes.length];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = src;
+        visited[src] = true;
+        parentHero[src] = -1;
+
+        while (head < tail) {
+            int currHero = queue[head++];
+            if (currHero == dst) {
+                LinkedList<DirectedGraph.LabeledEdge<String, String>> path = new LinkedList<>();
+                for (int hero = dst; parentHero[hero] != -1; hero = parentHero[hero]) {
+                    path.addFirst(new DirectedGraph.LabeledEdge<>(heroes[hero], books[parentBook[hero]]));
+                }
+                return new ArrayList<>(path);
+            }
+
+            // the heroes first discovered from currHero, each through the smallest book title
+            int start = tail;
+            for (int k = heroOffsets[currHero]; k < heroOffsets[currHero + 1]; k++) {
+                int book = heroBooks[k];
+                if (bookExpanded[book]) {
+                    continue;
+                }
+                bookExpanded[book] = true;
+                for (int j = bookOffsets[book]; j < bookOffsets[book + 1]; j++) {
+                    int hero = bookHeroes[j];
+                    if (!visited[hero]) {
+                        visited[hero] = true;
+                        parentHero[hero] = currHero;
+                        parentBook[hero] = book;
+                        queue[tail++] = hero;
+                    }
+                }
+            }
+            // enqueue them in name order, as BFS does after sorting its edges
+            Arrays.sort(queue, start, tail);
+        }
+        return null;
+    }
+}
@@ -14,10 +14,17 @@ package marvel;
 import com.opencsv.bean.CsvToBeanBuilder;
 
 import java.io.BufferedReader;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.Map;
+import java.util.function.BiConsumer;
 
 /**
  * Parser utility to load the Marvel Comics dataset.
@@ -60,4 +67,103 @@ public class MarvelParser {
                                                             .iterator();
         return csvMarvelIterator;
     }
-}
\ No newline at end of file
+
+    /**
+     * Streams the Marvel Universe dataset to the given consumer, one (hero, book) record per line,
+     * without building a MarvelModel bean for each line. The file is read in large byte blocks and
+     * split on tab and newline bytes by hand. Fields are decoded in the platform charset, as
+     * parseData does, and equal names are interned so that every occurrence of a hero or book
+     * shares one String. Unlike parseData, quoted fields are not unescaped, which the dataset does
+     * not use.
+     *
+     * @param filename the file that will be read
+     * @param consumer receives the hero and the book of every line after the header; a field that
+     *                 is missing or blank is passed as null
+     * @spec.requires filename is a valid file in the resources/data folder.
+     */
+    public static void forEachRecord(String filename, BiConsumer<String, String> consumer) {
+        if (filename == null || consumer == null) {
+            throw new IllegalArgumentException("filename and consumer should not be null");
+        }
+        InputStream stream = MarvelParser.class.getResourceAsStream("/data/" + filename);
+        if(stream == null) {
+            throw new IllegalArgumentException("provided an invalid file name");
+        }
+        Map<String, String> pool = new HashMap<>();
+        byte[] buffer = new byte[1 << 16];
+        // the bytes of the line being read, carried over between blocks
+        byte[] line = new byte[256];
+        int lineLength = 0;
+        boolean header = true;
+        try (InputStream in = stream) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                for (int i = 0; i < read; i++) {
+                    byte b = buffer[i];
+                    if (b == '\n') {
+                        if (!header) {
+                            emitLine(line, lineLength, pool, consumer);
+                        }
+                        header = false;
+                        lineLength = 0;
+                    } else {
+                        if (lineLength == line.length) {
+                            line = Arrays.copyOf(line, line.length * 2);
+                        }
+                        line[lineLength++] = b;
+                    }
+                }
+            }
+            if (lineLength > 0 && !header) {
+                emitLine(line, lineLength, pool, consumer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("failed to read " + filename, e);
+        }
+    }
+
+    /**
+     * Splits one line at its first tab and passes the two fields to the consumer.
+     *
+     * @param line     the bytes of the line, without the line terminator
+     * @param length   the number of bytes of line in use
+     * @param pool     the interned names seen so far
+     * @param consumer receives the hero and book of the line
+     * @spec.modifies pool
+     */
+    private static void emitLine(byte[] line, int length, Map<String, String> pool,
+                                 BiConsumer<String, String> consumer) {
+        if (length > 0 && line[length - 1] == '\r') {
+            length--;
+        }
+        if (length == 0) {
+            return;
+        }
+        int tab = 0;
+        while (tab < length && line[tab] != '\t') {
+            tab++;
+        }
+        String hero = field(line, 0, tab, pool);
+        String book = tab < length ? field(line, tab + 1, length, pool) : null;
+        consumer.accept(hero, book);
+    }
+
+    /**
+     * Decodes and interns one field of a line.
+     *
+     * @param line  the bytes of the line
+     * @param start the index of the first byte of the field
+     * @param end   the index one past the last byte of the field
+     * @param pool  the interned names seen so far
+     * @return the field, or null if it is blank
+     * @spec.modifies pool
+     */
+    private static String field(byte[] line, int start, int end, Map<String, String> pool) {
+        String value = new String(line, start, end - start, Charset.defaultCharset());
+        if (value.isBlank()) {
+            return null;
+        }
+        String pooled = pool.putIfAbsent(value, value);
+        return pooled == null ? value : pooled;
+    }
+}
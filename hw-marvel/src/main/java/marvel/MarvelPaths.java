@@ -1,7 +1,9 @@
 package marvel;
 
 import graph.DirectedGraph;
+import graph.FrozenGraph;
 
+import java.nio.file.Paths;
 import java.util.*;
 
 /**
@@ -12,7 +14,21 @@ import java.util.*;
 public class MarvelPaths {
 
     /**
-     * Build a graph with the data from the given .tsv file
+     * The order BFS expands edges in: by destination node name, then by book title.
+     */
+    public static final Comparator<DirectedGraph.LabeledEdge<String, String>> EDGE_ORDER = (o1, o2) -> {
+        if (!(o1.getDest().equals(o2.getDest()))) {
+            return o1.getDest().compareTo(o2.getDest());
+        }
+        if (!(o1.getEdgeLabel().equals(o2.getEdgeLabel()))) {
+            return o1.getEdgeLabel().compareTo(o2.getEdgeLabel());
+        }
+        return 0;
+    };
+
+    /**
+     * Build a graph with the data from the given .tsv file, connecting the heroes in parallel when
+     * more than one processor is available.
      *
      * @param filename file used to build the graph
      * @spec.requires filename != null
@@ -20,50 +36,90 @@ public class MarvelPaths {
      * @return a DirectedGraph built from the given file
      */
     public static DirectedGraph<String, String> buildGraph(String filename) {
+        return buildGraph(filename, Runtime.getRuntime().availableProcessors() > 1);
+    }
+
+    /**
+     * Build a graph with the data from the given .tsv file. Both modes build equal graphs.
+     *
+     * <p>The parallel mode lists the books of every hero while parsing, then hands the heroes to
+     * DirectedGraph.parallelBuild, which works out the outgoing edges of each hero as a separate
+     * fragment on the fork-join common pool. No two fragments share a source hero, so they are
+     * built without any locking and merged into the graph in one pass.
+     *
+     * @param filename file used to build the graph
+     * @param parallel true to connect the heroes in parallel, false to do it on this thread
+     * @spec.requires filename != null
+     * @spec.effects build/create a graph
+     * @return a DirectedGraph built from the given file
+     */
+    public static DirectedGraph<String, String> buildGraph(String filename, boolean parallel) {
         if (filename == null) {
             throw new IllegalArgumentException("filename is null");
         }
-        DirectedGraph<String, String> marvelGraph = new DirectedGraph<>();
-        HashSet<String> heroes = new HashSet<>();
         HashMap<String, Set<String>> books = new HashMap<>();
-        Iterator<MarvelModel> it = MarvelParser.parseData(filename);
+        if (!parallel) {
+            DirectedGraph<String, String> marvelGraph = new DirectedGraph<>();
+            MarvelParser.forEachRecord(filename, (currHero, currBook) -> {
+                if (currHero != null) {
+                    marvelGraph.addNode(currHero);
+                    if (currBook != null) {
+                        books.computeIfAbsent(currBook, k -> new HashSet<>()).add(currHero);
+                    }
+                }
+            });
 
-        while(it.hasNext()) {
-            MarvelModel curr = it.next();
-            String currHero = curr.getHero();
-            String currBook = curr.getBook();
+            for (String book : books.keySet()) {
+                Set<String> list = books.get(book);
+                for (String source : list) {
+                    for (String dest : list) {
+                        if (!(source.equals(dest))) {
+                            marvelGraph.addEdge(source, dest, book);
+                        }
+                    }
+                }
+            }
+            return marvelGraph;
+        }
 
+        HashMap<String, List<String>> appearances = new HashMap<>();
+        MarvelParser.forEachRecord(filename, (currHero, currBook) -> {
             if (currHero != null) {
-                heroes.add(currHero);
-            }
-            if (currHero != null && currBook != null) {
-                Set<String> values = books.get(currBook);
-                if (values == null) {
-                    Set<String> tmp = new HashSet<>();
-                    tmp.add(currHero);
-                    books.put(currBook, tmp);
-                } else {
-                    values.add(currHero);
-                    books.put(currBook, values);
+                List<String> heroBooks = appearances.computeIfAbsent(currHero, k -> new ArrayList<>());
+                if (currBook != null && books.computeIfAbsent(currBook, k -> new HashSet<>()).add(currHero)) {
+                    heroBooks.add(currBook);
                 }
             }
-        }
+        });
 
-        for (String hero : heroes) {
-            marvelGraph.addNode(hero);
-        }
+        // every (book, hero) appearance is listed once, so a fragment never holds the same edge twice
+        return DirectedGraph.parallelBuild(appearances.keySet(),
+                hero -> cliqueEdges(hero, appearances.get(hero), books));
+    }
 
-        for (String book : books.keySet()) {
-            Set<String> list = books.get(book);
-            for (String source : list) {
-                for (String dest : list) {
-                    if (!(source.equals(dest))) {
-                        marvelGraph.addEdge(source, dest, book);
-                    }
+    /**
+     * Lists the edges from a hero to every other hero sharing a book with it.
+     *
+     * @param hero the source hero
+     * @param heroBooks the books the hero appears in, without duplicates
+     * @param books the heroes appearing in each book
+     * @return an edge to every other hero of every book of hero, labeled with the book
+     */
+    private static List<DirectedGraph.LabeledEdge<String, String>> cliqueEdges(String hero, List<String> heroBooks,
+                                                                               Map<String, Set<String>> books) {
+        int size = 0;
+        for (String book : heroBooks) {
+            size += books.get(book).size() - 1;
+        }
+        List<DirectedGraph.LabeledEdge<String, String>> edges = new ArrayList<>(size);
+        for (String book : heroBooks) {
+            for (String dest : books.get(book)) {
+                if (!(dest.equals(hero))) {
+                    edges.add(new DirectedGraph.LabeledEdge<>(dest, book));
                 }
             }
         }
-        return marvelGraph;
+        return edges;
     }
 
     /**
@@ -80,35 +136,241 @@ public class MarvelPaths {
         if (g == null || source == null || dest == null || !g.containsNode(source) || !g.containsNode(dest)) {
             throw new IllegalArgumentException();
         }
+        return restrictedBFS(g, source, dest, null);
+    }
+
+    /**
+     * Find the shortest path from one node to another node by searching from both ends at once.
+     * The path returned is exactly the one BFS returns, so ties are still broken by the name of the
+     * next node and then by the book title.
+     *
+     * <p>The search first grows a frontier from each end, one whole level at a time and always on
+     * the smaller side, until the frontiers meet. That gives the length of the shortest path and the
+     * set of nodes lying on some shortest path. Going back from the nodes where the frontiers met
+     * marks that set, and a forward BFS confined to it then picks the same path BFS would.
+     *
+     * @param g the graph to find the shortest path between two nodes
+     * @param source the source node
+     * @param dest the destination node
+     * @spec.requires graph != null &amp;&amp; source != null &amp;&amp; dest != null &amp;&amp;
+     *                source and dest nodes are in the graph &amp;&amp; for every edge (a, b) of g,
+     *                g also has an edge (b, a), as every graph built by buildGraph does
+     * @return the shortest path from source node to the destination node, return null if no path exist
+     */
+    public static List<DirectedGraph.LabeledEdge<String, String>> bidirectionalBFS(DirectedGraph<String, String> g,
+                                                                                   String source, String dest) {
+        if (g == null || source == null || dest == null || !g.containsNode(source) || !g.containsNode(dest)) {
+            throw new IllegalArgumentException();
+        }
+        if (source.equals(dest)) {
+            return new ArrayList<>();
+        }
+        // the distance of every discovered node from source and from dest, and the nodes of each level
+        Map<String, Integer> distFromSource = new HashMap<>();
+        Map<String, Integer> distFromDest = new HashMap<>();
+        List<List<String>> sourceLevels = new ArrayList<>();
+        List<List<String>> destLevels = new ArrayList<>();
+        distFromSource.put(source, 0);
+        distFromDest.put(dest, 0);
+        sourceLevels.add(Collections.singletonList(source));
+        destLevels.add(Collections.singletonList(dest));
+
+        List<String> meet = new ArrayList<>();
+        while (meet.isEmpty()) {
+            List<String> sourceFrontier = sourceLevels.get(sourceLevels.size() - 1);
+            List<String> destFrontier = destLevels.get(destLevels.size() - 1);
+            if (sourceFrontier.isEmpty() || destFrontier.isEmpty()) {
+                return null;
+            }
+            if (sourceFrontier.size() <= destFrontier.size()) {
+                sourceLevels.add(expandLevel(g, sourceFrontier, distFromSource, distFromDest, meet));
+            } else {
+                destLevels.add(expandLevel(g, destFrontier, distFromDest, distFromSource, meet));
+            }
+        }
+
+        // every frontier was expanded a whole level at a time, so the nodes where they met are all
+        // at the last level of both sides, and every shortest path passes through one of them
+        Set<String> onShortestPath = new HashSet<>(meet);
+        markShortestPathLevels(g, sourceLevels, meet, onShortestPath);
+        markShortestPathLevels(g, destLevels, meet, onShortestPath);
+        return restrictedBFS(g, source, dest, onShortestPath);
+    }
+
+    /**
+     * Discovers the next level of a breadth-first search.
+     *
+     * @param g the graph being searched
+     * @param frontier the nodes of the last level found
+     * @param dist the distance of every node this side has discovered
+     * @param otherDist the distance of every node the other side has discovered
+     * @param meet collects the newly discovered nodes the other side has also discovered
+     * @spec.requires every node of frontier is in dist at the same, largest distance
+     * @spec.modifies dist, meet
+     * @spec.effects adds each newly discovered node to dist, one further than frontier
+     * @return the nodes of the new level
+     */
+    private static List<String> expandLevel(DirectedGraph<String, String> g, List<String> frontier,
+                                            Map<String, Integer> dist, Map<String, Integer> otherDist,
+                                            List<String> meet) {
+        int level = dist.get(frontier.get(0)) + 1;
+        List<String> next = new ArrayList<>();
+        for (String node : frontier) {
+            for (DirectedGraph.LabeledEdge<String, String> le : g.edgesOf(node)) {
+                String connectedNode = le.getDest();
+                if (!dist.containsKey(connectedNode)) {
+                    dist.put(connectedNode, level);
+                    next.add(connectedNode);
+                    if (otherDist.containsKey(connectedNode)) {
+                        meet.add(connectedNode);
+                    }
+                }
+            }
+        }
+        return next;
+    }
+
+    /**
+     * Marks the nodes of one side of the search that lie on a shortest path through the meeting
+     * nodes, going back one level at a time from the last level.
+     *
+     * @param g the graph being searched
+     * @param levels the levels of one side of the search, the meeting nodes being in the last one
+     * @param meet the nodes where the two sides met
+     * @param onShortestPath the set the marked nodes are added to
+     * @spec.modifies onShortestPath
+     * @spec.effects adds every node of levels with a path through the levels to a node of meet
+     */
+    private static void markShortestPathLevels(DirectedGraph<String, String> g, List<List<String>> levels,
+                                               List<String> meet, Set<String> onShortestPath) {
+        Set<String> upper = new HashSet<>(meet);
+        for (int level = levels.size() - 2; level >= 0; level--) {
+            Set<String> lower = new HashSet<>();
+            for (String node : levels.get(level)) {
+                for (DirectedGraph.LabeledEdge<String, String> le : g.edgesOf(node)) {
+                    if (upper.contains(le.getDest())) {
+                        lower.add(node);
+                        break;
+                    }
+                }
+            }
+            onShortestPath.addAll(lower);
+            upper = lower;
+        }
+    }
+
+    /**
+     * Runs BFS from source to dest, stepping only to allowed nodes. Each node records the edge it
+     * was first reached by, and the path is rebuilt from those once dest is dequeued.
+     *
+     * @param g the graph to find the shortest path between two nodes
+     * @param source the source node
+     * @param dest the destination node
+     * @param allowed the nodes the search may visit, or null to allow every node
+     * @spec.requires source and dest nodes are in the graph
+     * @return the shortest path from source node to the destination node, return null if no path exist
+     */
+    private static List<DirectedGraph.LabeledEdge<String, String>> restrictedBFS(DirectedGraph<String, String> g,
+                                                                                 String source, String dest,
+                                                                                 Set<String> allowed) {
         Queue<String> nodesToVisit = new LinkedList<>();
-        Map<String, List<DirectedGraph.LabeledEdge<String, String>>> paths = new HashMap<>();
+        // the node each discovered node was reached from, and the edge used to reach it
+        Map<String, String> parents = new HashMap<>();
+        Map<String, DirectedGraph.LabeledEdge<String, String>> parentEdges = new HashMap<>();
         nodesToVisit.add(source);
-        paths.put(source, new ArrayList<>());
+        parents.put(source, null);
 
         while (!nodesToVisit.isEmpty()) {
             String currNode = nodesToVisit.poll();
             if (currNode.equals(dest)) {
-                return paths.get(currNode);
+                LinkedList<DirectedGraph.LabeledEdge<String, String>> path = new LinkedList<>();
+                for (String node = dest; parents.get(node) != null; node = parents.get(node)) {
+                    path.addFirst(parentEdges.get(node));
+                }
+                return new ArrayList<>(path);
             }
 
-            List<DirectedGraph.LabeledEdge<String, String>> currEdges = new ArrayList<>(g.getEdges(currNode));
-            currEdges.sort((o1, o2) -> {
-                if (!(o1.getDest().equals(o2.getDest()))) {
-                    return o1.getDest().compareTo(o2.getDest());
-                }
-                if (!(o1.getEdgeLabel().equals(o2.getEdgeLabel()))) {
-                    return o1.getEdgeLabel().compareTo(o2.getEdgeLabel());
+            // only edges to undiscovered nodes can extend a path, so skip the rest before sorting
+            List<DirectedGraph.LabeledEdge<String, String>> currEdges = new ArrayList<>();
+            for (DirectedGraph.LabeledEdge<String, String> le : g.edgesOf(currNode)) {
+                if (!parents.containsKey(le.getDest()) && (allowed == null || allowed.contains(le.getDest()))) {
+                    currEdges.add(le);
                 }
-                return 0;
-            });
+            }
+            currEdges.sort(EDGE_ORDER);
 
             for (DirectedGraph.LabeledEdge<String, String> le : currEdges) {
                 String connectedNode = le.getDest();
-                if (!paths.containsKey(connectedNode)) {
+                if (!parents.containsKey(connectedNode)) {
                     nodesToVisit.add(connectedNode);
-                    List<DirectedGraph.LabeledEdge<String, String>> newPath = new ArrayList<>(paths.get(currNode));
-                    newPath.add(le);
-                    paths.put(connectedNode, newPath);
+                    parents.put(connectedNode, currNode);
+                    parentEdges.put(connectedNode, le);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Freeze a marvel graph into a CSR snapshot whose edges are already in the order BFS expands
+     * them, so that frozenBFS can walk them without sorting.
+     *
+     * @param g the graph to be frozen
+     * @spec.requires g != null
+     * @return a FrozenGraph of g with every node's edges sorted by EDGE_ORDER
+     */
+    public static FrozenGraph<String, String> freeze(DirectedGraph<String, String> g) {
+        if (g == null) {
+            throw new IllegalArgumentException("graph is null");
+        }
+        return g.freeze(EDGE_ORDER);
+    }
+
+    /**
+     * Find the shortest path from one node to another node using BFS over a frozen graph. Edges
+     * are expanded in the order they are stored in the frozen graph, so a graph frozen by
+     * MarvelPaths.freeze yields the same path as BFS on the original graph.
+     *
+     * @param g the frozen graph to find the shortest path between two nodes
+     * @param source the source node
+     * @param dest the destination node
+     * @spec.requires graph != null &amp;&amp; source != null &amp;&amp; dest != null &amp;&amp;
+     *                source and dest nodes are in the graph
+     * @return the shortest path from source node to the destination node, return null if no path exist
+     */
+    public static List<DirectedGraph.LabeledEdge<String, String>> frozenBFS(FrozenGraph<String, String> g, String source, String dest) {
+        if (g == null || source == null || dest == null || !g.containsNode(source) || !g.containsNode(dest)) {
+            throw new IllegalArgumentException();
+        }
+        int src = g.idOf(source);
+        int dst = g.idOf(dest);
+        // the edge used to reach each node, -1 if the node is not reached yet
+        int[] parentEdge = new int[g.nodeCount()];
+        int[] parentNode = new int[g.nodeCount()];
+        boolean[] visited = new boolean[g.nodeCount()];
+        int[] queue = new int[g.nodeCount()];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = src;
+        visited[src] = true;
+        parentEdge[src] = -1;
+
+        while (head < tail) {
+            int currNode = queue[head++];
+            if (currNode == dst) {
+                LinkedList<DirectedGraph.LabeledEdge<String, String>> path = new LinkedList<>();
+                for (int node = dst; parentEdge[node] != -1; node = parentNode[node]) {
+                    path.addFirst(g.labeledEdge(parentEdge[node]));
+                }
+                return new ArrayList<>(path);
+            }
+            for (int e = g.firstEdge(currNode); e < g.endEdge(currNode); e++) {
+                int connectedNode = g.target(e);
+                if (!visited[connectedNode]) {
+                    visited[connectedNode] = true;
+                    parentEdge[connectedNode] = e;
+                    parentNode[connectedNode] = currNode;
+                    queue[tail++] = connectedNode;
                 }
             }
         }
@@ -123,7 +385,9 @@ public class MarvelPaths {
      */
     public static void main(String[] args) {
         String filename = "marvel.tsv";
-        DirectedGraph<String, String> g = MarvelPaths.buildGraph(filename);
+        // the bipartite form holds each appearance once instead of a clique of edges per book,
+        // and is loaded from its binary snapshot when that is up to date with the file
+        HeroBookGraph g = HeroBookGraph.loadOrBuild(filename, Paths.get("build", "marvel.snapshot"));
         System.out.println("Finding minimum number of books connecting two marvel heroes...");
 
         Scanner reader = new Scanner(System.in);
@@ -146,7 +410,7 @@ public class MarvelPaths {
                 found = true;
                 String node = source;
                 String res = "path from " + source + " to " + dest + ":";
-                List<DirectedGraph.LabeledEdge<String, String>> path = MarvelPaths.BFS(g, source, dest);
+                List<DirectedGraph.LabeledEdge<String, String>> path = g.BFS(source, dest);
                 if (path == null) {
                     res += "\n" + "no path found";
                 } else {
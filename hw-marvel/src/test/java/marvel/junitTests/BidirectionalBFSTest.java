@@ -0,0 +1,101 @@
+package marvel.junitTests;
+
+import graph.DirectedGraph;
+import marvel.MarvelPaths;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class BidirectionalBFSTest {
+
+    // test that the bidirectional search finds the same path as BFS between every pair of heroes
+    private void assertSamePaths(String filename) {
+        DirectedGraph<String, String> graph = MarvelPaths.buildGraph(filename);
+        for (String source : graph.getAllNodes()) {
+            for (String dest : graph.getAllNodes()) {
+                assertEquals(MarvelPaths.BFS(graph, source, dest), MarvelPaths.bidirectionalBFS(graph, source, dest));
+            }
+        }
+    }
+
+    // adds an edge both ways, as buildGraph does
+    private void link(DirectedGraph<String, String> g, String a, String b, String book) {
+        g.addEdge(a, b, book);
+        g.addEdge(b, a, book);
+    }
+
+    @Test
+    public void testStaffSuperheroes() {
+        assertSamePaths("staffSuperheroes.tsv");
+    }
+
+    @Test
+    public void testRappers() {
+        assertSamePaths("rappers.tsv");
+    }
+
+    @Test
+    public void testLong() {
+        assertSamePaths("long.tsv");
+    }
+
+    @Test
+    public void testTwoNodes() {
+        assertSamePaths("twoNodes.tsv");
+    }
+
+    // two shortest paths of length 3 that only differ in the middle, where the search meets
+    @Test
+    public void testTieBrokenByNameThenBook() {
+        DirectedGraph<String, String> g = new DirectedGraph<>();
+        for (String node : Arrays.asList("s", "a", "b", "c", "d", "t")) {
+            g.addNode(node);
+        }
+        link(g, "s", "b", "B2");
+        link(g, "s", "a", "A1");
+        link(g, "b", "c", "C2");
+        link(g, "b", "c", "C1");
+        link(g, "a", "d", "D1");
+        link(g, "c", "t", "T1");
+        link(g, "d", "t", "T1");
+        assertEquals(Arrays.asList(
+                new DirectedGraph.LabeledEdge<>("a", "A1"),
+                new DirectedGraph.LabeledEdge<>("d", "D1"),
+                new DirectedGraph.LabeledEdge<>("t", "T1")), MarvelPaths.bidirectionalBFS(g, "s", "t"));
+        assertEquals(Arrays.asList(
+                new DirectedGraph.LabeledEdge<>("c", "T1"),
+                new DirectedGraph.LabeledEdge<>("b", "C1"),
+                new DirectedGraph.LabeledEdge<>("s", "B2")), MarvelPaths.bidirectionalBFS(g, "t", "s"));
+    }
+
+    @Test
+    public void testNoPath() {
+        DirectedGraph<String, String> g = new DirectedGraph<>();
+        g.addNode("a");
+        g.addNode("b");
+        g.addNode("c");
+        link(g, "a", "b", "book");
+        assertNull(MarvelPaths.bidirectionalBFS(g, "a", "c"));
+        assertNull(MarvelPaths.bidirectionalBFS(g, "c", "a"));
+    }
+
+    @Test
+    public void testSameNode() {
+        DirectedGraph<String, String> g = MarvelPaths.buildGraph("singleNodeGraph.tsv");
+        for (String node : g.getAllNodes()) {
+            assertTrue(MarvelPaths.bidirectionalBFS(g, node, node).isEmpty());
+        }
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void testNullGraph() {
+        MarvelPaths.bidirectionalBFS(null, "source", "dest");
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void testMissingNode() {
+        MarvelPaths.bidirectionalBFS(MarvelPaths.buildGraph("staffSuperheroes.tsv"), "source", "dest");
+    }
+}
@@ -0,0 +1,44 @@
+package marvel.junitTests;
+
+import marvel.MarvelPaths;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class BuildGraphTest {
+
+    // test that the parallel build makes the same graph as the sequential one
+    private void assertSameGraph(String filename) {
+        assertEquals(MarvelPaths.buildGraph(filename, false), MarvelPaths.buildGraph(filename, true));
+    }
+
+    @Test
+    public void testStaffSuperheroes() {
+        assertSameGraph("staffSuperheroes.tsv");
+    }
+
+    @Test
+    public void testRappers() {
+        assertSameGraph("rappers.tsv");
+    }
+
+    @Test
+    public void testLong() {
+        assertSameGraph("long.tsv");
+    }
+
+    @Test
+    public void testSingleNode() {
+        assertSameGraph("singleNodeGraph.tsv");
+    }
+
+    @Test
+    public void testEmpty() {
+        assertSameGraph("empty.tsv");
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void testNullFilename() {
+        MarvelPaths.buildGraph(null, true);
+    }
+}
@@ -0,0 +1,41 @@
+package marvel.junitTests;
+
+import graph.DirectedGraph;
+import graph.FrozenGraph;
+import marvel.MarvelPaths;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class FrozenBFSTest {
+
+    private DirectedGraph<String, String> graph;
+    private FrozenGraph<String, String> frozen;
+
+    @Before
+    public void init() throws Exception {
+        graph = MarvelPaths.buildGraph("staffSuperheroes.tsv");
+        frozen = MarvelPaths.freeze(graph);
+    }
+
+    // test that frozenBFS finds the same path as BFS between every pair of heroes
+    @Test
+    public void testSamePathsAsBFS() {
+        for (String source : graph.getAllNodes()) {
+            for (String dest : graph.getAllNodes()) {
+                assertEquals(MarvelPaths.BFS(graph, source, dest), MarvelPaths.frozenBFS(frozen, source, dest));
+            }
+        }
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void testFrozenBFSonNullGraph() {
+        MarvelPaths.frozenBFS(null, "source", "dest");
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void testFrozenBFSonMissingNode() {
+        MarvelPaths.frozenBFS(frozen, "source", "dest");
+    }
+}
@@ -0,0 +1,83 @@
+package marvel.junitTests;
+
+import graph.DirectedGraph;
+import marvel.HeroBookGraph;
+import marvel.MarvelPaths;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.*;
+
+public class HeroBookGraphTest {
+
+    // test that the bipartite BFS finds the same path as BFS between every pair of heroes
+    private void assertSamePaths(String filename) {
+        DirectedGraph<String, String> graph = MarvelPaths.buildGraph(filename);
+        HeroBookGraph bipartite = HeroBookGraph.buildGraph(filename);
+        assertEquals(graph.size(), bipartite.size());
+        for (String source : graph.getAllNodes()) {
+            for (String dest : graph.getAllNodes()) {
+                assertEquals(MarvelPaths.BFS(graph, source, dest), bipartite.BFS(source, dest));
+            }
+        }
+    }
+
+    @Test
+    public void testStaffSuperheroes() {
+        assertSamePaths("staffSuperheroes.tsv");
+    }
+
+    @Test
+    public void testRappers() {
+        assertSamePaths("rappers.tsv");
+    }
+
+    @Test
+    public void testLong() {
+        assertSamePaths("long.tsv");
+    }
+
+    @Test
+    public void testEmpty() {
+        assertEquals(0, HeroBookGraph.buildGraph("empty.tsv").size());
+    }
+
+    // test that a graph saved by loadOrBuild and loaded back finds the same paths
+    @Test
+    public void testSnapshotRoundTrip() throws IOException {
+        Path file = Files.createTempFile("heroes", ".snapshot");
+        Files.delete(file);
+        try {
+            HeroBookGraph built = HeroBookGraph.loadOrBuild("staffSuperheroes.tsv", file);
+            assertTrue(Files.exists(file));
+            HeroBookGraph loaded = HeroBookGraph.loadOrBuild("staffSuperheroes.tsv", file);
+            assertEquals(built.size(), loaded.size());
+            assertEquals(built.bookCount(), loaded.bookCount());
+            DirectedGraph<String, String> graph = MarvelPaths.buildGraph("staffSuperheroes.tsv");
+            for (String source : graph.getAllNodes()) {
+                for (String dest : graph.getAllNodes()) {
+                    assertEquals(built.BFS(source, dest), loaded.BFS(source, dest));
+                }
+            }
+            // a snapshot of other data is rebuilt from the file asked for
+            assertEquals(HeroBookGraph.buildGraph("rappers.tsv").size(),
+                    HeroBookGraph.loadOrBuild("rappers.tsv", file).size());
+            assertEquals(HeroBookGraph.buildGraph("rappers.tsv").size(), HeroBookGraph.read(file).size());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void testBFSonMissingNode() {
+        HeroBookGraph.buildGraph("staffSuperheroes.tsv").BFS("source", "dest");
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void testBuildNullGraph() {
+        HeroBookGraph.buildGraph(null);
+    }
+}
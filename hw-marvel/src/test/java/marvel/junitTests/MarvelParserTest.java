@@ -0,0 +1,48 @@
+package marvel.junitTests;
+
+import marvel.MarvelModel;
+import marvel.MarvelParser;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class MarvelParserTest {
+
+    // test that forEachRecord streams the same records parseData produces
+    @Test
+    public void testForEachRecordMatchesParseData() {
+        List<String> expected = new ArrayList<>();
+        Iterator<MarvelModel> it = MarvelParser.parseData("staffSuperheroes.tsv");
+        while (it.hasNext()) {
+            MarvelModel curr = it.next();
+            expected.add(curr.getHero() + "|" + curr.getBook());
+        }
+        List<String> actual = new ArrayList<>();
+        MarvelParser.forEachRecord("staffSuperheroes.tsv", (hero, book) -> actual.add(hero + "|" + book));
+        assertEquals(expected, actual);
+    }
+
+    // test that repeated names share one String
+    @Test
+    public void testForEachRecordInternsNames() {
+        List<String> heroes = new ArrayList<>();
+        MarvelParser.forEachRecord("staffSuperheroes.tsv", (hero, book) -> heroes.add(hero));
+        assertSame(heroes.get(0), heroes.get(1));
+    }
+
+    @Test
+    public void testForEachRecordEmptyFile() {
+        List<String> records = new ArrayList<>();
+        MarvelParser.forEachRecord("empty.tsv", (hero, book) -> records.add(hero));
+        assertTrue(records.isEmpty());
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void testForEachRecordMissingFile() {
+        MarvelParser.forEachRecord("no-such-file.tsv", (hero, book) -> { });
+    }
+}
@@ -0,0 +1,250 @@
+package pathfinder;
+
+import pathfinder.datastructures.Path;
+import pathfinder.datastructures.Point;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * This class decorates another ModelAPI with a bounded, least-recently-used cache of the routes
+ * returned by findShortestPath. Paths are immutable, so a cached path can be handed to any number
+ * of callers. Every other method is passed straight through to the wrapped model.
+ *
+ * <p>The cache is safe to share between threads. A miss computes the route outside the lock, so
+ * concurrent misses do not wait on each other.
+ */
+public class CachingModel implements ModelAPI {
+
+    // Rep invariant:
+    // model != null && cache != null && capacity > 0 && cache.size() <= capacity
+    // && every key and value of cache are not null
+    // && hits >= 0 && misses >= 0 && evictions >= 0
+
+    // Abstract Function:
+    // AF(this) = a ModelAPI equal to model, such that
+    //      this.cache = the most recently used routes, from least to most recently used
+    //      this.hits, this.misses, this.evictions = how often a lookup found a cached route,
+    //          had to compute a route, and pushed out the least recently used route
+
+    private final ModelAPI model;
+    private final int capacity;
+    private final LinkedHashMap<RouteKey, Path<Point>> cache;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Creates a cache in front of the given model.
+     *
+     * @param model    the model whose routes are cached
+     * @param capacity the largest number of routes kept in the cache
+     * @spec.requires model != null &amp;&amp; capacity &gt; 0
+     */
+    public CachingModel(ModelAPI model, int capacity) {
+        if (model == null || capacity <= 0) {
+            throw new IllegalArgumentException("model should not be null and capacity should be positive");
+        }
+        this.model = model;
+        this.capacity = capacity;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<RouteKey, Path<Point>> eldest) {
+                if (size() > CachingModel.this.capacity) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    @Override
+    public boolean shortNameExists(String shortName) {
+        return model.shortNameExists(shortName);
+    }
+
+    @Override
+    public String longNameForShort(String shortName) {
+        return model.longNameForShort(shortName);
+    }
+
+    @Override
+    public Map<String, String> buildingNames() {
+        return model.buildingNames();
+    }
+
+    /**
+     * Finds the shortest path between the two provided buildings, reusing the cached route if the
+     * same pair was asked for recently. Unknown buildings are not cached.
+     *
+     * @param startShortName The short name of the building at the beginning of this path.
+     * @param endShortName   The short name of the building at the end of this path.
+     * @return the same path the wrapped model returns
+     */
+    @Override
+    public Path<Point> findShortestPath(String startShortName, String endShortName) {
+        if (startShortName == null || endShortName == null) {
+            return model.findShortestPath(startShortName, endShortName);
+        }
+        RouteKey key = new RouteKey(startShortName, endShortName);
+        synchronized (cache) {
+            Path<Point> cached = cache.get(key);
+            if (cached != null) {
+                hits++;
+                return cached;
+            }
+            misses++;
+        }
+        Path<Point> res = model.findShortestPath(startShortName, endShortName);
+        if (res != null) {
+            synchronized (cache) {
+                cache.put(key, res);
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Finds the shortest paths between many pairs of buildings. Pairs found in the cache are
+     * answered from it, and the rest are passed to the wrapped model in one batch and cached.
+     *
+     * @param startShortNames The short names of the buildings at the beginning of the paths.
+     * @param endShortNames   The short names of the buildings at the end of the paths.
+     * @return the same paths the wrapped model returns, in the order of the pairs
+     * @throws IllegalArgumentException if the wrapped model rejects the pairs
+     */
+    @Override
+    public List<Path<Point>> findShortestPaths(List<String> startShortNames, List<String> endShortNames) {
+        if (startShortNames == null || endShortNames == null || startShortNames.size() != endShortNames.size()
+                || startShortNames.stream().anyMatch(Objects::isNull)
+                || endShortNames.stream().anyMatch(Objects::isNull)) {
+            return model.findShortestPaths(startShortNames, endShortNames);
+        }
+        List<Path<Point>> res = new ArrayList<>(startShortNames.size());
+        // the positions in res of the pairs missing from the cache, and the pairs themselves
+        List<Integer> missing = new ArrayList<>();
+        List<String> missingStarts = new ArrayList<>();
+        List<String> missingEnds = new ArrayList<>();
+        synchronized (cache) {
+            for (int i = 0; i < startShortNames.size(); i++) {
+                Path<Point> cached = cache.get(new RouteKey(startShortNames.get(i), endShortNames.get(i)));
+                res.add(cached);
+                if (cached == null) {
+                    missing.add(i);
+                    missingStarts.add(startShortNames.get(i));
+                    missingEnds.add(endShortNames.get(i));
+                }
+            }
+            if (missing.isEmpty()) {
+                hits += res.size();
+                return res;
+            }
+        }
+        // only cached pairs name real buildings, so the wrapped model validates every unknown name;
+        // the batch is counted once it has accepted them
+        List<Path<Point>> found = model.findShortestPaths(missingStarts, missingEnds);
+        synchronized (cache) {
+            hits += res.size() - missing.size();
+            misses += missing.size();
+            for (int k = 0; k < missing.size(); k++) {
+                Path<Point> path = found.get(k);
+                res.set(missing.get(k), path);
+                if (path != null) {
+                    cache.put(new RouteKey(missingStarts.get(k), missingEnds.get(k)), path);
+                }
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Gets the largest number of routes kept in the cache.
+     *
+     * @return the capacity of the cache
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Gets the number of routes currently in the cache.
+     *
+     * @return the number of cached routes
+     */
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    /**
+     * Gets the number of lookups answered from the cache.
+     *
+     * @return the number of cache hits
+     */
+    public long getHits() {
+        synchronized (cache) {
+            return hits;
+        }
+    }
+
+    /**
+     * Gets the number of lookups that had to ask the wrapped model.
+     *
+     * @return the number of cache misses
+     */
+    public long getMisses() {
+        synchronized (cache) {
+            return misses;
+        }
+    }
+
+    /**
+     * Gets the number of routes pushed out of the cache to make room for newer ones.
+     *
+     * @return the number of evictions
+     */
+    public long getEvictions() {
+        synchronized (cache) {
+            return evictions;
+        }
+    }
+
+    /**
+     * <b>RouteKey</b> is the (start, end) pair of building short names a route is cached under.
+     */
+    private static final class RouteKey {
+
+        private final String start;
+        private final String end;
+
+        /**
+         * Creates a key for the route between two buildings.
+         *
+         * @param start the short name of the starting building
+         * @param end   the short name of the ending building
+         */
+        RouteKey(String start, String end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof RouteKey)) {
+                return false;
+            }
+            RouteKey other = (RouteKey) obj;
+            return start.equals(other.start) && end.equals(other.end);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * start.hashCode() + end.hashCode();
+        }
+    }
+}
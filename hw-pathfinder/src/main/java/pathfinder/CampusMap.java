@@ -11,63 +11,142 @@
 
 package pathfinder;
 
-import graph.DirectedGraph;
+import graph.IntDirectedGraph;
+import graph.SymbolTable;
+import pathfinder.datastructures.KdTree;
 import pathfinder.datastructures.Path;
 import pathfinder.datastructures.Point;
 import pathfinder.parser.CampusBuilding;
-import pathfinder.parser.CampusPath;
-import pathfinder.parser.CampusPathsParser;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * This class implements the ModelAPI interface, enabling the controller to return data
  * from the model and request the model to do some computation.
+ *
+ * <p>A CampusMap is immutable once constructed: every field is final, the building names are
+ * handed out as an unmodifiable view, and the campus graph is only read through search
+ * structures built from copies of it. One map can therefore be shared by any number of threads
+ * without locking. To change the campus data, build a new map and publish it in place of the old
+ * one, for example through an AtomicReference.
  */
 public class CampusMap implements ModelAPI {
 
+    /**
+     * The search used by findShortestPath.
+     */
+    public enum RoutingMode {
+        /**
+         * Plain Dijkstra's algorithm.
+         */
+        DIJKSTRA,
+        /**
+         * A* search guided by the straight-line distance to the destination.
+         */
+        ASTAR,
+        /**
+         * Table lookup of routes between every pair of buildings, all computed at construction.
+         */
+        PRECOMPUTED,
+        /**
+         * Bidirectional search of a contraction hierarchy of the campus paths, built at construction.
+         */
+        CONTRACTION
+    }
+
     // Rep invariant:
-    // short2Full != null && buildingMap != null && g != null
+    // short2Full != null && buildingMap != null
+    // && short2Full and buildingMap are unmodifiable && short2Full.keySet().equals(buildingMap.keySet())
     // && every key and value of short2Full are not null
     // && every key and value of buildingMap are not null
-    // && every key and value of g are not null
+    // && engine != null && every value of buildingMap is a node of the graph engine searches
+    // && mode != null && (mode == ASTAR <==> heuristic != null)
+    // && (mode == PRECOMPUTED <==> routes != null)
+    // && (mode == CONTRACTION <==> hierarchy != null && hierarchy searches the same graph as engine)
+    // && nodeIndex != null && nodeIndex holds every node of the graph engine searches
+    // && buildingIndex != null && buildingIndex holds every key of buildingMap at its location
 
     // Abstract Function:
     // AF(this) = a CampusMap such that
     //      this.short2Full = a map of buildings' short names to full names
     //      this.buildingMap = a map of buildings' short names to locations
-    //      this.g = a directed graph of campus paths
+    //      this.engine = the shortest path engine over the directed graph of campus paths
+    //      this.mode = the search used to find shortest paths
+    //      this.heuristic = the straight-line estimate used in ASTAR mode
+    //      this.routes = the table of routes between buildings used in PRECOMPUTED mode
+    //      this.hierarchy = the contraction hierarchy of the campus paths used in CONTRACTION mode
+    //      this.nodeIndex = the nodes of the campus paths, indexed by location
+    //      this.buildingIndex = the buildings' short names, indexed by location
 
-    private Map<String, String> short2Full;
-    private Map<String, Point> buildingMap;
-    private DirectedGraph<Point, Double> g;
+    private final Map<String, String> short2Full;
+    private final Map<String, Point> buildingMap;
+    private final DijkstraEngine<Point> engine;
+    private final RoutingMode mode;
+    private final EuclideanHeuristic heuristic;
+    private final RouteTable routes;
+    private final ContractionHierarchy<Point> hierarchy;
+    private final KdTree<Point> nodeIndex;
+    private final KdTree<String> buildingIndex;
 
     /**
-     * The constructor that initializes the map information.
+     * The constructor that initializes the map information, routing with A* search.
      */
     public CampusMap() {
-        short2Full = new HashMap<>();
-        buildingMap = new HashMap<>();
-        g = new DirectedGraph<>();
-        String buildingFileName = "campus_buildings.tsv";
-        String pathFileName = "campus_paths.tsv";
-
-        List<CampusBuilding> campusBuildings = CampusPathsParser.parseCampusBuildings(buildingFileName);
-        for (CampusBuilding building : campusBuildings) {
-            short2Full.put(building.getShortName(), building.getLongName());
-            buildingMap.put(building.getShortName(), new Point(building.getX(), building.getY()));
-        }
+        this(RoutingMode.ASTAR);
+    }
 
-        List<CampusPath> campusPaths = CampusPathsParser.parseCampusPaths(pathFileName);
-        for (CampusPath path : campusPaths) {
-            Point startNode = new Point(path.getX1(), path.getY1());
-            Point endNode = new Point(path.getX2(), path.getY2());
-            g.addNode(startNode);
-            g.addNode(endNode);
-            g.addEdge(startNode, endNode, path.getDistance());
+    /**
+     * The constructor that initializes the map information from the campus TSV files.
+     *
+     * @param mode the search used by findShortestPath
+     * @spec.requires mode != null
+     */
+    public CampusMap(RoutingMode mode) {
+        this(mode, CampusSnapshot.parse());
+    }
+
+    /**
+     * The constructor that initializes the map information from a snapshot of the campus data,
+     * which skips parsing the campus TSV files.
+     *
+     * @param mode the search used by findShortestPath
+     * @param snapshot the campus buildings and paths
+     * @spec.requires mode != null &amp;&amp; snapshot != null
+     */
+    public CampusMap(RoutingMode mode, CampusSnapshot snapshot) {
+        if (mode == null || snapshot == null) {
+            throw new IllegalArgumentException("mode and snapshot should not be null");
         }
+        this.mode = mode;
+        Map<String, String> names = new HashMap<>();
+        Map<String, Point> locations = new HashMap<>();
+        for (CampusBuilding building : snapshot.getBuildings()) {
+            names.put(building.getShortName(), building.getLongName());
+            locations.put(building.getShortName(), new Point(building.getX(), building.getY()));
+        }
+        // wrapped rather than copied with Map.copyOf, which would change the iteration order of the names
+        short2Full = Collections.unmodifiableMap(names);
+        buildingMap = Collections.unmodifiableMap(locations);
+        // the snapshot's graph is mutable, so it is only read here, into structures this map owns
+        SymbolTable<Point> points = snapshot.points();
+        IntDirectedGraph g = snapshot.graph();
+        engine = new DijkstraEngine<>(g, points);
+        heuristic = mode == RoutingMode.ASTAR ? EuclideanHeuristic.fit(g, points) : null;
+        routes = mode == RoutingMode.PRECOMPUTED ? new RouteTable(engine, buildingMap) : null;
+        hierarchy = mode == RoutingMode.CONTRACTION ? new ContractionHierarchy<>(g, points) : null;
+        List<Point> nodes = new ArrayList<>(points.size());
+        for (int i = 0; i < points.size(); i++) {
+            nodes.add(points.keyOf(i));
+        }
+        nodeIndex = new KdTree<>(nodes, p -> p);
+        buildingIndex = new KdTree<>(buildingMap.keySet(), buildingMap::get);
     }
 
     @Override
@@ -83,6 +162,11 @@ public class CampusMap implements ModelAPI {
         return short2Full.get(shortName);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @return an unmodifiable view of the buildings' short names mapped to their long names
+     */
     @Override
     public Map<String, String> buildingNames() {
         return short2Full;
@@ -93,18 +177,157 @@ public class CampusMap implements ModelAPI {
         if (shortNameExists(startShortName) && shortNameExists(endShortName)) {
             Point startPoint = buildingMap.get(startShortName);
             Point endPoint = buildingMap.get(endShortName);
-            Path<Point> res = new Path<>(startPoint);
-            List<DirectedGraph.LabeledEdge<Point, Double>> dijkstra = MarvelPathsWeighted.Dijkstra(g, startPoint, endPoint);
-            if (dijkstra != null) {
-                for (DirectedGraph.LabeledEdge<Point, Double> le : dijkstra) {
-                    if (!startPoint.equals(le.getDest())) {
-                        res = res.extend(le.getDest(), le.getEdgeLabel());
-                    }
+            Path<Point> res;
+            if (mode == RoutingMode.PRECOMPUTED) {
+                res = routes.get(startShortName, endShortName);
+                if (res == null) {
+                    res = new Path<>(startPoint);
                 }
+                return res;
             }
-            return res;
+            return route(startPoint, endPoint);
         } else {
             return null;
         }
     }
+
+    /**
+     * Finds the shortest path from the path node nearest to a location, such as a point clicked
+     * on the campus map, to a building. The path always starts at that node, even when the
+     * location itself is not on a path. PRECOMPUTED mode only holds routes between buildings, so
+     * it searches with Dijkstra's algorithm here.
+     *
+     * @param x            the x coordinate of the location on the campus map
+     * @param y            the y coordinate of the location on the campus map
+     * @param endShortName the short name of the building at the end of the path
+     * @return the shortest path from the node nearest to (x, y) to the building, or null if the
+     *         building does not exist
+     */
+    public Path<Point> findShortestPathFrom(double x, double y, String endShortName) {
+        if (!shortNameExists(endShortName)) {
+            return null;
+        }
+        return route(nearestNode(x, y), buildingMap.get(endShortName));
+    }
+
+    /**
+     * Finds the node of the campus paths closest to a location.
+     *
+     * @param x the x coordinate of the location on the campus map
+     * @param y the y coordinate of the location on the campus map
+     * @return the path node nearest to (x, y) in straight-line distance
+     */
+    public Point nearestNode(double x, double y) {
+        return nodeIndex.nearest(x, y);
+    }
+
+    /**
+     * Finds the buildings closest to a location.
+     *
+     * @param x the x coordinate of the location on the campus map
+     * @param y the y coordinate of the location on the campus map
+     * @param k the number of buildings to find
+     * @spec.requires k &gt;= 0
+     * @return the short names of the k buildings nearest to (x, y) in straight-line distance,
+     *         nearest first; all of them if there are fewer than k
+     */
+    public List<String> nearestBuildings(double x, double y, int k) {
+        return buildingIndex.nearest(x, y, k);
+    }
+
+    /**
+     * Gets the counters of the searches run by this map's routing mode. In PRECOMPUTED mode they
+     * count the searches that filled the route table and those run by findShortestPathFrom.
+     *
+     * @return the live search counters of the engine behind findShortestPath
+     */
+    public SearchStats getSearchStats() {
+        return mode == RoutingMode.CONTRACTION ? hierarchy.getStats() : engine.getStats();
+    }
+
+    /**
+     * Finds the shortest paths between many pairs of buildings. The pairs are grouped by start
+     * building, and the groups are answered in parallel: a group with a single end building is
+     * answered by findShortestPath, and a larger one by a single search from its start building
+     * that stops once all of its end buildings are reached. In PRECOMPUTED mode every pair is a
+     * table lookup, and in CONTRACTION mode every pair is its own hierarchy query.
+     *
+     * @param startShortNames The short names of the buildings at the beginning of the paths.
+     * @param endShortNames   The short names of the buildings at the end of the paths.
+     * @return The paths between each pair of buildings, in the order of the pairs.
+     * @throws IllegalArgumentException if either list is {@literal null}, the lists differ in size,
+     *                                  or any of the names are {@literal null} or not valid short
+     *                                  names of buildings in this campus map.
+     */
+    @Override
+    public List<Path<Point>> findShortestPaths(List<String> startShortNames, List<String> endShortNames) {
+        if (startShortNames == null || endShortNames == null || startShortNames.size() != endShortNames.size()) {
+            throw new IllegalArgumentException("start and end names should be lists of the same size");
+        }
+        // the distinct end buildings asked for from each start building
+        Map<String, Set<String>> groups = new HashMap<>();
+        for (int i = 0; i < startShortNames.size(); i++) {
+            String start = startShortNames.get(i);
+            String end = endShortNames.get(i);
+            if (start == null || end == null || !shortNameExists(start) || !shortNameExists(end)) {
+                throw new IllegalArgumentException("not a building: " + start + " or " + end);
+            }
+            groups.computeIfAbsent(start, k -> new HashSet<>()).add(end);
+        }
+
+        Map<String, Map<String, Path<Point>>> found = groups.entrySet().parallelStream()
+                .collect(Collectors.toMap(Map.Entry::getKey, group -> routesFrom(group.getKey(), group.getValue())));
+        List<Path<Point>> res = new ArrayList<>(startShortNames.size());
+        for (int i = 0; i < startShortNames.size(); i++) {
+            res.add(found.get(startShortNames.get(i)).get(endShortNames.get(i)));
+        }
+        return res;
+    }
+
+    /**
+     * Searches for the shortest path between two nodes with the search of this map's mode;
+     * PRECOMPUTED mode searches with Dijkstra's algorithm.
+     *
+     * @param start the node at the beginning of the path
+     * @param end   the node at the end of the path
+     * @spec.requires start and end are nodes of the campus paths
+     * @return the shortest path from start to end, or the empty path at start if there is none
+     */
+    private Path<Point> route(Point start, Point end) {
+        Path<Point> res;
+        if (mode == RoutingMode.CONTRACTION) {
+            res = hierarchy.findPath(start, end);
+        } else {
+            res = engine.findPath(start, end, heuristic);
+        }
+        return res == null ? new Path<>(start) : res;
+    }
+
+    /**
+     * Finds the shortest paths from one building to several others.
+     *
+     * @param start the short name of the start building
+     * @param ends  the short names of the end buildings
+     * @spec.requires start and every building of ends exist in this campus map
+     * @return a map from each end building to the path to it, as findShortestPath returns it
+     */
+    private Map<String, Path<Point>> routesFrom(String start, Set<String> ends) {
+        Map<String, Path<Point>> res = new HashMap<>();
+        if (mode == RoutingMode.PRECOMPUTED || mode == RoutingMode.CONTRACTION || ends.size() == 1) {
+            for (String end : ends) {
+                res.put(end, findShortestPath(start, end));
+            }
+            return res;
+        }
+        Point startPoint = buildingMap.get(start);
+        List<Point> endPoints = new ArrayList<>();
+        for (String end : ends) {
+            endPoints.add(buildingMap.get(end));
+        }
+        Map<Point, Path<Point>> paths = engine.findPaths(startPoint, endPoints);
+        for (String end : ends) {
+            res.put(end, paths.getOrDefault(buildingMap.get(end), new Path<>(startPoint)));
+        }
+        return res;
+    }
 }
@@ -0,0 +1,331 @@
+package pathfinder;
+
+import graph.IntDirectedGraph;
+import graph.SnapshotIO;
+import graph.SymbolTable;
+import pathfinder.datastructures.Point;
+import pathfinder.parser.CampusBuilding;
+import pathfinder.parser.CampusPath;
+import pathfinder.parser.CampusPathsParser;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * CampusSnapshot holds everything a CampusMap is built from: the campus buildings and the graph of
+ * campus paths between points. It can be parsed from the campus TSV files, or saved to and loaded
+ * from a compact binary file, which is far quicker than parsing the TSV files again.
+ *
+ * <p>The binary file holds an interned table of the building names, the buildings as indexes into
+ * that table plus their coordinates, the coordinates of every graph node in id order, and the
+ * paths as CSR adjacency (per-node offsets into arrays of destination ids and double distances).
+ * Its header records a checksum of the TSV files it was built from, so loadOrParse notices when
+ * the data has changed and the snapshot is out of date.
+ */
+public final class CampusSnapshot {
+
+    // Rep invariant:
+    // buildings != null && points != null && graph != null && points.size() == graph.nodeCount()
+    // && buildings does not contain null
+
+    // Abstract Function:
+    // AF(this) = the campus data such that
+    //      this.buildings = the campus buildings, in file order
+    //      this.graph = the campus paths, where node i is the point points.keyOf(i)
+    //      this.fingerprint = the checksum of the TSV files the data came from
+
+    /**
+     * The campus buildings file.
+     */
+    public static final String BUILDINGS_FILE = "campus_buildings.tsv";
+
+    /**
+     * The campus paths file.
+     */
+    public static final String PATHS_FILE = "campus_paths.tsv";
+
+    /**
+     * The system property naming the snapshot file used by defaultFile.
+     */
+    public static final String FILE_PROPERTY = "campus.snapshot";
+
+    /**
+     * "CMPS", identifying a campus snapshot file.
+     */
+    private static final int MAGIC = 0x434D5053;
+
+    /**
+     * The version of the binary layout; bump it whenever the layout changes.
+     */
+    private static final int VERSION = 1;
+
+    private final List<CampusBuilding> buildings;
+    private final SymbolTable<Point> points;
+    private final IntDirectedGraph graph;
+    private final long fingerprint;
+
+    /**
+     * Creates a snapshot of the given campus data.
+     *
+     * @param buildings the campus buildings
+     * @param points the location of every node of graph
+     * @param graph the campus paths
+     * @param fingerprint the checksum of the files the data came from
+     * @spec.requires the arguments satisfy the rep invariant
+     */
+    private CampusSnapshot(List<CampusBuilding> buildings, SymbolTable<Point> points, IntDirectedGraph graph,
+                           long fingerprint) {
+        this.buildings = Collections.unmodifiableList(buildings);
+        this.points = points;
+        this.graph = graph;
+        this.fingerprint = fingerprint;
+    }
+
+    /**
+     * Parses the campus TSV files.
+     *
+     * @return a snapshot of the data in the campus TSV files
+     */
+    public static CampusSnapshot parse() {
+        List<CampusBuilding> buildings = CampusPathsParser.parseCampusBuildings(BUILDINGS_FILE);
+        SymbolTable<Point> points = new SymbolTable<>();
+        IntDirectedGraph graph = new IntDirectedGraph();
+        for (CampusPath path : CampusPathsParser.parseCampusPaths(PATHS_FILE)) {
+            int startNode = points.intern(new Point(path.getX1(), path.getY1()));
+            int endNode = points.intern(new Point(path.getX2(), path.getY2()));
+            graph.ensureNodes(points.size());
+            graph.addEdge(startNode, endNode, path.getDistance());
+        }
+        return new CampusSnapshot(new ArrayList<>(buildings), points, graph, sourceFingerprint());
+    }
+
+    /**
+     * Loads a snapshot from a binary file written by write.
+     *
+     * @param file the snapshot file
+     * @return the snapshot held in the file
+     * @throws IOException if the file can not be read or does not hold a campus snapshot
+     * @spec.requires file != null
+     */
+    public static CampusSnapshot read(Path file) throws IOException {
+        ByteBuffer in = SnapshotIO.open(file, MAGIC, VERSION);
+        long fingerprint = SnapshotIO.readFingerprint(in);
+        String[] names = SnapshotIO.readStrings(in);
+        int[] shortNames = SnapshotIO.readInts(in);
+        int[] longNames = SnapshotIO.readInts(in);
+        double[] buildingX = SnapshotIO.readDoubles(in);
+        double[] buildingY = SnapshotIO.readDoubles(in);
+        double[] nodeX = SnapshotIO.readDoubles(in);
+        double[] nodeY = SnapshotIO.readDoubles(in);
+        int[] offsets = SnapshotIO.readInts(in);
+        int[] targets = SnapshotIO.readInts(in);
+        double[] weights = SnapshotIO.readDoubles(in);
+
+        int buildingCount = shortNames.length;
+        int nodeCount = nodeX.length;
+        if (longNames.length != buildingCount || buildingX.length != buildingCount
+                || buildingY.length != buildingCount || nodeY.length != nodeCount
+                || offsets.length != nodeCount + 1 || offsets[0] != 0 || offsets[nodeCount] != targets.length
+                || weights.length != targets.length) {
+            throw new IOException("corrupt snapshot: " + file);
+        }
+        try {
+            List<CampusBuilding> buildings = new ArrayList<>(buildingCount);
+            for (int i = 0; i < buildingCount; i++) {
+                buildings.add(new CampusBuilding(names[shortNames[i]], names[longNames[i]], buildingX[i], buildingY[i]));
+            }
+            SymbolTable<Point> points = new SymbolTable<>();
+            for (int i = 0; i < nodeCount; i++) {
+                if (points.intern(new Point(nodeX[i], nodeY[i])) != i) {
+                    throw new IOException("corrupt snapshot: " + file);
+                }
+            }
+            IntDirectedGraph graph = new IntDirectedGraph(offsets, targets, weights);
+            return new CampusSnapshot(buildings, points, graph, fingerprint);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IOException("corrupt snapshot: " + file, e);
+        }
+    }
+
+    /**
+     * Loads the snapshot in the given file if it is up to date with the campus TSV files.
+     * Otherwise parses the TSV files and saves a snapshot of them to the file for next time.
+     *
+     * @param file the snapshot file
+     * @return a snapshot of the data in the campus TSV files
+     * @spec.requires file != null
+     * @spec.effects writes file if it is missing or out of date
+     */
+    public static CampusSnapshot loadOrParse(Path file) {
+        if (file == null) {
+            throw new IllegalArgumentException("file should not be null");
+        }
+        long current = sourceFingerprint();
+        try {
+            CampusSnapshot snapshot = read(file);
+            if (snapshot.fingerprint == current) {
+                return snapshot;
+            }
+        } catch (IOException e) {
+            // missing or unreadable, so it is rebuilt below
+        }
+        CampusSnapshot snapshot = parse();
+        try {
+            snapshot.write(file);
+        } catch (IOException e) {
+            // the snapshot only speeds up the next start, so failing to save it is not an error
+        }
+        return snapshot;
+    }
+
+    /**
+     * Gets the snapshot file the applications start from: the file named by the campus.snapshot
+     * system property, or build/campus.snapshot under the working directory if it is not set.
+     *
+     * @return the path of the snapshot file
+     */
+    public static Path defaultFile() {
+        String file = System.getProperty(FILE_PROPERTY);
+        return file == null ? Paths.get("build", "campus.snapshot") : Paths.get(file);
+    }
+
+    /**
+     * Saves this snapshot to a binary file.
+     *
+     * @param file the file to write, replaced if it exists
+     * @throws IOException if the file can not be written
+     * @spec.requires file != null
+     */
+    public void write(Path file) throws IOException {
+        Map<String, Integer> nameIds = new HashMap<>();
+        List<String> names = new ArrayList<>();
+        int[] shortNames = new int[buildings.size()];
+        int[] longNames = new int[buildings.size()];
+        double[] buildingX = new double[buildings.size()];
+        double[] buildingY = new double[buildings.size()];
+        for (int i = 0; i < buildings.size(); i++) {
+            CampusBuilding building = buildings.get(i);
+            shortNames[i] = intern(building.getShortName(), nameIds, names);
+            longNames[i] = intern(building.getLongName(), nameIds, names);
+            buildingX[i] = building.getX();
+            buildingY[i] = building.getY();
+        }
+
+        int nodeCount = graph.nodeCount();
+        double[] nodeX = new double[nodeCount];
+        double[] nodeY = new double[nodeCount];
+        int[] offsets = new int[nodeCount + 1];
+        int[] targets = new int[graph.edgeCount()];
+        double[] weights = new double[graph.edgeCount()];
+        for (int i = 0; i < nodeCount; i++) {
+            nodeX[i] = points.keyOf(i).getX();
+            nodeY[i] = points.keyOf(i).getY();
+            offsets[i + 1] = offsets[i] + graph.degree(i);
+            for (int k = 0; k < graph.degree(i); k++) {
+                targets[offsets[i] + k] = graph.target(i, k);
+                weights[offsets[i] + k] = graph.weight(i, k);
+            }
+        }
+
+        SnapshotIO.write(file, MAGIC, VERSION, fingerprint, out -> {
+            SnapshotIO.writeStrings(out, names.toArray(new String[0]));
+            SnapshotIO.writeInts(out, shortNames);
+            SnapshotIO.writeInts(out, longNames);
+            SnapshotIO.writeDoubles(out, buildingX);
+            SnapshotIO.writeDoubles(out, buildingY);
+            SnapshotIO.writeDoubles(out, nodeX);
+            SnapshotIO.writeDoubles(out, nodeY);
+            SnapshotIO.writeInts(out, offsets);
+            SnapshotIO.writeInts(out, targets);
+            SnapshotIO.writeDoubles(out, weights);
+        });
+    }
+
+    /**
+     * Gets the campus buildings.
+     *
+     * @return an unmodifiable list of the campus buildings, in file order
+     */
+    public List<CampusBuilding> getBuildings() {
+        return buildings;
+    }
+
+    /**
+     * Gets the number of points joined by campus paths.
+     *
+     * @return the number of nodes in the graph of campus paths
+     */
+    public int nodeCount() {
+        return graph.nodeCount();
+    }
+
+    /**
+     * Gets the number of campus paths.
+     *
+     * @return the number of edges in the graph of campus paths
+     */
+    public int edgeCount() {
+        return graph.edgeCount();
+    }
+
+    /**
+     * Gets the location of every node of the graph. Only CampusMap reads it, and never modifies it.
+     *
+     * @return the table from node id to point
+     */
+    SymbolTable<Point> points() {
+        return points;
+    }
+
+    /**
+     * Gets the graph of campus paths. Only CampusMap reads it, and never modifies it.
+     *
+     * @return the graph of campus paths
+     */
+    IntDirectedGraph graph() {
+        return graph;
+    }
+
+    /**
+     * Gets the index of a name in the string table being written, adding it if it is new.
+     *
+     * @param name the name to look up
+     * @param nameIds the index of every name in the table
+     * @param names the table
+     * @spec.modifies nameIds, names
+     * @return the index of name in names
+     */
+    private static int intern(String name, Map<String, Integer> nameIds, List<String> names) {
+        Integer id = nameIds.get(name);
+        if (id == null) {
+            id = names.size();
+            names.add(name);
+            nameIds.put(name, id);
+        }
+        return id;
+    }
+
+    /**
+     * Computes the checksum of the campus TSV files.
+     *
+     * @return the checksum of the campus buildings and paths files
+     */
+    private static long sourceFingerprint() {
+        CRC32 crc = new CRC32();
+        try {
+            SnapshotIO.fingerprint(CampusPathsParser.class, "/data/" + BUILDINGS_FILE, crc);
+            SnapshotIO.fingerprint(CampusPathsParser.class, "/data/" + PATHS_FILE, crc);
+        } catch (IOException e) {
+            throw new CampusPathsParser.ParserException("Cannot read campus data.", e);
+        }
+        return crc.getValue();
+    }
+}
@@ -0,0 +1,740 @@
+package pathfinder;
+
+import graph.DirectedGraph;
+import graph.FrozenGraph;
+import graph.IntDirectedGraph;
+import graph.SymbolTable;
+import pathfinder.datastructures.IndexedMinHeap;
+import pathfinder.datastructures.Path;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ContractionHierarchy answers shortest path queries over a snapshot of a non-negatively weighted
+ * graph by searching a contraction hierarchy of it.
+ *
+ * <p>Preprocessing contracts the nodes one at a time, least important first. Contracting a node v
+ * removes it from the remaining graph and, for every pair of remaining neighbors u -&gt; v -&gt; w
+ * whose shortest connection runs through v, adds a shortcut edge u -&gt; w of the same length. A
+ * bounded local search from u that avoids v looks for a witness path no longer than u -&gt; v -&gt;
+ * w first; if it finds one, the shortcut is not needed. Importance is the number of shortcuts a
+ * contraction would add minus the edges it removes, plus the number of neighbors already
+ * contracted, and it is recomputed lazily as nodes are taken off the queue. The order nodes are
+ * contracted in is their rank.
+ *
+ * <p>Every edge and shortcut is kept at the lower ranked of its two ends: as an upward edge there
+ * if it leads to a higher ranked node, and as a downward edge otherwise. A query runs Dijkstra's
+ * algorithm forward from the source over upward edges and backward from the destination over
+ * downward edges, alternating between the two, and each side stops once its frontier is no
+ * closer than the best meeting found. A settled node is not expanded if a higher ranked node the
+ * same side already reached leads down to it for less (stall-on-demand). Both searches only
+ * ever climb the hierarchy, so they settle a small fraction of the nodes plain Dijkstra would.
+ * A shortcut remembers the two edges it replaces, so the path found is unpacked back into edges
+ * of the original graph.
+ *
+ * <p>The hierarchy is immutable once built, so one hierarchy can serve concurrent queries. Each
+ * thread keeps its own search arrays and resets only the entries a query touched, so a query
+ * costs the few nodes it settles rather than the size of the graph.
+ *
+ * @param <T> generic type representing the node
+ */
+public class ContractionHierarchy<T> {
+
+    // Rep invariant:
+    // nodes != null && rank != null && rank.length == nodes.size()
+    // && rank is a permutation of 0 ... nodes.size() - 1
+    // && arcFrom, arcTo, arcWeight, arcFirst, arcSecond are not null and all have the same length
+    // && for all arcs a, 0 <= arcFrom[a], arcTo[a] < nodes.size() && arcWeight[a] >= 0
+    // && for all arcs a, arcFirst[a] == -1 == arcSecond[a]
+    //      || (for some node m, arcFirst[a] is the arc arcFrom[a] -> m
+    //          && arcSecond[a] is the arc m -> arcTo[a]
+    //          && rank[m] < rank[arcFrom[a]], rank[arcTo[a]]
+    //          && arcWeight[a] == arcWeight[arcFirst[a]] + arcWeight[arcSecond[a]])
+    // && upOffsets, downOffsets have length nodes.size() + 1, start at 0 and are non-decreasing
+    // && for all v, the arcs up[upOffsets[v] ... upOffsets[v + 1]) leave v for higher ranked nodes
+    // && for all v, the arcs down[downOffsets[v] ... downOffsets[v + 1]) enter v from higher
+    //    ranked nodes
+
+    // Abstract Function:
+    // AF(this) = a shortest path solver over the graph g such that
+    //      the nodes of g = {nodes.keyOf(0), ..., nodes.keyOf(nodes.size() - 1)}
+    //      the edges of g = {arcFrom[a] -> arcTo[a] of weight arcWeight[a] | arcFirst[a] == -1}
+    //      the shortcuts = {arcFrom[a] -> arcTo[a] of weight arcWeight[a] | arcFirst[a] != -1}
+
+    /**
+     * The most nodes a witness search settles before giving up and keeping the shortcut. Giving up
+     * early only adds shortcuts that are not strictly needed, so every query stays exact.
+     */
+    private static final int WITNESS_SETTLE_LIMIT = 500;
+
+    private final SymbolTable<T> nodes;
+    private final int[] rank;
+    private final int[] arcFrom;
+    private final int[] arcTo;
+    private final double[] arcWeight;
+    private final int[] arcFirst;
+    private final int[] arcSecond;
+    private final int[] upOffsets;
+    private final int[] up;
+    private final int[] downOffsets;
+    private final int[] down;
+    private final int shortcutCount;
+    private final SearchStats stats = new SearchStats();
+    private final ThreadLocal<Query> queries;
+
+    /**
+     * Builds the contraction hierarchy of a snapshot of the given graph.
+     *
+     * @param g the graph to be searched
+     * @spec.requires g != null &amp;&amp; every edge weight of g is non-negative
+     */
+    public ContractionHierarchy(DirectedGraph<T, ? extends Number> g) {
+        this(Input.of(g));
+    }
+
+    /**
+     * Builds the contraction hierarchy of a snapshot of the given int graph, whose node i stands
+     * for nodes.keyOf(i).
+     *
+     * @param g the graph to be searched
+     * @param nodes the key of every node of g
+     * @spec.requires g != null &amp;&amp; nodes != null &amp;&amp; nodes.size() == g.nodeCount()
+     *                &amp;&amp; every edge weight of g is non-negative
+     */
+    public ContractionHierarchy(IntDirectedGraph g, SymbolTable<T> nodes) {
+        this(Input.of(g, nodes));
+    }
+
+    /**
+     * Contracts every node of the given graph and lays out the resulting hierarchy in arrays.
+     *
+     * @param input the nodes and edges of the graph
+     */
+    private ContractionHierarchy(Input<T> input) {
+        this.nodes = input.nodes;
+        int n = nodes.size();
+        this.queries = ThreadLocal.withInitial(() -> new Query(n));
+        Contraction contraction = new Contraction(input.out);
+        this.rank = contraction.run();
+
+        List<Arc> arcs = contraction.arcs;
+        arcFrom = new int[arcs.size()];
+        arcTo = new int[arcs.size()];
+        arcWeight = new double[arcs.size()];
+        arcFirst = new int[arcs.size()];
+        arcSecond = new int[arcs.size()];
+        upOffsets = new int[n + 1];
+        downOffsets = new int[n + 1];
+        int shortcuts = 0;
+        for (Arc arc : arcs) {
+            arcFrom[arc.id] = arc.from;
+            arcTo[arc.id] = arc.to;
+            arcWeight[arc.id] = arc.weight;
+            arcFirst[arc.id] = arc.first == null ? -1 : arc.first.id;
+            arcSecond[arc.id] = arc.second == null ? -1 : arc.second.id;
+            if (arc.first != null) {
+                shortcuts++;
+            }
+            if (rank[arc.from] < rank[arc.to]) {
+                upOffsets[arc.from + 1]++;
+            } else {
+                downOffsets[arc.to + 1]++;
+            }
+        }
+        shortcutCount = shortcuts;
+        for (int v = 0; v < n; v++) {
+            upOffsets[v + 1] += upOffsets[v];
+            downOffsets[v + 1] += downOffsets[v];
+        }
+        up = new int[upOffsets[n]];
+        down = new int[downOffsets[n]];
+        int[] upNext = Arrays.copyOf(upOffsets, n);
+        int[] downNext = Arrays.copyOf(downOffsets, n);
+        for (Arc arc : arcs) {
+            if (rank[arc.from] < rank[arc.to]) {
+                up[upNext[arc.from]++] = arc.id;
+            } else {
+                down[downNext[arc.to]++] = arc.id;
+            }
+        }
+    }
+
+    /**
+     * Gets the number of nodes in the graph this hierarchy searches.
+     *
+     * @return the number of nodes in the graph
+     */
+    public int nodeCount() {
+        return nodes.size();
+    }
+
+    /**
+     * Gets the number of shortcut edges preprocessing added to the graph.
+     *
+     * @return the number of shortcuts in the hierarchy
+     */
+    public int shortcutCount() {
+        return shortcutCount;
+    }
+
+    /**
+     * Gets the counters of the queries this hierarchy has answered; a query counts as one search
+     * covering both of its directions.
+     *
+     * @return the live search counters of this hierarchy
+     */
+    public SearchStats getStats() {
+        return stats;
+    }
+
+    /**
+     * Find the shortest path from one node to another node.
+     *
+     * @param source    the source node
+     * @param dest      the destination node
+     * @spec.requires   source != null &amp;&amp; dest != null &amp;&amp; source and dest nodes
+     *                  are in the graph
+     * @return          the shortest path from source to dest, made of edges of the original graph;
+     *                  return null if no path exist
+     */
+    public Path<T> findPath(T source, T dest) {
+        int src = idOf(source);
+        int dst = idOf(dest);
+        if (src == dst) {
+            return new Path<>(source);
+        }
+        Query query = queries.get();
+        try {
+            return search(query, src, dst);
+        } finally {
+            query.reset();
+        }
+    }
+
+    /**
+     * Gets the id of a node of the graph.
+     *
+     * @param node the node to look up
+     * @return the id of the node
+     * @throws IllegalArgumentException if node is null or not in the graph
+     */
+    private int idOf(T node) {
+        if (node == null || !nodes.contains(node)) {
+            throw new IllegalArgumentException("node should be in the graph");
+        }
+        return nodes.idOf(node);
+    }
+
+    /**
+     * Checks that an edge weight can be searched.
+     *
+     * @param weight the weight of an edge
+     * @return weight
+     * @throws IllegalArgumentException if weight is negative or NaN
+     */
+    private static double checkWeight(double weight) {
+        if (!(weight >= 0)) {
+            throw new IllegalArgumentException("edge weights must be non-negative");
+        }
+        return weight;
+    }
+
+    /**
+     * Searches the hierarchy upward from src and, backward, from dst, alternating between the
+     * two until neither frontier can improve on the best meeting found.
+     *
+     * @param query the scratch space of the calling thread
+     * @param src the id of the source node
+     * @param dst the id of the destination node
+     * @spec.requires src != dst &amp;&amp; query was reset since the last query
+     * @spec.modifies query
+     * @return the shortest path from src to dst, or null if no path exist
+     */
+    private Path<T> search(Query query, int src, int dst) {
+        double[] forwardDist = query.forwardDist;
+        double[] backwardDist = query.backwardDist;
+        IndexedMinHeap forward = query.forward;
+        IndexedMinHeap backward = query.backward;
+        List<Integer> touched = query.touched;
+        forwardDist[src] = 0.0;
+        backwardDist[dst] = 0.0;
+        touched.add(src);
+        touched.add(dst);
+        forward.insertOrDecrease(src, 0.0);
+        backward.insertOrDecrease(dst, 0.0);
+
+        double best = Double.POSITIVE_INFINITY;
+        int meet = -1;
+        int settled = 0;
+        int pushes = 2;
+        boolean forwardTurn = true;
+        while (!forward.isEmpty() || !backward.isEmpty()) {
+            boolean isForward = backward.isEmpty() || (forwardTurn && !forward.isEmpty());
+            forwardTurn = !isForward;
+            IndexedMinHeap frontier = isForward ? forward : backward;
+            double[] dist = isForward ? forwardDist : backwardDist;
+            double[] otherDist = isForward ? backwardDist : forwardDist;
+            int[] reachedBy = isForward ? query.forwardArc : query.backwardArc;
+
+            int node = frontier.pollMin();
+            if (dist[node] >= best) {
+                frontier.clear();
+                continue;
+            }
+            settled++;
+            if (isStalled(node, dist, isForward)) {
+                continue;
+            }
+            int[] offsets = isForward ? upOffsets : downOffsets;
+            int[] arcs = isForward ? up : down;
+            for (int i = offsets[node]; i < offsets[node + 1]; i++) {
+                int a = arcs[i];
+                int next = isForward ? arcTo[a] : arcFrom[a];
+                double newDist = dist[node] + arcWeight[a];
+                if (newDist < dist[next]) {
+                    if (dist[next] == Double.POSITIVE_INFINITY) {
+                        touched.add(next);
+                    }
+                    dist[next] = newDist;
+                    reachedBy[next] = a;
+                    frontier.insertOrDecrease(next, newDist);
+                    pushes++;
+                    if (newDist + otherDist[next] < best) {
+                        best = newDist + otherDist[next];
+                        meet = next;
+                    }
+                }
+            }
+        }
+        stats.recordSearch(settled, pushes);
+        return meet == -1 ? null : unpack(query, src, dst, meet);
+    }
+
+    /**
+     * Checks whether a node can be skipped because a higher ranked node already reached by the
+     * same search leads down to it for less. Then the distance the search has for the node is
+     * not a shortest one, and no shortest path runs up through it this way.
+     *
+     * @param node      the node just settled
+     * @param dist      the distances of the search that settled it
+     * @param isForward true for the forward search, false for the backward one
+     * @return true iff the node can be skipped
+     */
+    private boolean isStalled(int node, double[] dist, boolean isForward) {
+        // the arcs entering node from above going forward are its down arcs, and vice versa
+        int[] offsets = isForward ? downOffsets : upOffsets;
+        int[] arcs = isForward ? down : up;
+        for (int i = offsets[node]; i < offsets[node + 1]; i++) {
+            int a = arcs[i];
+            int above = isForward ? arcFrom[a] : arcTo[a];
+            if (dist[above] + arcWeight[a] < dist[node]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Builds the path through the meeting node out of edges of the original graph.
+     *
+     * @param query the scratch space of the search that found meet
+     * @param src  the id of the source node
+     * @param dst  the id of the destination node
+     * @param meet the id of a node on a shortest path that both searches reached over it
+     * @return the shortest path from src to dst
+     */
+    private Path<T> unpack(Query query, int src, int dst, int meet) {
+        Deque<Integer> route = new ArrayDeque<>();
+        for (int node = meet; node != src; node = arcFrom[query.forwardArc[node]]) {
+            route.addFirst(query.forwardArc[node]);
+        }
+        for (int node = meet; node != dst; node = arcTo[query.backwardArc[node]]) {
+            route.addLast(query.backwardArc[node]);
+        }
+        Path<T> res = new Path<>(nodes.keyOf(src));
+        int segments = 0;
+        Deque<Integer> pending = new ArrayDeque<>();
+        for (int a : route) {
+            pending.push(a);
+            while (!pending.isEmpty()) {
+                int arc = pending.pop();
+                if (arcFirst[arc] == -1) {
+                    res = res.extend(nodes.keyOf(arcTo[arc]), arcWeight[arc]);
+                    segments++;
+                } else {
+                    pending.push(arcSecond[arc]);
+                    pending.push(arcFirst[arc]);
+                }
+            }
+        }
+        stats.recordPath(segments);
+        return res;
+    }
+
+    /**
+     * <b>Query</b> is the scratch space of one thread's queries: the distances and arcs of the
+     * forward and backward searches, and the nodes whose entries must be reset afterwards. It is
+     * static so that it holds no reference back to its hierarchy; otherwise each thread's entry
+     * would keep a discarded hierarchy, and so the ThreadLocal keying the entry, alive forever.
+     */
+    private static final class Query {
+
+        private final double[] forwardDist;
+        private final double[] backwardDist;
+        // the arc each node was reached over, toward the source going forward and toward the
+        // destination going backward
+        private final int[] forwardArc;
+        private final int[] backwardArc;
+        private final IndexedMinHeap forward;
+        private final IndexedMinHeap backward;
+        // every node reached by either search, possibly twice
+        private final List<Integer> touched = new ArrayList<>();
+
+        /**
+         * Creates the scratch space of a thread, with no node reached.
+         *
+         * @param n the number of nodes of the hierarchy
+         */
+        Query(int n) {
+            forwardDist = new double[n];
+            backwardDist = new double[n];
+            forwardArc = new int[n];
+            backwardArc = new int[n];
+            forward = new IndexedMinHeap(n);
+            backward = new IndexedMinHeap(n);
+            Arrays.fill(forwardDist, Double.POSITIVE_INFINITY);
+            Arrays.fill(backwardDist, Double.POSITIVE_INFINITY);
+        }
+
+        /**
+         * Clears every entry the last query touched, ready for the next one.
+         *
+         * @spec.modifies this
+         */
+        void reset() {
+            for (int node : touched) {
+                forwardDist[node] = Double.POSITIVE_INFINITY;
+                backwardDist[node] = Double.POSITIVE_INFINITY;
+            }
+            touched.clear();
+            forward.clear();
+            backward.clear();
+        }
+    }
+
+    /**
+     * <b>Input</b> is the graph a hierarchy is built from: its nodes, and the lightest edge from
+     * each node to each of its other neighbors. Self-loops never lie on a shortest path, so they
+     * are dropped.
+     *
+     * @param <T> generic type representing the node
+     */
+    private static final class Input<T> {
+
+        private final SymbolTable<T> nodes = new SymbolTable<>();
+        private final List<Map<Integer, Double>> out = new ArrayList<>();
+
+        /**
+         * Reads a snapshot of the given graph.
+         *
+         * @param g the graph to read
+         * @param <T> generic type representing the node
+         * @return the nodes and edges of g
+         */
+        static <T> Input<T> of(DirectedGraph<T, ? extends Number> g) {
+            if (g == null) {
+                throw new IllegalArgumentException("graph is null");
+            }
+            FrozenGraph<T, ? extends Number> frozen = g.freeze();
+            Input<T> res = new Input<>();
+            for (int i = 0; i < frozen.nodeCount(); i++) {
+                res.nodes.intern(frozen.nodeOf(i));
+                res.out.add(new HashMap<>());
+            }
+            for (int i = 0; i < frozen.nodeCount(); i++) {
+                for (int e = frozen.firstEdge(i); e < frozen.endEdge(i); e++) {
+                    res.addEdge(i, frozen.target(e), frozen.label(e).doubleValue());
+                }
+            }
+            return res;
+        }
+
+        /**
+         * Reads a snapshot of the given int graph.
+         *
+         * @param g the graph to read
+         * @param nodes the key of every node of g
+         * @param <T> generic type representing the node
+         * @return the nodes and edges of g
+         */
+        static <T> Input<T> of(IntDirectedGraph g, SymbolTable<T> nodes) {
+            if (g == null || nodes == null || nodes.size() != g.nodeCount()) {
+                throw new IllegalArgumentException("nodes should name every node of the graph");
+            }
+            Input<T> res = new Input<>();
+            for (int i = 0; i < g.nodeCount(); i++) {
+                res.nodes.intern(nodes.keyOf(i));
+                res.out.add(new HashMap<>());
+            }
+            for (int i = 0; i < g.nodeCount(); i++) {
+                for (int k = 0; k < g.degree(i); k++) {
+                    res.addEdge(i, g.target(i, k), g.weight(i, k));
+                }
+            }
+            return res;
+        }
+
+        /**
+         * Adds an edge, keeping only the lightest edge between two nodes.
+         *
+         * @param from the id of the source node
+         * @param to   the id of the destination node
+         * @param weight the weight of the edge
+         * @spec.modifies this
+         */
+        private void addEdge(int from, int to, double weight) {
+            checkWeight(weight);
+            if (from != to) {
+                out.get(from).merge(to, weight, Math::min);
+            }
+        }
+    }
+
+    /**
+     * <b>Arc</b> is an edge or shortcut of the graph being contracted. A shortcut keeps the two
+     * arcs through the contracted node that it replaces.
+     */
+    private static final class Arc {
+
+        private final int from;
+        private final int to;
+        private final double weight;
+        private final Arc first;
+        private final Arc second;
+        private int id = -1;
+
+        /**
+         * Creates an arc.
+         *
+         * @param from   the id of the source node
+         * @param to     the id of the destination node
+         * @param weight the length of the arc
+         * @param first  the arc from source to the contracted node, or null for an edge of the graph
+         * @param second the arc from the contracted node to dest, or null for an edge of the graph
+         */
+        Arc(int from, int to, double weight, Arc first, Arc second) {
+            this.from = from;
+            this.to = to;
+            this.weight = weight;
+            this.first = first;
+            this.second = second;
+        }
+    }
+
+    /**
+     * <b>Contraction</b> is the state of preprocessing: the graph of the nodes not yet contracted,
+     * with the arcs between them, and the arcs already settled at a contracted node.
+     */
+    private static final class Contraction {
+
+        // the arcs leaving and entering each node not yet contracted, by the node at their other end
+        private final List<Map<Integer, Arc>> out = new ArrayList<>();
+        private final List<Map<Integer, Arc>> in = new ArrayList<>();
+        // every arc kept in the hierarchy, in the order ids were given out
+        private final List<Arc> arcs = new ArrayList<>();
+        // the number of neighbors of each node already contracted
+        private final int[] contractedNeighbors;
+
+        // scratch space of the witness searches, reset after each search
+        private final double[] dist;
+        private final List<Integer> touched = new ArrayList<>();
+        private final IndexedMinHeap frontier;
+
+        /**
+         * Starts preprocessing of a graph with no node contracted.
+         *
+         * @param edges the lightest edge from each node to each of its neighbors
+         */
+        Contraction(List<Map<Integer, Double>> edges) {
+            int n = edges.size();
+            for (int v = 0; v < n; v++) {
+                out.add(new HashMap<>());
+                in.add(new HashMap<>());
+            }
+            for (int v = 0; v < n; v++) {
+                for (Map.Entry<Integer, Double> edge : edges.get(v).entrySet()) {
+                    Arc arc = new Arc(v, edge.getKey(), edge.getValue(), null, null);
+                    out.get(v).put(arc.to, arc);
+                    in.get(arc.to).put(v, arc);
+                }
+            }
+            contractedNeighbors = new int[n];
+            dist = new double[n];
+            Arrays.fill(dist, Double.POSITIVE_INFINITY);
+            frontier = new IndexedMinHeap(n);
+        }
+
+        /**
+         * Contracts every node, least important first.
+         *
+         * @spec.modifies this
+         * @return the rank of every node, the position it was contracted at
+         */
+        int[] run() {
+            int n = out.size();
+            int[] rank = new int[n];
+            IndexedMinHeap queue = new IndexedMinHeap(n);
+            for (int v = 0; v < n; v++) {
+                queue.insertOrDecrease(v, importance(v, shortcuts(v).size()));
+            }
+            int next = 0;
+            while (!queue.isEmpty()) {
+                int v = queue.pollMin();
+                List<Arc> shortcuts = shortcuts(v);
+                double importance = importance(v, shortcuts.size());
+                // the importance may have grown since v was queued; if so, let a cheaper node go first
+                if (!queue.isEmpty() && importance > queue.priorityOf(queue.peekMin())) {
+                    queue.insertOrDecrease(v, importance);
+                    continue;
+                }
+                contract(v, shortcuts);
+                rank[v] = next++;
+            }
+            return rank;
+        }
+
+        /**
+         * Computes how important a node is to keep until late.
+         *
+         * @param v the id of a node not yet contracted
+         * @param shortcutCount the number of shortcuts contracting v would add
+         * @return the importance of v
+         */
+        private double importance(int v, int shortcutCount) {
+            return shortcutCount - out.get(v).size() - in.get(v).size() + contractedNeighbors[v];
+        }
+
+        /**
+         * Finds the shortcuts contracting a node would add.
+         *
+         * @param v the id of a node not yet contracted
+         * @return a shortcut for every pair of neighbors u -&gt; v -&gt; w without a witness path
+         */
+        private List<Arc> shortcuts(int v) {
+            List<Arc> res = new ArrayList<>();
+            if (out.get(v).isEmpty()) {
+                return res;
+            }
+            double maxOut = 0.0;
+            for (Arc second : out.get(v).values()) {
+                maxOut = Math.max(maxOut, second.weight);
+            }
+            for (Arc first : in.get(v).values()) {
+                witnessSearch(first.from, v, first.weight + maxOut);
+                for (Arc second : out.get(v).values()) {
+                    double via = first.weight + second.weight;
+                    if (second.to != first.from && dist[second.to] > via) {
+                        res.add(new Arc(first.from, second.to, via, first, second));
+                    }
+                }
+                resetSearch();
+            }
+            return res;
+        }
+
+        /**
+         * Runs a bounded Dijkstra search from src over the nodes not yet contracted, avoiding one
+         * node, and leaves its distances in dist.
+         *
+         * @param src     the id of the source node
+         * @param avoid   the id of the node the search must not pass through
+         * @param maxDist the distance beyond which the search stops
+         * @spec.modifies dist, touched, frontier
+         */
+        private void witnessSearch(int src, int avoid, double maxDist) {
+            dist[src] = 0.0;
+            touched.add(src);
+            frontier.insertOrDecrease(src, 0.0);
+            int settled = 0;
+            while (!frontier.isEmpty() && settled < WITNESS_SETTLE_LIMIT) {
+                int node = frontier.pollMin();
+                settled++;
+                if (dist[node] > maxDist) {
+                    break;
+                }
+                for (Arc arc : out.get(node).values()) {
+                    double newDist = dist[node] + arc.weight;
+                    if (arc.to != avoid && newDist < dist[arc.to]) {
+                        if (dist[arc.to] == Double.POSITIVE_INFINITY) {
+                            touched.add(arc.to);
+                        }
+                        dist[arc.to] = newDist;
+                        frontier.insertOrDecrease(arc.to, newDist);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Clears the distances and frontier left by the last witness search.
+         *
+         * @spec.modifies dist, touched, frontier
+         */
+        private void resetSearch() {
+            for (int node : touched) {
+                dist[node] = Double.POSITIVE_INFINITY;
+            }
+            touched.clear();
+            frontier.clear();
+        }
+
+        /**
+         * Contracts a node: keeps its arcs in the hierarchy, removes it from the remaining graph,
+         * and adds the shortcuts that replace it.
+         *
+         * @param v the id of a node not yet contracted
+         * @param shortcuts the shortcuts contracting v adds
+         * @spec.modifies this
+         */
+        private void contract(int v, List<Arc> shortcuts) {
+            for (Arc arc : out.get(v).values()) {
+                keep(arc);
+                in.get(arc.to).remove(v);
+                contractedNeighbors[arc.to]++;
+            }
+            for (Arc arc : in.get(v).values()) {
+                keep(arc);
+                out.get(arc.from).remove(v);
+                if (!out.get(v).containsKey(arc.from)) {
+                    contractedNeighbors[arc.from]++;
+                }
+            }
+            out.get(v).clear();
+            in.get(v).clear();
+            for (Arc shortcut : shortcuts) {
+                Arc existing = out.get(shortcut.from).get(shortcut.to);
+                if (existing == null || shortcut.weight < existing.weight) {
+                    out.get(shortcut.from).put(shortcut.to, shortcut);
+                    in.get(shortcut.to).put(shortcut.from, shortcut);
+                }
+            }
+        }
+
+        /**
+         * Gives an arc its id and keeps it in the hierarchy.
+         *
+         * @param arc an arc of a node being contracted
+         * @spec.modifies this, arc
+         */
+        private void keep(Arc arc) {
+            arc.id = arcs.size();
+            arcs.add(arc);
+        }
+    }
+}
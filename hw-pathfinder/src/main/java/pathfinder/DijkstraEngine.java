@@ -0,0 +1,435 @@
+package pathfinder;
+
+import graph.DirectedGraph;
+import graph.FrozenGraph;
+import graph.IntDirectedGraph;
+import graph.SymbolTable;
+import pathfinder.datastructures.IndexedMinHeap;
+import pathfinder.datastructures.Path;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToDoubleBiFunction;
+
+/**
+ * DijkstraEngine answers shortest path queries over a snapshot of a non-negatively weighted graph.
+ *
+ * <p>The graph is copied once into compressed-sparse-row arrays: the outgoing edges of node i are
+ * the edge ids in [offsets[i], offsets[i + 1]), with the destination and weight of each edge in
+ * an int and a double array. Each query keeps a double distance array and an int predecessor
+ * array indexed by node id, with the frontier held in an IndexedMinHeap that supports
+ * decrease-key. The path is only materialized once the destination is settled. A search may also
+ * run to exhaustion and keep its arrays as a ShortestPathTree. An engine holds no per-query state,
+ * so one engine can serve concurrent queries.
+ *
+ * @param <T> generic type representing the node
+ */
+public class DijkstraEngine<T> {
+
+    // Rep invariant:
+    // nodes != null && offsets != null && targets != null && weights != null
+    // && offsets.length == nodes.size() + 1 && offsets[0] == 0 && offsets is non-decreasing
+    // && offsets[nodes.size()] == targets.length == weights.length
+    // && for all e, 0 <= targets[e] < nodes.size() && weights[e] >= 0
+
+    // Abstract Function:
+    // AF(this) = a shortest path solver over the graph g such that
+    //      the nodes of g = {nodes.keyOf(0), ..., nodes.keyOf(nodes.size() - 1)}
+    //      the edges outgoing from node i = {(targets[e], weights[e]) | offsets[i] <= e < offsets[i + 1]}
+
+    private final SymbolTable<T> nodes;
+    private final int[] offsets;
+    private final int[] targets;
+    private final double[] weights;
+    private final SearchStats stats = new SearchStats();
+
+    /**
+     * Creates an engine over a snapshot of the given graph.
+     *
+     * @param g the graph to be searched
+     * @spec.requires g != null &amp;&amp; every edge weight of g is non-negative
+     */
+    public DijkstraEngine(DirectedGraph<T, ? extends Number> g) {
+        this(freeze(g));
+    }
+
+    /**
+     * Creates an engine over the given frozen graph.
+     *
+     * @param g the frozen graph to be searched
+     * @spec.requires g != null &amp;&amp; every edge weight of g is non-negative
+     */
+    public DijkstraEngine(FrozenGraph<T, ? extends Number> g) {
+        if (g == null) {
+            throw new IllegalArgumentException("graph is null");
+        }
+        nodes = new SymbolTable<>();
+        offsets = new int[g.nodeCount() + 1];
+        for (int i = 0; i < g.nodeCount(); i++) {
+            nodes.intern(g.nodeOf(i));
+            offsets[i + 1] = g.endEdge(i);
+        }
+        targets = new int[g.edgeCount()];
+        weights = new double[g.edgeCount()];
+        for (int e = 0; e < weights.length; e++) {
+            targets[e] = g.target(e);
+            weights[e] = checkWeight(g.label(e).doubleValue());
+        }
+    }
+
+    /**
+     * Creates an engine over a snapshot of the given int graph, whose node i stands for
+     * nodes.keyOf(i).
+     *
+     * @param g the graph to be searched
+     * @param nodes the key of every node of g
+     * @spec.requires g != null &amp;&amp; nodes != null &amp;&amp; nodes.size() == g.nodeCount()
+     *                &amp;&amp; every edge weight of g is non-negative
+     */
+    public DijkstraEngine(IntDirectedGraph g, SymbolTable<T> nodes) {
+        if (g == null || nodes == null || nodes.size() != g.nodeCount()) {
+            throw new IllegalArgumentException("nodes should name every node of the graph");
+        }
+        // copied, so keys interned later do not leak into the engine
+        this.nodes = new SymbolTable<>();
+        offsets = new int[g.nodeCount() + 1];
+        for (int i = 0; i < g.nodeCount(); i++) {
+            this.nodes.intern(nodes.keyOf(i));
+            offsets[i + 1] = offsets[i] + g.degree(i);
+        }
+        targets = new int[g.edgeCount()];
+        weights = new double[g.edgeCount()];
+        for (int i = 0; i < g.nodeCount(); i++) {
+            for (int k = 0, e = offsets[i]; k < g.degree(i); k++, e++) {
+                targets[e] = g.target(i, k);
+                weights[e] = checkWeight(g.weight(i, k));
+            }
+        }
+    }
+
+    /**
+     * Gets the counters of the searches this engine has run.
+     *
+     * @return the live search counters of this engine
+     */
+    public SearchStats getStats() {
+        return stats;
+    }
+
+    /**
+     * Gets the number of nodes in the graph this engine searches.
+     *
+     * @return the number of nodes in the graph
+     */
+    public int nodeCount() {
+        return nodes.size();
+    }
+
+    /**
+     * Find the shortest path from one node to another node.
+     *
+     * @param source    the source node
+     * @param dest      the destination node
+     * @spec.requires   source != null &amp;&amp; dest != null &amp;&amp; source and dest nodes are in the graph
+     * @return          the shortest path in the format of MarvelPathsWeighted.Dijkstra: the first edge is
+     *                  (source, 0.0) and each following edge holds a node of the path and the weight of
+     *                  the edge reaching it; return null if no path exist
+     */
+    public List<DirectedGraph.LabeledEdge<T, Double>> shortestPath(T source, T dest) {
+        return shortestPath(source, dest, null);
+    }
+
+    /**
+     * Find the shortest path from one node to another node using A* search. The heuristic must
+     * be consistent: it never overestimates the remaining cost, and h(u, dest) &lt;= w(u, v) + h(v, dest)
+     * for every edge (u, v). With such a heuristic the result is as short as the one Dijkstra finds.
+     *
+     * @param source    the source node
+     * @param dest      the destination node
+     * @param heuristic estimates the remaining cost from a node to dest, or null for plain Dijkstra
+     * @spec.requires   source != null &amp;&amp; dest != null &amp;&amp; source and dest nodes are in the graph
+     * @return          the shortest path in the same format as shortestPath(source, dest),
+     *                  return null if no path exist
+     */
+    public List<DirectedGraph.LabeledEdge<T, Double>> shortestPath(T source, T dest,
+                                                                  ToDoubleBiFunction<? super T, ? super T> heuristic) {
+        int src = idOf(source);
+        int dst = idOf(dest);
+        int[] pred = new int[nodes.size()];
+        int[] predEdge = new int[nodes.size()];
+        if (!search(src, dst, heuristic, pred, predEdge)) {
+            return null;
+        }
+        LinkedList<DirectedGraph.LabeledEdge<T, Double>> path = new LinkedList<>();
+        for (int node = dst; node != src; node = pred[node]) {
+            path.addFirst(new DirectedGraph.LabeledEdge<>(nodes.keyOf(node), weights[predEdge[node]]));
+        }
+        stats.recordPath(path.size());
+        path.addFirst(new DirectedGraph.LabeledEdge<>(source, 0.0));
+        return new ArrayList<>(path);
+    }
+
+    /**
+     * Find the shortest path from one node to another node.
+     *
+     * @param source    the source node
+     * @param dest      the destination node
+     * @spec.requires   source != null &amp;&amp; dest != null &amp;&amp; source and dest nodes are in the graph
+     * @return          the shortest path from source to dest, return null if no path exist
+     */
+    public Path<T> findPath(T source, T dest) {
+        return findPath(source, dest, null);
+    }
+
+    /**
+     * Find the shortest path from one node to another node using A* search. The heuristic must be
+     * consistent, as described for shortestPath.
+     *
+     * @param source    the source node
+     * @param dest      the destination node
+     * @param heuristic estimates the remaining cost from a node to dest, or null for plain Dijkstra
+     * @spec.requires   source != null &amp;&amp; dest != null &amp;&amp; source and dest nodes are in the graph
+     * @return          the shortest path from source to dest, return null if no path exist
+     */
+    public Path<T> findPath(T source, T dest, ToDoubleBiFunction<? super T, ? super T> heuristic) {
+        int src = idOf(source);
+        int dst = idOf(dest);
+        int[] pred = new int[nodes.size()];
+        int[] predEdge = new int[nodes.size()];
+        if (!search(src, dst, heuristic, pred, predEdge)) {
+            return null;
+        }
+        return toPath(nodes, weights, src, dst, pred, predEdge, stats);
+    }
+
+    /**
+     * Find the shortest paths from one node to every node of the graph with a single search that
+     * runs until every reachable node is settled.
+     *
+     * @param source    the source node
+     * @spec.requires   source != null &amp;&amp; source is in the graph
+     * @return          the tree of the distances and shortest paths from source to every node
+     */
+    public ShortestPathTree<T> shortestPathTree(T source) {
+        int src = idOf(source);
+        double[] dist = new double[nodes.size()];
+        int[] pred = new int[nodes.size()];
+        int[] predEdge = new int[nodes.size()];
+        // no node is a target, so the search only stops once the frontier runs out
+        search(src, new boolean[nodes.size()], 0, null, null, dist, pred, predEdge);
+        return new ShortestPathTree<>(nodes, weights, src, dist, pred, predEdge);
+    }
+
+    /**
+     * Find the shortest paths from one node to each of several other nodes with a single search,
+     * which stops as soon as the last of them is settled.
+     *
+     * @param source    the source node
+     * @param dests     the destination nodes
+     * @spec.requires   source != null &amp;&amp; dests != null &amp;&amp; source and all of dests are in the graph
+     * @return          a map from each destination reachable from source to the shortest path to it
+     */
+    public Map<T, Path<T>> findPaths(T source, Collection<? extends T> dests) {
+        if (dests == null) {
+            throw new IllegalArgumentException("dests is null");
+        }
+        int src = idOf(source);
+        boolean[] isTarget = new boolean[nodes.size()];
+        int targetCount = 0;
+        for (T dest : dests) {
+            int dst = idOf(dest);
+            if (!isTarget[dst]) {
+                isTarget[dst] = true;
+                targetCount++;
+            }
+        }
+        Map<T, Path<T>> res = new HashMap<>();
+        if (targetCount == 0) {
+            return res;
+        }
+        int[] pred = new int[nodes.size()];
+        int[] predEdge = new int[nodes.size()];
+        boolean[] finished = search(src, isTarget, targetCount, null, null, new double[nodes.size()], pred, predEdge);
+        for (T dest : dests) {
+            int dst = nodes.idOf(dest);
+            if (finished[dst] && !res.containsKey(dest)) {
+                res.put(dest, toPath(nodes, weights, src, dst, pred, predEdge, stats));
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Runs Dijkstra's algorithm from src until dst is settled. With a heuristic, the frontier is
+     * ordered by distance plus the estimated remaining cost instead, which is A* search.
+     *
+     * @param src       the id of the source node
+     * @param dst       the id of the destination node
+     * @param heuristic estimates the remaining cost from a node to dest, or null for none
+     * @param pred      filled with the predecessor node id of every reached node
+     * @param predEdge  filled with the edge id used to reach every reached node
+     * @spec.modifies   pred, predEdge
+     * @return          true iff dst is reachable from src
+     */
+    private boolean search(int src, int dst, ToDoubleBiFunction<? super T, ? super T> heuristic,
+                           int[] pred, int[] predEdge) {
+        boolean[] isTarget = new boolean[nodes.size()];
+        isTarget[dst] = true;
+        return search(src, isTarget, 1, heuristic == null ? null : nodes.keyOf(dst), heuristic,
+                new double[nodes.size()], pred, predEdge)[dst];
+    }
+
+    /**
+     * Runs Dijkstra's algorithm from src until every target is settled or the frontier runs out;
+     * with no targets it settles every node reachable from src.
+     * With a heuristic, the frontier is ordered by distance plus the estimated remaining cost to
+     * goal instead, which is A* search toward goal.
+     *
+     * @param src       the id of the source node
+     * @param isTarget  flags the ids of the target nodes
+     * @param targetCount the number of distinct target nodes
+     * @param goal      the node the heuristic estimates the cost to, or null for none
+     * @param heuristic estimates the remaining cost from a node to goal, or null for none
+     * @param dist      filled with the distance of every node from src, infinite if not reached
+     * @param pred      filled with the predecessor node id of every reached node
+     * @param predEdge  filled with the edge id used to reach every reached node
+     * @spec.requires   heuristic == null || goal is the only target
+     * @spec.modifies   dist, pred, predEdge
+     * @return          flags the ids of the nodes whose shortest path from src is final
+     */
+    private boolean[] search(int src, boolean[] isTarget, int targetCount, T goal,
+                             ToDoubleBiFunction<? super T, ? super T> heuristic,
+                             double[] dist, int[] pred, int[] predEdge) {
+        boolean[] finished = new boolean[nodes.size()];
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        dist[src] = 0.0;
+        pred[src] = -1;
+        predEdge[src] = -1;
+        // the heuristic of each node, computed the first time the node is reached
+        double[] estimate = null;
+        if (heuristic != null) {
+            estimate = new double[nodes.size()];
+            Arrays.fill(estimate, Double.NaN);
+        }
+
+        int remaining = targetCount;
+        int settled = 0;
+        int pushes = 1;
+        IndexedMinHeap active = new IndexedMinHeap(nodes.size());
+        active.insertOrDecrease(src, 0.0);
+        while (!active.isEmpty()) {
+            int minNode = active.pollMin();
+            finished[minNode] = true;
+            settled++;
+            if (isTarget[minNode]) {
+                remaining--;
+                if (remaining == 0) {
+                    break;
+                }
+            }
+
+            for (int e = offsets[minNode]; e < offsets[minNode + 1]; e++) {
+                int next = targets[e];
+                double newDist = dist[minNode] + weights[e];
+                if (!finished[next] && newDist < dist[next]) {
+                    dist[next] = newDist;
+                    pred[next] = minNode;
+                    predEdge[next] = e;
+                    pushes++;
+                    if (estimate == null) {
+                        active.insertOrDecrease(next, newDist);
+                    } else {
+                        if (Double.isNaN(estimate[next])) {
+                            estimate[next] = heuristic.applyAsDouble(nodes.keyOf(next), goal);
+                        }
+                        active.insertOrDecrease(next, newDist + estimate[next]);
+                    }
+                }
+            }
+        }
+        stats.recordSearch(settled, pushes);
+        return finished;
+    }
+
+    /**
+     * Rebuilds the path to dst by walking predecessors back to src.
+     *
+     * @param nodes     the key of every node id
+     * @param weights   the weight of every edge id
+     * @param src       the id of the source node
+     * @param dst       the id of the destination node
+     * @param pred      the predecessor node id of every reached node
+     * @param predEdge  the edge id used to reach every reached node
+     * @param stats     records the length of the path, or null for none
+     * @spec.requires   dst was reached from src
+     * @param <T>       generic type representing the node
+     * @return          the path from src to dst
+     */
+    static <T> Path<T> toPath(SymbolTable<T> nodes, double[] weights, int src, int dst, int[] pred, int[] predEdge,
+                              SearchStats stats) {
+        int length = 0;
+        for (int node = dst; node != src; node = pred[node]) {
+            length++;
+        }
+        int[] hops = new int[length];
+        for (int node = dst, i = length - 1; node != src; node = pred[node], i--) {
+            hops[i] = node;
+        }
+        Path<T> res = new Path<>(nodes.keyOf(src));
+        for (int node : hops) {
+            res = res.extend(nodes.keyOf(node), weights[predEdge[node]]);
+        }
+        if (stats != null) {
+            stats.recordPath(length);
+        }
+        return res;
+    }
+
+    /**
+     * Gets the id of a node of the graph.
+     *
+     * @param node the node to look up
+     * @return the id of the node
+     * @throws IllegalArgumentException if node is null or not in the graph
+     */
+    private int idOf(T node) {
+        if (node == null || !nodes.contains(node)) {
+            throw new IllegalArgumentException("node should be in the graph");
+        }
+        return nodes.idOf(node);
+    }
+
+    /**
+     * Checks that an edge weight can be searched.
+     *
+     * @param weight the weight of an edge
+     * @return weight
+     * @throws IllegalArgumentException if weight is negative or NaN
+     */
+    private static double checkWeight(double weight) {
+        if (!(weight >= 0)) {
+            throw new IllegalArgumentException("edge weights must be non-negative");
+        }
+        return weight;
+    }
+
+    /**
+     * Freezes a graph, rejecting null.
+     *
+     * @param g the graph to be frozen
+     * @param <T> generic type representing the node
+     * @param <E> generic type representing the edge weight
+     * @return the frozen graph
+     */
+    private static <T, E extends Number> FrozenGraph<T, E> freeze(DirectedGraph<T, E> g) {
+        if (g == null) {
+            throw new IllegalArgumentException("graph is null");
+        }
+        return g.freeze();
+    }
+}
@@ -0,0 +1,133 @@
+package pathfinder;
+
+import graph.DirectedGraph;
+import graph.IntDirectedGraph;
+import graph.SymbolTable;
+import pathfinder.datastructures.Point;
+
+import java.util.function.ToDoubleBiFunction;
+
+/**
+ * EuclideanHeuristic estimates the remaining cost between two campus points as their straight-line
+ * distance, scaled so that the estimate never exceeds the true cost of any path.
+ *
+ * <p>Campus path distances are measured in different units from the map coordinates, so the
+ * scale is fitted to the graph: it is the smallest ratio of an edge's weight to the straight-line
+ * length of that edge. Every edge then costs at least scale times its length, so by the triangle
+ * inequality the estimate is consistent and A* with it returns optimal paths.
+ */
+public class EuclideanHeuristic implements ToDoubleBiFunction<Point, Point> {
+
+    // Rep invariant:
+    // scale >= 0 && scale is finite
+
+    // Abstract Function:
+    // AF(this) = the heuristic h(a, b) = scale * |a - b|
+
+    /**
+     * Relative slack kept below the fitted scale, so that rounding in the weights can not make the
+     * estimate overshoot.
+     */
+    private static final double SLACK = 1e-9;
+
+    private final double scale;
+
+    /**
+     * Creates a heuristic with the given scale.
+     *
+     * @param scale the cost of one unit of straight-line distance
+     * @spec.requires scale &gt;= 0 &amp;&amp; scale is finite
+     */
+    public EuclideanHeuristic(double scale) {
+        if (!(scale >= 0) || Double.isInfinite(scale)) {
+            throw new IllegalArgumentException("scale should be non-negative and finite");
+        }
+        this.scale = scale;
+    }
+
+    /**
+     * Creates the tightest consistent heuristic for the given graph.
+     *
+     * @param g the graph of campus paths
+     * @spec.requires g != null
+     * @return a heuristic whose scale is the smallest weight-to-length ratio over the edges of g
+     */
+    public static EuclideanHeuristic fit(DirectedGraph<Point, Double> g) {
+        if (g == null) {
+            throw new IllegalArgumentException("graph is null");
+        }
+        double minRatio = Double.POSITIVE_INFINITY;
+        for (Point source : g.getAllNodes()) {
+            for (DirectedGraph.LabeledEdge<Point, Double> le : g.edgesOf(source)) {
+                double length = distance(source, le.getDest());
+                if (length > 0) {
+                    minRatio = Math.min(minRatio, le.getEdgeLabel() / length);
+                }
+            }
+        }
+        return fromRatio(minRatio);
+    }
+
+    /**
+     * Creates the tightest consistent heuristic for the given int graph, whose node i is located at
+     * points.keyOf(i).
+     *
+     * @param g the graph of campus paths
+     * @param points the location of every node of g
+     * @spec.requires g != null &amp;&amp; points != null &amp;&amp; points.size() &gt;= g.nodeCount()
+     * @return a heuristic whose scale is the smallest weight-to-length ratio over the edges of g
+     */
+    public static EuclideanHeuristic fit(IntDirectedGraph g, SymbolTable<Point> points) {
+        if (g == null || points == null || points.size() < g.nodeCount()) {
+            throw new IllegalArgumentException("points should locate every node of the graph");
+        }
+        double minRatio = Double.POSITIVE_INFINITY;
+        for (int source = 0; source < g.nodeCount(); source++) {
+            for (int k = 0; k < g.degree(source); k++) {
+                double length = distance(points.keyOf(source), points.keyOf(g.target(source, k)));
+                if (length > 0) {
+                    minRatio = Math.min(minRatio, g.weight(source, k) / length);
+                }
+            }
+        }
+        return fromRatio(minRatio);
+    }
+
+    /**
+     * Creates the heuristic for the smallest weight-to-length ratio of a graph.
+     *
+     * @param minRatio the smallest ratio, or infinity if no edge has a positive length
+     * @return a heuristic whose scale is just below minRatio, or 0 if minRatio is infinite
+     */
+    private static EuclideanHeuristic fromRatio(double minRatio) {
+        if (Double.isInfinite(minRatio)) {
+            return new EuclideanHeuristic(0);
+        }
+        return new EuclideanHeuristic(minRatio * (1 - SLACK));
+    }
+
+    /**
+     * Gets the cost of one unit of straight-line distance.
+     *
+     * @return the scale of this heuristic
+     */
+    public double getScale() {
+        return scale;
+    }
+
+    @Override
+    public double applyAsDouble(Point from, Point to) {
+        return scale * distance(from, to);
+    }
+
+    /**
+     * Straight-line distance between two points.
+     *
+     * @param a one point
+     * @param b the other point
+     * @return the Euclidean distance between a and b
+     */
+    private static double distance(Point a, Point b) {
+        return Math.hypot(a.getX() - b.getX(), a.getY() - b.getY());
+    }
+}
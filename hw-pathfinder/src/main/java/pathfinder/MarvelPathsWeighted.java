@@ -1,8 +1,10 @@
 package pathfinder;
 
 import graph.DirectedGraph;
+import graph.FrozenGraph;
 
-import java.util.*;
+import java.util.List;
+import java.util.function.ToDoubleBiFunction;
 
 /**
  * MarvelPathsWeighted class reads data from a file, and use the data to build a graph,
@@ -12,7 +14,9 @@ import java.util.*;
 public class MarvelPathsWeighted {
 
     /**
-     * Find the shortest path from one node to another node using Dijkstra's algorithm.
+     * Find the shortest path from one node to another node using Dijkstra's algorithm. The graph is
+     * frozen for the search; callers running many queries over the same graph should keep a
+     * DijkstraEngine instead.
      *
      * @param g         the graph to find the shortest path between two nodes
      * @param source    the source node
@@ -28,43 +32,67 @@ public class MarvelPathsWeighted {
             throw new IllegalArgumentException();
         }
 
-        Queue<ArrayList<DirectedGraph.LabeledEdge<T, Double>>> active = new PriorityQueue<>((o1, o2) -> {
-            double sum1 = o1.stream().mapToDouble(DirectedGraph.LabeledEdge::getEdgeLabel).sum();
-            double sum2 = o2.stream().mapToDouble(DirectedGraph.LabeledEdge::getEdgeLabel).sum();
-            if (sum1 - sum2 > 0) {
-                return 1;
-            } else if (sum1 - sum2 < 0) {
-                return -1;
-            } else {
-                return 0;
-            }
-        });
-        Set<T> finished = new HashSet<>();
-
-        List<DirectedGraph.LabeledEdge<T, Double>> init = new ArrayList<>();
-        init.add(new DirectedGraph.LabeledEdge<>(source, 0.0));
-        active.add(new ArrayList<>(init));
+        return new DijkstraEngine<>(g.freeze()).shortestPath(source, dest);
+    }
 
-        while (!active.isEmpty()) {
-            List<DirectedGraph.LabeledEdge<T, Double>> minPath = active.remove();
-            T minDest = minPath.get(minPath.size() - 1).getDest();
-            if (minDest.equals(dest)) {
-                return minPath;
-            }
+    /**
+     * Find the shortest path from one node to another node using Dijkstra's algorithm over a frozen graph.
+     * Callers running many queries over the same graph should keep a DijkstraEngine instead, which
+     * unboxes the edge weights only once.
+     *
+     * @param g         the frozen graph to find the shortest path between two nodes
+     * @param source    the source node
+     * @param dest      the destination node
+     * @param <T>       generic type representing the node
+     * @param <E>       generic type representing the edge weight
+     * @spec.requires   graph != null &amp;&amp; source != null &amp;&amp; dest != null &amp;&amp;
+     *                  source and dest nodes are in the graph
+     * @return          the shortest path from source node to the destination node, return null if no path exist
+     */
+    public static <T, E extends Number> List<DirectedGraph.LabeledEdge<T, Double>> frozenDijkstra (FrozenGraph<T, E> g, T source, T dest) {
+        if (g == null || source == null || dest == null || !g.containsNode(source) || !g.containsNode(dest)) {
+            throw new IllegalArgumentException();
+        }
+        return new DijkstraEngine<>(g).shortestPath(source, dest);
+    }
 
-            if (finished.contains(minDest)) {
-                continue;
-            }
+    /**
+     * Find the shortest path from one node to another node using A* search, which only differs from
+     * Dijkstra's algorithm in ordering the frontier by distance plus an estimate of the remaining cost.
+     *
+     * @param g         the graph to find the shortest path between two nodes
+     * @param source    the source node
+     * @param dest      the destination node
+     * @param heuristic a consistent estimate of the remaining cost from a node to dest
+     * @param <T>       generic type representing the node
+     * @param <E>       generic type representing the edge weight
+     * @spec.requires   graph != null &amp;&amp; source != null &amp;&amp; dest != null &amp;&amp; heuristic != null &amp;&amp;
+     *                  source and dest nodes are in the graph
+     * @return          the shortest path from source node to the destination node, return null if no path exist
+     */
+    public static <T, E extends Number> List<DirectedGraph.LabeledEdge<T, Double>> AStar (DirectedGraph<T, E> g, T source, T dest,
+                                                                                         ToDoubleBiFunction<? super T, ? super T> heuristic) {
+        if (g == null || source == null || dest == null || heuristic == null || !g.containsNode(source) || !g.containsNode(dest)) {
+            throw new IllegalArgumentException();
+        }
+        return new DijkstraEngine<>(g.freeze()).shortestPath(source, dest, heuristic);
+    }
 
-            for (DirectedGraph.LabeledEdge<T, E> le : g.getEdges(minDest)) {
-                if (!finished.contains(le.getDest())) {
-                    ArrayList<DirectedGraph.LabeledEdge<T, Double>> newPath = new ArrayList<>(minPath);
-                    newPath.add(new DirectedGraph.LabeledEdge<>(le.getDest(), le.getEdgeLabel().doubleValue()));
-                    active.add(newPath);
-                }
-            }
-            finished.add(minDest);
+    /**
+     * Find the shortest paths from one node to every node of the graph using Dijkstra's algorithm,
+     * searching the whole graph once instead of stopping at a single destination.
+     *
+     * @param g         the graph to find the shortest paths in
+     * @param source    the source node
+     * @param <T>       generic type representing the node
+     * @param <E>       generic type representing the edge weight
+     * @spec.requires   graph != null &amp;&amp; source != null &amp;&amp; source node is in the graph
+     * @return          the tree of the distances and shortest paths from source to every node
+     */
+    public static <T, E extends Number> ShortestPathTree<T> shortestPathTree (DirectedGraph<T, E> g, T source) {
+        if (g == null || source == null || !g.containsNode(source)) {
+            throw new IllegalArgumentException();
         }
-        return null;
+        return new DijkstraEngine<>(g.freeze()).shortestPathTree(source);
     }
 }
@@ -14,6 +14,8 @@ package pathfinder;
 import pathfinder.datastructures.Path;
 import pathfinder.datastructures.Point;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 /*
@@ -71,4 +73,46 @@ public interface ModelAPI {
     // You'll need to change this return type to use the generic Path once you've
     // updated the Path ADT to be generic.
 
+    /**
+     * Finds the shortest paths, by distance, between many pairs of buildings: the i-th path is the
+     * one findShortestPath would return from the i-th start building to the i-th end building.
+     * Models may answer the pairs sharing a start building together and in parallel; this
+     * default asks findShortestPath for each pair in turn.
+     *
+     * @param startShortNames The short names of the buildings at the beginning of the paths.
+     * @param endShortNames   The short names of the buildings at the end of the paths.
+     * @return The paths between each pair of buildings, in the order of the pairs.
+     * @throws IllegalArgumentException if either list is {@literal null}, the lists differ in size,
+     *                                  or any of the names are {@literal null} or not valid short
+     *                                  names of buildings in this campus map.
+     */
+    public default List<Path<Point>> findShortestPaths(List<String> startShortNames, List<String> endShortNames) {
+        checkRoutes(startShortNames, endShortNames);
+        List<Path<Point>> res = new ArrayList<>(startShortNames.size());
+        for (int i = 0; i < startShortNames.size(); i++) {
+            res.add(findShortestPath(startShortNames.get(i), endShortNames.get(i)));
+        }
+        return res;
+    }
+
+    /**
+     * Checks the arguments of findShortestPaths.
+     *
+     * @param startShortNames The short names of the buildings at the beginning of the paths.
+     * @param endShortNames   The short names of the buildings at the end of the paths.
+     * @throws IllegalArgumentException if findShortestPaths would reject the arguments.
+     */
+    private void checkRoutes(List<String> startShortNames, List<String> endShortNames) {
+        if (startShortNames == null || endShortNames == null || startShortNames.size() != endShortNames.size()) {
+            throw new IllegalArgumentException("start and end names should be lists of the same size");
+        }
+        for (int i = 0; i < startShortNames.size(); i++) {
+            String start = startShortNames.get(i);
+            String end = endShortNames.get(i);
+            if (start == null || end == null || !shortNameExists(start) || !shortNameExists(end)) {
+                throw new IllegalArgumentException("not a building: " + start + " or " + end);
+            }
+        }
+    }
+
 }
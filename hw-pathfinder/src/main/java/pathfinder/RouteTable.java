@@ -0,0 +1,96 @@
+package pathfinder;
+
+import pathfinder.datastructures.Path;
+import pathfinder.datastructures.Point;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * RouteTable is an immutable table of the shortest path between every ordered pair of campus
+ * buildings. It is filled at construction by one single-source search per building, run in
+ * parallel, after which every lookup is a pair of array indexes.
+ */
+public class RouteTable {
+
+    // Rep invariant:
+    // index != null && routes != null && routes.length == index.size()
+    // && every routes[i].length == index.size()
+    // && every key and value of index are not null && the values of index are 0 ... index.size() - 1
+
+    // Abstract Function:
+    // AF(this) = a table of routes such that
+    //      the route from building a to building b = routes[index.get(a)][index.get(b)],
+    //      or null if b can not be reached from a
+
+    private final Map<String, Integer> index;
+    private final Path<Point>[][] routes;
+
+    /**
+     * Computes the route between every ordered pair of the given buildings.
+     *
+     * @param engine    the shortest path engine over the campus paths
+     * @param buildings a map of buildings' short names to locations
+     * @spec.requires engine != null &amp;&amp; buildings != null &amp;&amp; every location is in the graph of engine
+     */
+    @SuppressWarnings("unchecked")
+    public RouteTable(DijkstraEngine<Point> engine, Map<String, Point> buildings) {
+        if (engine == null || buildings == null) {
+            throw new IllegalArgumentException("engine and buildings should not be null");
+        }
+        List<String> names = new ArrayList<>(buildings.keySet());
+        index = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            index.put(names.get(i), i);
+        }
+        routes = (Path<Point>[][]) new Path<?>[names.size()][];
+        IntStream.range(0, names.size()).parallel().forEach(i -> {
+            Point start = buildings.get(names.get(i));
+            Map<Point, Path<Point>> fromStart = engine.findPaths(start, buildings.values());
+            Path<Point>[] row = (Path<Point>[]) new Path<?>[names.size()];
+            for (int j = 0; j < names.size(); j++) {
+                row[j] = fromStart.get(buildings.get(names.get(j)));
+            }
+            routes[i] = row;
+        });
+    }
+
+    /**
+     * Checks if the building is in this table.
+     *
+     * @param shortName the short name of a building
+     * @return true iff the building is in this table
+     */
+    public boolean contains(String shortName) {
+        return index.containsKey(shortName);
+    }
+
+    /**
+     * Looks up the shortest path between two buildings.
+     *
+     * @param startShortName the short name of the building at the beginning of the path
+     * @param endShortName   the short name of the building at the end of the path
+     * @return the shortest path between the two buildings, or null if either building is not in
+     *         this table or no path exists
+     */
+    public Path<Point> get(String startShortName, String endShortName) {
+        Integer i = index.get(startShortName);
+        Integer j = index.get(endShortName);
+        if (i == null || j == null) {
+            return null;
+        }
+        return routes[i][j];
+    }
+
+    /**
+     * Gets the number of buildings in this table.
+     *
+     * @return the number of buildings in this table
+     */
+    public int size() {
+        return index.size();
+    }
+}
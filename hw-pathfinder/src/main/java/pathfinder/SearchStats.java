@@ -0,0 +1,83 @@
+package pathfinder;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * SearchStats counts the work done by the shortest path searches of one engine: how many searches
+ * ran, how many nodes they settled and pushed onto their heaps, and how many segments the paths
+ * they returned had. Each search adds its totals once when it finishes, so the counters cost
+ * nothing inside the search loop, and concurrent searches can record without contending.
+ */
+public final class SearchStats {
+
+    private final LongAdder searches = new LongAdder();
+    private final LongAdder nodesSettled = new LongAdder();
+    private final LongAdder heapPushes = new LongAdder();
+    private final LongAdder paths = new LongAdder();
+    private final LongAdder pathSegments = new LongAdder();
+
+    /**
+     * Records one finished search.
+     *
+     * @param settled the number of nodes the search settled
+     * @param pushes  the number of times the search added or lowered a node on its heap
+     * @spec.modifies this
+     */
+    void recordSearch(int settled, int pushes) {
+        searches.increment();
+        nodesSettled.add(settled);
+        heapPushes.add(pushes);
+    }
+
+    /**
+     * Records one path returned by a search.
+     *
+     * @param segments the number of segments in the path
+     * @spec.modifies this
+     */
+    void recordPath(int segments) {
+        paths.increment();
+        pathSegments.add(segments);
+    }
+
+    /**
+     * @return the number of searches run
+     */
+    public long getSearches() {
+        return searches.sum();
+    }
+
+    /**
+     * @return the number of nodes settled over all searches
+     */
+    public long getNodesSettled() {
+        return nodesSettled.sum();
+    }
+
+    /**
+     * @return the number of heap insertions and decrease-keys over all searches
+     */
+    public long getHeapPushes() {
+        return heapPushes.sum();
+    }
+
+    /**
+     * @return the number of paths returned
+     */
+    public long getPaths() {
+        return paths.sum();
+    }
+
+    /**
+     * @return the number of segments over all paths returned
+     */
+    public long getPathSegments() {
+        return pathSegments.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "searches=" + getSearches() + " settled=" + getNodesSettled() + " pushes=" + getHeapPushes()
+                + " paths=" + getPaths() + " segments=" + getPathSegments();
+    }
+}
@@ -0,0 +1,153 @@
+package pathfinder;
+
+import graph.SymbolTable;
+import pathfinder.datastructures.Path;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ShortestPathTree is the immutable result of a single-source shortest path search: the distance
+ * from the source to every node of the graph, and the predecessor of every reached node on a
+ * shortest path to it. Any number of paths can be pulled out of the tree without searching again.
+ *
+ * @param <T> generic type representing the node
+ */
+public final class ShortestPathTree<T> {
+
+    // Rep invariant:
+    // nodes != null && weights != null && dist != null && pred != null && predEdge != null
+    // && dist.length == pred.length == predEdge.length == nodes.size()
+    // && 0 <= source < nodes.size() && dist[source] == 0 && pred[source] == -1
+    // && for all reached i != source, dist[i] == dist[pred[i]] + weights[predEdge[i]]
+    // && for all unreached i, dist[i] == +infinity
+
+    // Abstract Function:
+    // AF(this) = a shortest path tree rooted at nodes.keyOf(source) such that
+    //      the distance to nodes.keyOf(i) = dist[i], infinite if it can not be reached
+    //      the parent of nodes.keyOf(i) = nodes.keyOf(pred[i]), reached over an edge of weight weights[predEdge[i]]
+
+    private final SymbolTable<T> nodes;
+    private final double[] weights;
+    private final int source;
+    private final double[] dist;
+    private final int[] pred;
+    private final int[] predEdge;
+
+    /**
+     * Wraps the arrays filled by a search of a DijkstraEngine. The arrays are kept, not copied.
+     *
+     * @param nodes    the key of every node id of the graph
+     * @param weights  the weight of every edge id of the graph
+     * @param source   the id of the source node
+     * @param dist     the distance of every node id from source
+     * @param pred     the predecessor node id of every reached node id
+     * @param predEdge the edge id used to reach every reached node id
+     * @spec.requires the arguments satisfy the rep invariant
+     */
+    ShortestPathTree(SymbolTable<T> nodes, double[] weights, int source, double[] dist, int[] pred, int[] predEdge) {
+        this.nodes = nodes;
+        this.weights = weights;
+        this.source = source;
+        this.dist = dist;
+        this.pred = pred;
+        this.predEdge = predEdge;
+    }
+
+    /**
+     * Gets the source node of this tree.
+     *
+     * @return the node every path of this tree starts at
+     */
+    public T getSource() {
+        return nodes.keyOf(source);
+    }
+
+    /**
+     * Checks if a node can be reached from the source.
+     *
+     * @param node the node to check
+     * @return true iff node is in the graph and there is a path from the source to it
+     */
+    public boolean isReachable(T node) {
+        return node != null && nodes.contains(node) && dist[nodes.idOf(node)] != Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Gets the length of the shortest path from the source to a node.
+     *
+     * @param node the node to find the distance to
+     * @spec.requires node != null &amp;&amp; node is in the graph
+     * @return the cost of the shortest path from the source to node, or
+     *         Double.POSITIVE_INFINITY if node can not be reached
+     */
+    public double distanceTo(T node) {
+        return dist[idOf(node)];
+    }
+
+    /**
+     * Gets the node just before the given one on the shortest path from the source to it.
+     *
+     * @param node the node to find the predecessor of
+     * @spec.requires node != null &amp;&amp; node is in the graph
+     * @return the parent of node in this tree, or null if node is the source or can not be reached
+     */
+    public T predecessorOf(T node) {
+        int id = idOf(node);
+        if (id == source || dist[id] == Double.POSITIVE_INFINITY) {
+            return null;
+        }
+        return nodes.keyOf(pred[id]);
+    }
+
+    /**
+     * Gets the shortest path from the source to a node.
+     *
+     * @param node the node at the end of the path
+     * @spec.requires node != null &amp;&amp; node is in the graph
+     * @return the shortest path from the source to node, or null if node can not be reached
+     */
+    public Path<T> pathTo(T node) {
+        int id = idOf(node);
+        if (dist[id] == Double.POSITIVE_INFINITY) {
+            return null;
+        }
+        return DijkstraEngine.toPath(nodes, weights, source, id, pred, predEdge, null);
+    }
+
+    /**
+     * Gets every node that can be reached from the source, nearest first.
+     *
+     * @return the reachable nodes in order of non-decreasing distance, starting with the source
+     */
+    public List<T> reachableNodes() {
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < dist.length; i++) {
+            if (dist[i] != Double.POSITIVE_INFINITY) {
+                ids.add(i);
+            }
+        }
+        // the source goes first even when zero-weight edges tie other nodes with it
+        ids.sort((a, b) -> dist[a] != dist[b] ? Double.compare(dist[a], dist[b])
+                : Boolean.compare(b == source, a == source));
+        List<T> res = new ArrayList<>(ids.size());
+        for (int id : ids) {
+            res.add(nodes.keyOf(id));
+        }
+        return res;
+    }
+
+    /**
+     * Gets the id of a node of the graph.
+     *
+     * @param node the node to look up
+     * @return the id of the node
+     * @throws IllegalArgumentException if node is null or not in the graph
+     */
+    private int idOf(T node) {
+        if (node == null || !nodes.contains(node)) {
+            throw new IllegalArgumentException("node should be in the graph");
+        }
+        return nodes.idOf(node);
+    }
+}
@@ -0,0 +1,229 @@
+package pathfinder.datastructures;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * This represents a mutable binary min-heap of int keys in the range [0, capacity), each with a
+ * double priority. Because every key knows its own position in the heap, the priority of a key
+ * already in the heap can be lowered in O(log n) without searching for it, which is the
+ * decrease-key step Dijkstra's algorithm needs.
+ */
+public class IndexedMinHeap {
+
+    // AF(this) =
+    //      the keys in the heap => heap[0], ..., heap[size - 1]
+    //      the priority of a key k in the heap => priority[k]
+    //      the key with the smallest priority => heap[0]
+
+    // Rep Invariant:
+    //      heap != null && pos != null && priority != null &&
+    //      heap.length == pos.length == priority.length &&
+    //      0 <= size <= heap.length &&
+    //      for all 0 <= i < size, pos[heap[i]] == i &&
+    //      for all keys k not in heap[0..size), pos[k] == -1 &&
+    //      for all 0 < i < size, priority[heap[(i - 1) / 2]] <= priority[heap[i]]
+
+    /**
+     * The keys in heap order.
+     */
+    private final int[] heap;
+
+    /**
+     * The index of each key in heap, or -1 if the key is not in the heap.
+     */
+    private final int[] pos;
+
+    /**
+     * The priority of each key currently in the heap.
+     */
+    private final double[] priority;
+
+    /**
+     * The number of keys currently in the heap.
+     */
+    private int size;
+
+    /**
+     * Creates an empty heap able to hold the keys 0 through capacity - 1.
+     *
+     * @param capacity The number of distinct keys this heap can hold.
+     * @throws IllegalArgumentException if capacity is negative.
+     */
+    public IndexedMinHeap(int capacity) {
+        if(capacity < 0) {
+            throw new IllegalArgumentException("Capacity cannot be negative.");
+        }
+        this.heap = new int[capacity];
+        this.pos = new int[capacity];
+        this.priority = new double[capacity];
+        Arrays.fill(pos, -1);
+        this.size = 0;
+        checkRep();
+    }
+
+    /**
+     * @return {@literal true} iff there are no keys in this heap.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return The number of keys in this heap.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param key The key to look for.
+     * @return {@literal true} iff the key is currently in this heap.
+     */
+    public boolean contains(int key) {
+        return pos[key] != -1;
+    }
+
+    /**
+     * @param key A key currently in this heap.
+     * @return The priority of the key.
+     * @throws NoSuchElementException if the key is not in this heap.
+     */
+    public double priorityOf(int key) {
+        if(!contains(key)) {
+            throw new NoSuchElementException("Key " + key + " is not in the heap.");
+        }
+        return priority[key];
+    }
+
+    /**
+     * Adds a key that is not yet in the heap, or lowers the priority of a key that already is.
+     * A priority that is not lower than the key's current one is ignored.
+     *
+     * @param key      The key to add or update.
+     * @param newPriority The new priority of the key.
+     * @return {@literal true} iff the heap was changed.
+     * @spec.modifies this
+     */
+    public boolean insertOrDecrease(int key, double newPriority) {
+        if(pos[key] == -1) {
+            pos[key] = size;
+            heap[size] = key;
+            size++;
+        } else if(newPriority >= priority[key]) {
+            return false;
+        }
+        priority[key] = newPriority;
+        siftUp(pos[key]);
+        checkRep();
+        return true;
+    }
+
+    /**
+     * @return The key with the smallest priority, which stays in this heap.
+     * @throws NoSuchElementException if the heap is empty.
+     */
+    public int peekMin() {
+        if(size == 0) {
+            throw new NoSuchElementException("Heap is empty.");
+        }
+        return heap[0];
+    }
+
+    /**
+     * Removes the key with the smallest priority from this heap.
+     *
+     * @return The key that had the smallest priority.
+     * @throws NoSuchElementException if the heap is empty.
+     * @spec.modifies this
+     */
+    public int pollMin() {
+        if(size == 0) {
+            throw new NoSuchElementException("Heap is empty.");
+        }
+        int min = heap[0];
+        size--;
+        pos[min] = -1;
+        if(size > 0) {
+            heap[0] = heap[size];
+            pos[heap[0]] = 0;
+            siftDown(0);
+        }
+        checkRep();
+        return min;
+    }
+
+    /**
+     * Removes every key from this heap so that it can be reused.
+     *
+     * @spec.modifies this
+     */
+    public void clear() {
+        for(int i = 0; i < size; i++) {
+            pos[heap[i]] = -1;
+        }
+        size = 0;
+        checkRep();
+    }
+
+    /**
+     * Moves the key at index i up until its parent has no larger priority.
+     *
+     * @param i The index in heap of the key to move.
+     */
+    private void siftUp(int i) {
+        int key = heap[i];
+        double p = priority[key];
+        while(i > 0) {
+            int parent = (i - 1) >>> 1;
+            int parentKey = heap[parent];
+            if(priority[parentKey] <= p) {
+                break;
+            }
+            heap[i] = parentKey;
+            pos[parentKey] = i;
+            i = parent;
+        }
+        heap[i] = key;
+        pos[key] = i;
+    }
+
+    /**
+     * Moves the key at index i down until neither child has a smaller priority.
+     *
+     * @param i The index in heap of the key to move.
+     */
+    private void siftDown(int i) {
+        int key = heap[i];
+        double p = priority[key];
+        while(true) {
+            int child = 2 * i + 1;
+            if(child >= size) {
+                break;
+            }
+            if(child + 1 < size && priority[heap[child + 1]] < priority[heap[child]]) {
+                child++;
+            }
+            int childKey = heap[child];
+            if(priority[childKey] >= p) {
+                break;
+            }
+            heap[i] = childKey;
+            pos[childKey] = i;
+            i = child;
+        }
+        heap[i] = key;
+        pos[key] = i;
+    }
+
+    /**
+     * Ensures that the representation invariant has not been violated. Returns normally if
+     * there is no violation. Only the cheap bounds are checked here; the full heap order
+     * check would make every operation linear.
+     */
+    private void checkRep() {
+        assert heap.length == pos.length && pos.length == priority.length;
+        assert size >= 0 && size <= heap.length;
+        assert size == 0 || pos[heap[0]] == 0;
+    }
+}
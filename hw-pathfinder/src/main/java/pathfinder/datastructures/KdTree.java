@@ -0,0 +1,213 @@
+package pathfinder.datastructures;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Function;
+
+/**
+ * This represents an immutable 2-d tree of values located at Points, answering nearest neighbor
+ * queries by straight-line distance. The tree is stored implicitly in one array: the values in
+ * [lo, hi) form a subtree whose root is the middle one, split on x at even depths and on y at odd
+ * depths, with the lower half before it and the upper half after it. A query walks down the side
+ * of each split holding the query point first and only visits the other side when the split line
+ * is closer than the farthest of the best values found so far, which takes logarithmic time for
+ * points spread over the plane.
+ *
+ * @param <V> the type of the values in the tree
+ */
+public class KdTree<V> {
+
+    // AF(this) =
+    //      the values in the tree => values[0], ..., values[values.length - 1]
+    //      the location of values[i] => (xs[i], ys[i])
+
+    // Rep Invariant:
+    //      values != null && xs != null && ys != null &&
+    //      values.length == xs.length == ys.length &&
+    //      for every subtree [lo, hi) at depth d with root mid = (lo + hi) / 2, every value in
+    //      [lo, mid) is no greater and every value in (mid, hi) no smaller than values[mid] on
+    //      the axis of d (x if d is even, y if d is odd)
+
+    /**
+     * The values in tree order.
+     */
+    private final Object[] values;
+
+    /**
+     * The x coordinate of each value.
+     */
+    private final double[] xs;
+
+    /**
+     * The y coordinate of each value.
+     */
+    private final double[] ys;
+
+    /**
+     * Builds a tree of the given values.
+     *
+     * @param values   The values to put in the tree.
+     * @param location Gives the location of each value.
+     * @throws IllegalArgumentException if values or location is null, or any value or its location is null.
+     */
+    public KdTree(Collection<? extends V> values, Function<? super V, Point> location) {
+        if(values == null || location == null) {
+            throw new IllegalArgumentException("values and location cannot be null.");
+        }
+        List<Entry> entries = new ArrayList<>(values.size());
+        for(V value : values) {
+            Point point = value == null ? null : location.apply(value);
+            if(point == null) {
+                throw new IllegalArgumentException("Every value needs a location.");
+            }
+            entries.add(new Entry(value, point.getX(), point.getY()));
+        }
+        build(entries, 0, entries.size(), 0);
+        this.values = new Object[entries.size()];
+        this.xs = new double[entries.size()];
+        this.ys = new double[entries.size()];
+        for(int i = 0; i < entries.size(); i++) {
+            this.values[i] = entries.get(i).value;
+            this.xs[i] = entries.get(i).x;
+            this.ys[i] = entries.get(i).y;
+        }
+    }
+
+    /**
+     * @return The number of values in this tree.
+     */
+    public int size() {
+        return values.length;
+    }
+
+    /**
+     * Finds the value closest to a location.
+     *
+     * @param x The x coordinate of the location.
+     * @param y The y coordinate of the location.
+     * @return The value nearest to (x, y), or {@literal null} if this tree is empty.
+     */
+    public V nearest(double x, double y) {
+        List<V> res = nearest(x, y, 1);
+        return res.isEmpty() ? null : res.get(0);
+    }
+
+    /**
+     * Finds the k values closest to a location.
+     *
+     * @param x The x coordinate of the location.
+     * @param y The y coordinate of the location.
+     * @param k The number of values to find.
+     * @return The min(k, size()) values nearest to (x, y), from nearest to farthest.
+     * @throws IllegalArgumentException if k is negative.
+     */
+    @SuppressWarnings("unchecked")
+    public List<V> nearest(double x, double y, int k) {
+        if(k < 0) {
+            throw new IllegalArgumentException("k cannot be negative.");
+        }
+        if(k == 0 || values.length == 0) {
+            return new ArrayList<>();
+        }
+        // the best indexes found so far, farthest first so the worst one is dropped when a closer one appears
+        PriorityQueue<Integer> best = new PriorityQueue<>(k + 1,
+                Comparator.comparingDouble((Integer i) -> distanceSquared(i, x, y)).reversed());
+        search(0, values.length, 0, x, y, k, best);
+        List<V> res = new ArrayList<>(best.size());
+        while(!best.isEmpty()) {
+            res.add((V) values[best.poll()]);
+        }
+        Collections.reverse(res);
+        return res;
+    }
+
+    /**
+     * Collects the nearest values of one subtree.
+     *
+     * @param lo    The first index of the subtree.
+     * @param hi    One past the last index of the subtree.
+     * @param depth The depth of the subtree's root.
+     * @param x     The x coordinate of the query.
+     * @param y     The y coordinate of the query.
+     * @param k     The number of values to find.
+     * @param best  The indexes of the nearest values found so far, at most k of them.
+     * @spec.modifies best
+     */
+    private void search(int lo, int hi, int depth, double x, double y, int k, PriorityQueue<Integer> best) {
+        if(lo >= hi) {
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        best.add(mid);
+        if(best.size() > k) {
+            best.poll();
+        }
+        double offset = depth % 2 == 0 ? x - xs[mid] : y - ys[mid];
+        int nearLo = offset < 0 ? lo : mid + 1;
+        int nearHi = offset < 0 ? mid : hi;
+        int farLo = offset < 0 ? mid + 1 : lo;
+        int farHi = offset < 0 ? hi : mid;
+        search(nearLo, nearHi, depth + 1, x, y, k, best);
+        if(best.size() < k || offset * offset < distanceSquared(best.peek(), x, y)) {
+            search(farLo, farHi, depth + 1, x, y, k, best);
+        }
+    }
+
+    /**
+     * @param i The index of a value.
+     * @param x The x coordinate of a location.
+     * @param y The y coordinate of a location.
+     * @return The squared distance from the value to (x, y).
+     */
+    private double distanceSquared(int i, double x, double y) {
+        double dx = xs[i] - x;
+        double dy = ys[i] - y;
+        return dx * dx + dy * dy;
+    }
+
+    /**
+     * Arranges a range of entries into a subtree by splitting it at its median.
+     *
+     * @param entries The entries to arrange.
+     * @param lo      The first index of the subtree.
+     * @param hi      One past the last index of the subtree.
+     * @param depth   The depth of the subtree's root.
+     * @spec.modifies entries
+     */
+    private static void build(List<Entry> entries, int lo, int hi, int depth) {
+        if(hi - lo <= 1) {
+            return;
+        }
+        Comparator<Entry> axis = depth % 2 == 0 ? Comparator.comparingDouble(e -> e.x)
+                : Comparator.comparingDouble(e -> e.y);
+        entries.subList(lo, hi).sort(axis);
+        int mid = (lo + hi) >>> 1;
+        build(entries, lo, mid, depth + 1);
+        build(entries, mid + 1, hi, depth + 1);
+    }
+
+    /**
+     * A value and its location, used while building the tree.
+     */
+    private static final class Entry {
+
+        private final Object value;
+        private final double x;
+        private final double y;
+
+        /**
+         * @param value The value.
+         * @param x     The x coordinate of the value.
+         * @param y     The y coordinate of the value.
+         */
+        Entry(Object value, double x, double y) {
+            this.value = value;
+            this.x = x;
+            this.y = y;
+        }
+    }
+}
@@ -11,7 +11,10 @@
 
 package pathfinder.textInterface;
 
+import pathfinder.CachingModel;
 import pathfinder.CampusMap;
+import pathfinder.CampusSnapshot;
+import pathfinder.ModelAPI;
 
 /**
  * Pathfinder represents a complete application capable of responding to user prompts to provide
@@ -21,13 +24,21 @@ public class Pathfinder {
 
     // This class does not represent an ADT.
 
+    /**
+     * The number of routes kept in the route cache.
+     */
+    private static final int ROUTE_CACHE_SIZE = 256;
+
     /**
      * The main entry point for this application. Initializes and launches the application.
      *
      * @param args The command-line arguments provided to the system.
      */
     public static void main(String[] args) {
-        CampusMap map = new CampusMap();
+        // start from the binary snapshot of the campus data when it is up to date
+        CampusMap campus = new CampusMap(CampusMap.RoutingMode.ASTAR,
+                CampusSnapshot.loadOrParse(CampusSnapshot.defaultFile()));
+        ModelAPI map = new CachingModel(campus, ROUTE_CACHE_SIZE);
         TextInterfaceView view = new TextInterfaceView();
         TextInterfaceController controller = new TextInterfaceController(map, view);
         //
@@ -0,0 +1,131 @@
+package pathfinder.junitTests;
+
+import org.junit.Before;
+import org.junit.Test;
+import pathfinder.CachingModel;
+import pathfinder.ModelAPI;
+import pathfinder.datastructures.Path;
+import pathfinder.datastructures.Point;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+public class CachingModelTest {
+
+    private CountingModel model;
+    private CachingModel cache;
+
+    @Before
+    public void init() {
+        model = new CountingModel();
+        cache = new CachingModel(model, 2);
+    }
+
+    @Test
+    public void testHitReturnsSamePath() {
+        Path<Point> first = cache.findShortestPath("A", "B");
+        Path<Point> second = cache.findShortestPath("A", "B");
+        assertSame(first, second);
+        assertEquals(1, model.calls);
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedIsEvicted() {
+        cache.findShortestPath("A", "B");
+        cache.findShortestPath("B", "C");
+        cache.findShortestPath("A", "B");
+        cache.findShortestPath("C", "D");
+        assertEquals(1, cache.getEvictions());
+        assertEquals(2, cache.size());
+        cache.findShortestPath("A", "B");
+        assertEquals(3, model.calls);
+        cache.findShortestPath("B", "C");
+        assertEquals(4, model.calls);
+    }
+
+    @Test
+    public void testUnknownBuildingIsNotCached() {
+        assertNull(cache.findShortestPath("A", "NOT A BUILDING"));
+        assertNull(cache.findShortestPath("A", "NOT A BUILDING"));
+        assertEquals(2, model.calls);
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testBatchAnswersHitsFromCache() {
+        Path<Point> cached = cache.findShortestPath("A", "B");
+        List<Path<Point>> paths = cache.findShortestPaths(List.of("B", "A", "C"), List.of("C", "B", "D"));
+        assertEquals(3, paths.size());
+        assertSame(cached, paths.get(1));
+        assertEquals(new Point('B', 0), paths.get(0).getStart());
+        assertEquals(new Point('D', 0), paths.get(2).getEnd());
+        assertEquals(3, model.calls);
+        assertEquals(1, cache.getHits());
+        assertEquals(3, cache.getMisses());
+        assertSame(paths.get(2), cache.findShortestPath("C", "D"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBatchUnknownBuilding() {
+        cache.findShortestPaths(List.of("A"), List.of("NOT A BUILDING"));
+    }
+
+    @Test
+    public void testRejectedBatchNotCounted() {
+        cache.findShortestPath("A", "B");
+        try {
+            cache.findShortestPaths(List.of("A", "C"), List.of("B", "NOT A BUILDING"));
+            fail("the batch should be rejected");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        assertEquals(0, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertEquals(1, cache.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testZeroCapacity() {
+        new CachingModel(model, 0);
+    }
+
+    /**
+     * A model whose buildings are single capital letters on a line, counting route requests.
+     */
+    private static class CountingModel implements ModelAPI {
+
+        private int calls = 0;
+
+        @Override
+        public boolean shortNameExists(String shortName) {
+            return shortName.length() == 1;
+        }
+
+        @Override
+        public String longNameForShort(String shortName) {
+            return shortName;
+        }
+
+        @Override
+        public Map<String, String> buildingNames() {
+            return Map.of();
+        }
+
+        @Override
+        public Path<Point> findShortestPath(String startShortName, String endShortName) {
+            calls++;
+            if (!shortNameExists(startShortName) || !shortNameExists(endShortName)) {
+                return null;
+            }
+            Point start = new Point(startShortName.charAt(0), 0);
+            return new Path<>(start).extend(new Point(endShortName.charAt(0), 0), 1.0);
+        }
+    }
+}
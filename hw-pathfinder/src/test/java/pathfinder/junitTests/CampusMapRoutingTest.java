@@ -0,0 +1,181 @@
+package pathfinder.junitTests;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import pathfinder.CampusMap;
+import pathfinder.datastructures.Path;
+import pathfinder.datastructures.Point;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class CampusMapRoutingTest {
+
+    private static final double EPSILON = Math.pow(10.0D, -9.0D); // Accuracy required to 1 PPB
+
+    private static CampusMap dijkstraMap;
+    private static CampusMap aStarMap;
+    private static CampusMap precomputedMap;
+    private static CampusMap contractionMap;
+
+    @BeforeClass
+    public static void initializeMaps() {
+        dijkstraMap = new CampusMap(CampusMap.RoutingMode.DIJKSTRA);
+        aStarMap = new CampusMap(CampusMap.RoutingMode.ASTAR);
+        precomputedMap = new CampusMap(CampusMap.RoutingMode.PRECOMPUTED);
+        contractionMap = new CampusMap(CampusMap.RoutingMode.CONTRACTION);
+    }
+
+    // A* must find paths exactly as short as Dijkstra between every pair of buildings
+    @Test
+    public void testAStarMatchesDijkstra() {
+        for (String start : dijkstraMap.buildingNames().keySet()) {
+            for (String end : dijkstraMap.buildingNames().keySet()) {
+                Path<Point> expected = dijkstraMap.findShortestPath(start, end);
+                Path<Point> actual = aStarMap.findShortestPath(start, end);
+                assertEquals(start + " -> " + end, expected.getCost(), actual.getCost(), EPSILON);
+                assertEquals(expected.getStart(), actual.getStart());
+                assertEquals(expected.getEnd(), actual.getEnd());
+            }
+        }
+    }
+
+    // the precomputed table must hold exactly the paths Dijkstra finds between every pair of buildings
+    @Test
+    public void testPrecomputedMatchesDijkstra() {
+        for (String start : dijkstraMap.buildingNames().keySet()) {
+            for (String end : dijkstraMap.buildingNames().keySet()) {
+                assertEquals(start + " -> " + end, dijkstraMap.findShortestPath(start, end),
+                        precomputedMap.findShortestPath(start, end));
+            }
+        }
+    }
+
+    // the contraction hierarchy must find paths exactly as short as Dijkstra between every pair of buildings
+    @Test
+    public void testContractionMatchesDijkstra() {
+        for (String start : dijkstraMap.buildingNames().keySet()) {
+            for (String end : dijkstraMap.buildingNames().keySet()) {
+                Path<Point> expected = dijkstraMap.findShortestPath(start, end);
+                Path<Point> actual = contractionMap.findShortestPath(start, end);
+                assertEquals(start + " -> " + end, expected.getCost(), actual.getCost(), EPSILON);
+                assertEquals(expected.getStart(), actual.getStart());
+                assertEquals(expected.getEnd(), actual.getEnd());
+            }
+        }
+    }
+
+    // a batch query must find the same paths as asking for each pair on its own, in every mode
+    @Test
+    public void testBatchMatchesSingle() {
+        List<String> starts = new ArrayList<>();
+        List<String> ends = new ArrayList<>();
+        for (String start : dijkstraMap.buildingNames().keySet()) {
+            for (String end : dijkstraMap.buildingNames().keySet()) {
+                starts.add(start);
+                ends.add(end);
+            }
+        }
+        for (CampusMap map : List.of(dijkstraMap, aStarMap, precomputedMap, contractionMap)) {
+            List<Path<Point>> paths = map.findShortestPaths(starts, ends);
+            assertEquals(starts.size(), paths.size());
+            for (int i = 0; i < starts.size(); i++) {
+                Path<Point> expected = dijkstraMap.findShortestPath(starts.get(i), ends.get(i));
+                String route = starts.get(i) + " -> " + ends.get(i);
+                assertEquals(route, expected.getCost(), paths.get(i).getCost(), EPSILON);
+                assertEquals(route, expected.getStart(), paths.get(i).getStart());
+                assertEquals(route, expected.getEnd(), paths.get(i).getEnd());
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBatchUnknownBuilding() {
+        dijkstraMap.findShortestPaths(List.of("CSE", "CSE"), List.of("KNE", "NOT A BUILDING"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBatchSizeMismatch() {
+        dijkstraMap.findShortestPaths(List.of("CSE", "KNE"), List.of("KNE"));
+    }
+
+    // a building's own location snaps to a path node there, so routing from it matches routing from the building
+    @Test
+    public void testRouteFromLocation() {
+        for (String start : List.of("CSE", "KNE", "MGH")) {
+            for (String end : dijkstraMap.buildingNames().keySet()) {
+                Point location = dijkstraMap.findShortestPath(start, end).getStart();
+                for (CampusMap map : List.of(dijkstraMap, precomputedMap, contractionMap)) {
+                    assertEquals(location, map.nearestNode(location.getX(), location.getY()));
+                    Path<Point> expected = dijkstraMap.findShortestPath(start, end);
+                    Path<Point> actual = map.findShortestPathFrom(location.getX() + 0.5, location.getY() - 0.5, end);
+                    assertEquals(start + " -> " + end, expected.getCost(), actual.getCost(), EPSILON);
+                    assertEquals(location, actual.getStart());
+                }
+            }
+        }
+        assertNull(dijkstraMap.findShortestPathFrom(0, 0, "NOT A BUILDING"));
+    }
+
+    @Test
+    public void testNearestBuildings() {
+        Point cse = dijkstraMap.findShortestPath("CSE", "CSE").getStart();
+        List<String> nearest = dijkstraMap.nearestBuildings(cse.getX(), cse.getY(), 3);
+        assertEquals(3, nearest.size());
+        assertEquals("CSE", nearest.get(0));
+        assertEquals(dijkstraMap.buildingNames().size(),
+                dijkstraMap.nearestBuildings(cse.getX(), cse.getY(), 1000).size());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testBuildingNamesUnmodifiable() {
+        dijkstraMap.buildingNames().put("NEW", "New Building");
+    }
+
+    // one map shared by many threads must answer exactly as it does on one thread
+    @Test
+    public void testConcurrentQueries() throws Exception {
+        List<String> names = new ArrayList<>(dijkstraMap.buildingNames().keySet());
+        for (CampusMap map : List.of(aStarMap, contractionMap)) {
+            List<Thread> threads = new ArrayList<>();
+            List<Throwable> failures = Collections.synchronizedList(new ArrayList<>());
+            for (int t = 0; t < 4; t++) {
+                int offset = t;
+                threads.add(new Thread(() -> {
+                    try {
+                        for (int i = offset; i < names.size() * names.size(); i += 4) {
+                            String start = names.get(i / names.size());
+                            String end = names.get(i % names.size());
+                            assertEquals(dijkstraMap.findShortestPath(start, end).getCost(),
+                                    map.findShortestPath(start, end).getCost(), EPSILON);
+                        }
+                    } catch (Throwable e) {
+                        failures.add(e);
+                    }
+                }));
+            }
+            for (Thread thread : threads) {
+                thread.start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            assertEquals(List.of(), failures);
+        }
+    }
+
+    @Test
+    public void testUnknownBuilding() {
+        assertNull(precomputedMap.findShortestPath("CSE", "NOT A BUILDING"));
+        assertNull(aStarMap.findShortestPath("CSE", "NOT A BUILDING"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullMode() {
+        new CampusMap(null);
+    }
+}
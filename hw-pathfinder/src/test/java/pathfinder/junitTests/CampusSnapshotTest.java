@@ -0,0 +1,91 @@
+package pathfinder.junitTests;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import pathfinder.CampusMap;
+import pathfinder.CampusSnapshot;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.*;
+
+public class CampusSnapshotTest {
+
+    private Path file;
+
+    @Before
+    public void init() throws Exception {
+        file = Files.createTempFile("campus", ".snapshot");
+        Files.delete(file);
+    }
+
+    @After
+    public void cleanUp() throws Exception {
+        Files.deleteIfExists(file);
+    }
+
+    // test that a map built from a saved snapshot finds the same routes as one built from the TSV files
+    @Test
+    public void testRoundTrip() throws IOException {
+        CampusSnapshot parsed = CampusSnapshot.parse();
+        parsed.write(file);
+        CampusSnapshot loaded = CampusSnapshot.read(file);
+        assertEquals(parsed.getBuildings(), loaded.getBuildings());
+        assertEquals(parsed.nodeCount(), loaded.nodeCount());
+        assertEquals(parsed.edgeCount(), loaded.edgeCount());
+
+        CampusMap expected = new CampusMap(CampusMap.RoutingMode.DIJKSTRA, parsed);
+        CampusMap actual = new CampusMap(CampusMap.RoutingMode.DIJKSTRA, loaded);
+        assertEquals(expected.buildingNames(), actual.buildingNames());
+        for (String start : expected.buildingNames().keySet()) {
+            for (String end : expected.buildingNames().keySet()) {
+                assertEquals(expected.findShortestPath(start, end), actual.findShortestPath(start, end));
+            }
+        }
+    }
+
+    // test that loadOrParse saves a snapshot the first time and loads it after that
+    @Test
+    public void testLoadOrParse() throws IOException {
+        assertFalse(Files.exists(file));
+        CampusSnapshot first = CampusSnapshot.loadOrParse(file);
+        assertTrue(Files.exists(file));
+        long written = Files.getLastModifiedTime(file).toMillis();
+        CampusSnapshot second = CampusSnapshot.loadOrParse(file);
+        assertEquals(written, Files.getLastModifiedTime(file).toMillis());
+        assertEquals(first.getBuildings(), second.getBuildings());
+        assertEquals(first.edgeCount(), second.edgeCount());
+    }
+
+    // test that a damaged snapshot is replaced instead of loaded
+    @Test
+    public void testLoadOrParseCorrupt() throws IOException {
+        Files.write(file, new byte[] {1, 2, 3});
+        CampusSnapshot snapshot = CampusSnapshot.loadOrParse(file);
+        assertEquals(CampusSnapshot.parse().edgeCount(), snapshot.edgeCount());
+        assertEquals(snapshot.edgeCount(), CampusSnapshot.read(file).edgeCount());
+    }
+
+    // test that a snapshot cut off inside its fingerprint is replaced instead of failing the load
+    @Test
+    public void testLoadOrParseTruncatedHeader() throws IOException {
+        // the "CMPS" magic number, version 1, and half of the fingerprint
+        Files.write(file, new byte[] {0x43, 0x4D, 0x50, 0x53, 0, 0, 0, 1, 0, 0, 0, 0});
+        CampusSnapshot snapshot = CampusSnapshot.loadOrParse(file);
+        assertEquals(CampusSnapshot.parse().edgeCount(), snapshot.edgeCount());
+        assertEquals(snapshot.edgeCount(), CampusSnapshot.read(file).edgeCount());
+    }
+
+    @Test (expected = IOException.class)
+    public void testReadMissing() throws IOException {
+        CampusSnapshot.read(file);
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void testNullSnapshot() {
+        new CampusMap(CampusMap.RoutingMode.ASTAR, null);
+    }
+}
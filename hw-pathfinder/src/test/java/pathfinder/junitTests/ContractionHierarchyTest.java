@@ -0,0 +1,141 @@
+package pathfinder.junitTests;
+
+import graph.DirectedGraph;
+import org.junit.Test;
+import pathfinder.ContractionHierarchy;
+import pathfinder.DijkstraEngine;
+import pathfinder.datastructures.Path;
+
+import java.lang.ref.WeakReference;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertNotNull;
+
+public class ContractionHierarchyTest {
+
+    private static final double EPSILON = Math.pow(10.0D, -9.0D); // Accuracy required to 1 PPB
+
+    // a -1-> b -1-> c -1-> d with a -5-> d, so contracting b and c needs shortcuts to keep a -> d at 3
+    @Test
+    public void testPathUsesOriginalEdges() {
+        DirectedGraph<String, Double> g = new DirectedGraph<>();
+        for (String node : new String[]{"a", "b", "c", "d", "e"}) {
+            g.addNode(node);
+        }
+        g.addEdge("a", "b", 1.0);
+        g.addEdge("b", "c", 1.0);
+        g.addEdge("c", "d", 1.0);
+        g.addEdge("a", "d", 5.0);
+        g.addEdge("a", "a", 0.0);
+        ContractionHierarchy<String> hierarchy = new ContractionHierarchy<>(g);
+        Path<String> expected = new Path<>("a").extend("b", 1.0).extend("c", 1.0).extend("d", 1.0);
+        assertEquals(expected, hierarchy.findPath("a", "d"));
+        assertEquals(new Path<>("a"), hierarchy.findPath("a", "a"));
+        assertNull(hierarchy.findPath("d", "a"));
+        assertNull(hierarchy.findPath("a", "e"));
+    }
+
+    // every path must be as short as the one Dijkstra finds, and made of edges of the graph
+    @Test
+    public void testMatchesDijkstra() {
+        Random random = new Random(17);
+        for (int round = 0; round < 5; round++) {
+            DirectedGraph<Integer, Double> g = new DirectedGraph<>();
+            for (int i = 0; i < 80; i++) {
+                g.addNode(i);
+            }
+            for (int i = 0; i < 320; i++) {
+                g.addEdge(random.nextInt(80), random.nextInt(80), (double) random.nextInt(10));
+            }
+            DijkstraEngine<Integer> engine = new DijkstraEngine<>(g);
+            ContractionHierarchy<Integer> hierarchy = new ContractionHierarchy<>(g);
+            for (int source = 0; source < 80; source += 7) {
+                for (int dest = 0; dest < 80; dest++) {
+                    Path<Integer> expected = engine.findPath(source, dest);
+                    Path<Integer> actual = hierarchy.findPath(source, dest);
+                    if (expected == null) {
+                        assertNull(actual);
+                        continue;
+                    }
+                    assertEquals(source + " -> " + dest, expected.getCost(), actual.getCost(), EPSILON);
+                    Integer from = source;
+                    for (Path<Integer>.Segment segment : actual) {
+                        assertEquals(from, segment.getStart());
+                        assertEquals(true, g.containsEdge(segment.getStart(), segment.getEnd(), segment.getCost()));
+                        from = segment.getEnd();
+                    }
+                    assertEquals(Integer.valueOf(dest), from);
+                }
+            }
+        }
+    }
+
+    // a thread that queried a hierarchy must not keep it alive once the hierarchy is dropped
+    @Test
+    public void testDroppedHierarchyCollectable() throws InterruptedException {
+        CountDownLatch queried = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        WeakReference<ContractionHierarchy<String>> ref = queryOnThread(queried, done);
+        queried.await();
+        try {
+            for (int i = 0; i < 50 && ref.get() != null; i++) {
+                System.gc();
+                Thread.sleep(20);
+            }
+            assertNull(ref.get());
+        } finally {
+            done.countDown();
+        }
+    }
+
+    /**
+     * Builds a hierarchy and queries it on a new thread, which stays alive until done is counted
+     * down. Only a weak reference to the hierarchy is kept.
+     *
+     * @param queried counted down once the thread has queried the hierarchy
+     * @param done    the latch the thread waits on before it ends
+     * @return a weak reference to the hierarchy
+     */
+    private static WeakReference<ContractionHierarchy<String>> queryOnThread(CountDownLatch queried,
+                                                                             CountDownLatch done) {
+        DirectedGraph<String, Double> g = new DirectedGraph<>();
+        g.addNode("a");
+        g.addNode("b");
+        g.addEdge("a", "b", 1.0);
+        ContractionHierarchy<String> hierarchy = new ContractionHierarchy<>(g);
+        // the thread lets go of the hierarchy once it has queried it
+        AtomicReference<ContractionHierarchy<String>> handoff = new AtomicReference<>(hierarchy);
+        Thread thread = new Thread(() -> {
+            assertNotNull(handoff.getAndSet(null).findPath("a", "b"));
+            queried.countDown();
+            try {
+                done.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        thread.setDaemon(true);
+        thread.start();
+        return new WeakReference<>(hierarchy);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeWeight() {
+        DirectedGraph<String, Double> g = new DirectedGraph<>();
+        g.addNode("a");
+        g.addNode("b");
+        g.addEdge("a", "b", -1.0);
+        new ContractionHierarchy<>(g);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownNode() {
+        DirectedGraph<String, Double> g = new DirectedGraph<>();
+        g.addNode("a");
+        new ContractionHierarchy<>(g).findPath("a", "not a node");
+    }
+}
@@ -0,0 +1,57 @@
+package pathfinder.junitTests;
+
+import graph.DirectedGraph;
+import org.junit.Before;
+import org.junit.Test;
+import pathfinder.ContractionHierarchy;
+import pathfinder.DijkstraEngine;
+import pathfinder.SearchStats;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SearchStatsTest {
+
+    private DirectedGraph<String, Double> g;
+
+    // a -1-> b -1-> c -1-> d, and e can not be reached from a
+    @Before
+    public void init() {
+        g = new DirectedGraph<>();
+        for (String node : List.of("a", "b", "c", "d", "e")) {
+            g.addNode(node);
+        }
+        g.addEdge("a", "b", 1.0);
+        g.addEdge("b", "c", 1.0);
+        g.addEdge("c", "d", 1.0);
+    }
+
+    @Test
+    public void testDijkstraCounts() {
+        DijkstraEngine<String> engine = new DijkstraEngine<>(g);
+        engine.findPath("a", "d");
+        engine.findPath("a", "e");
+        SearchStats stats = engine.getStats();
+        assertEquals(2, stats.getSearches());
+        // the first search settles a to d, and the second every node reachable from a
+        assertEquals(8, stats.getNodesSettled());
+        assertEquals(8, stats.getHeapPushes());
+        assertEquals(1, stats.getPaths());
+        assertEquals(3, stats.getPathSegments());
+    }
+
+    @Test
+    public void testHierarchyCounts() {
+        ContractionHierarchy<String> hierarchy = new ContractionHierarchy<>(g);
+        hierarchy.findPath("a", "d");
+        hierarchy.findPath("d", "a");
+        SearchStats stats = hierarchy.getStats();
+        assertEquals(2, stats.getSearches());
+        assertTrue(stats.getNodesSettled() > 0);
+        assertTrue(stats.getHeapPushes() >= stats.getNodesSettled());
+        assertEquals(1, stats.getPaths());
+        assertEquals(3, stats.getPathSegments());
+    }
+}
@@ -0,0 +1,112 @@
+package pathfinder.junitTests;
+
+import graph.DirectedGraph;
+import org.junit.Before;
+import org.junit.Test;
+import pathfinder.MarvelPathsWeighted;
+import pathfinder.ShortestPathTree;
+import pathfinder.datastructures.Path;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ShortestPathTreeTest {
+
+    private static final double EPSILON = Math.pow(10.0D, -9.0D); // Accuracy required to 1 PPB
+
+    private DirectedGraph<String, Double> g;
+    private ShortestPathTree<String> tree;
+
+    // a -1-> b -1-> c, a -5-> c, c -2-> d, and e can not be reached from a
+    @Before
+    public void init() {
+        g = new DirectedGraph<>();
+        for (String node : List.of("a", "b", "c", "d", "e")) {
+            g.addNode(node);
+        }
+        g.addEdge("a", "b", 1.0);
+        g.addEdge("b", "c", 1.0);
+        g.addEdge("a", "c", 5.0);
+        g.addEdge("c", "d", 2.0);
+        g.addEdge("e", "a", 1.0);
+        tree = MarvelPathsWeighted.shortestPathTree(g, "a");
+    }
+
+    @Test
+    public void testDistances() {
+        assertEquals("a", tree.getSource());
+        assertEquals(0.0, tree.distanceTo("a"), EPSILON);
+        assertEquals(1.0, tree.distanceTo("b"), EPSILON);
+        assertEquals(2.0, tree.distanceTo("c"), EPSILON);
+        assertEquals(4.0, tree.distanceTo("d"), EPSILON);
+        assertEquals(Double.POSITIVE_INFINITY, tree.distanceTo("e"), EPSILON);
+    }
+
+    @Test
+    public void testPredecessors() {
+        assertNull(tree.predecessorOf("a"));
+        assertEquals("a", tree.predecessorOf("b"));
+        assertEquals("b", tree.predecessorOf("c"));
+        assertEquals("c", tree.predecessorOf("d"));
+        assertNull(tree.predecessorOf("e"));
+    }
+
+    @Test
+    public void testPaths() {
+        Path<String> expected = new Path<>("a").extend("b", 1.0).extend("c", 1.0).extend("d", 2.0);
+        assertEquals(expected, tree.pathTo("d"));
+        assertEquals(new Path<>("a"), tree.pathTo("a"));
+        assertNull(tree.pathTo("e"));
+    }
+
+    @Test
+    public void testReachable() {
+        assertTrue(tree.isReachable("d"));
+        assertFalse(tree.isReachable("e"));
+        assertFalse(tree.isReachable("not a node"));
+        assertEquals(List.of("a", "b", "c", "d"), tree.reachableNodes());
+    }
+
+    // every path in the tree must be as short as the one Dijkstra finds on its own
+    @Test
+    public void testMatchesDijkstra() {
+        Random random = new Random(16);
+        DirectedGraph<Integer, Double> graph = new DirectedGraph<>();
+        for (int i = 0; i < 60; i++) {
+            graph.addNode(i);
+        }
+        for (int i = 0; i < 240; i++) {
+            graph.addEdge(random.nextInt(60), random.nextInt(60), (double) random.nextInt(10));
+        }
+        ShortestPathTree<Integer> fromZero = MarvelPathsWeighted.shortestPathTree(graph, 0);
+        for (int dest = 0; dest < 60; dest++) {
+            List<DirectedGraph.LabeledEdge<Integer, Double>> expected = MarvelPathsWeighted.Dijkstra(graph, 0, dest);
+            if (expected == null) {
+                assertFalse(fromZero.isReachable(dest));
+                continue;
+            }
+            double cost = 0.0;
+            for (DirectedGraph.LabeledEdge<Integer, Double> edge : expected) {
+                cost += edge.getEdgeLabel();
+            }
+            assertEquals(cost, fromZero.distanceTo(dest), EPSILON);
+            assertEquals(cost, fromZero.pathTo(dest).getCost(), EPSILON);
+            assertEquals(Integer.valueOf(dest), fromZero.pathTo(dest).getEnd());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownSource() {
+        MarvelPathsWeighted.shortestPathTree(g, "not a node");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownNode() {
+        tree.distanceTo("not a node");
+    }
+}
@@ -0,0 +1,97 @@
+package pathfinder.junitTests.datastructures;
+
+import org.junit.Test;
+import pathfinder.datastructures.IndexedMinHeap;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TestIndexedMinHeap {
+
+    private static final double EPSILON = Math.pow(10.0D, -9.0D); // Accuracy required to 1 PPB
+
+    @Test
+    public void testPollInPriorityOrder() {
+        IndexedMinHeap heap = new IndexedMinHeap(5);
+        heap.insertOrDecrease(0, 4.0D);
+        heap.insertOrDecrease(1, 1.0D);
+        heap.insertOrDecrease(2, 3.0D);
+        heap.insertOrDecrease(3, 2.0D);
+        assertEquals(4, heap.size());
+        assertEquals(1, heap.pollMin());
+        assertEquals(3, heap.pollMin());
+        assertEquals(2, heap.pollMin());
+        assertEquals(0, heap.pollMin());
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    public void testDecreaseKey() {
+        IndexedMinHeap heap = new IndexedMinHeap(3);
+        heap.insertOrDecrease(0, 1.0D);
+        heap.insertOrDecrease(1, 5.0D);
+        heap.insertOrDecrease(2, 3.0D);
+        assertTrue(heap.insertOrDecrease(1, 0.5D));
+        assertFalse(heap.insertOrDecrease(2, 7.0D));
+        assertEquals(3.0D, heap.priorityOf(2), EPSILON);
+        assertEquals(1, heap.pollMin());
+        assertFalse(heap.contains(1));
+        assertEquals(0, heap.pollMin());
+        assertEquals(2, heap.pollMin());
+    }
+
+    @Test
+    public void testRandomAgainstSort() {
+        Random random = new Random(331);
+        IndexedMinHeap heap = new IndexedMinHeap(200);
+        double[] best = new double[200];
+        for(int i = 0; i < 200; i++) {
+            best[i] = Double.POSITIVE_INFINITY;
+        }
+        for(int i = 0; i < 1000; i++) {
+            int key = random.nextInt(200);
+            double priority = random.nextDouble();
+            heap.insertOrDecrease(key, priority);
+            best[key] = Math.min(best[key], priority);
+        }
+        double last = Double.NEGATIVE_INFINITY;
+        while(!heap.isEmpty()) {
+            int key = heap.pollMin();
+            assertTrue(best[key] >= last);
+            last = best[key];
+        }
+    }
+
+    @Test
+    public void testClear() {
+        IndexedMinHeap heap = new IndexedMinHeap(2);
+        heap.insertOrDecrease(0, 1.0D);
+        heap.insertOrDecrease(1, 2.0D);
+        heap.clear();
+        assertTrue(heap.isEmpty());
+        assertFalse(heap.contains(0));
+        heap.insertOrDecrease(1, 2.0D);
+        assertEquals(1, heap.pollMin());
+    }
+
+    @Test
+    public void testPeekKeepsMin() {
+        IndexedMinHeap heap = new IndexedMinHeap(3);
+        heap.insertOrDecrease(0, 3.0D);
+        heap.insertOrDecrease(1, 1.0D);
+        heap.insertOrDecrease(2, 2.0D);
+        assertEquals(1, heap.peekMin());
+        assertEquals(3, heap.size());
+        assertEquals(1, heap.pollMin());
+        assertEquals(2, heap.peekMin());
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testPollEmpty() {
+        new IndexedMinHeap(1).pollMin();
+    }
+}
@@ -0,0 +1,78 @@
+package pathfinder.junitTests.datastructures;
+
+import org.junit.Test;
+import pathfinder.datastructures.KdTree;
+import pathfinder.datastructures.Point;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class TestKdTree {
+
+    private static final double EPSILON = Math.pow(10.0D, -9.0D); // Accuracy required to 1 PPB
+
+    @Test
+    public void testNearest() {
+        List<Point> points = List.of(new Point(0, 0), new Point(10, 0), new Point(0, 10), new Point(10, 10));
+        KdTree<Point> tree = new KdTree<>(points, p -> p);
+        assertEquals(4, tree.size());
+        assertEquals(new Point(10, 0), tree.nearest(8, 1));
+        assertEquals(new Point(0, 10), tree.nearest(-5, 20));
+        assertEquals(List.of(new Point(10, 10), new Point(0, 10)), tree.nearest(6, 11, 2));
+    }
+
+    @Test
+    public void testKLargerThanSize() {
+        KdTree<String> tree = new KdTree<>(List.of("a", "b"), s -> new Point(s.charAt(0), 0));
+        assertEquals(List.of("b", "a"), tree.nearest('c', 0, 5));
+        assertEquals(List.of(), tree.nearest('c', 0, 0));
+    }
+
+    @Test
+    public void testEmpty() {
+        KdTree<Point> tree = new KdTree<>(List.of(), p -> p);
+        assertNull(tree.nearest(0, 0));
+        assertTrue(tree.nearest(0, 0, 3).isEmpty());
+    }
+
+    // the k nearest values must be as close as those a linear scan finds, on points with many repeated coordinates
+    @Test
+    public void testRandomAgainstScan() {
+        Random random = new Random(18);
+        List<Point> points = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            points.add(new Point(random.nextInt(50), random.nextInt(50)));
+        }
+        KdTree<Point> tree = new KdTree<>(points, p -> p);
+        for (int query = 0; query < 200; query++) {
+            double x = random.nextDouble() * 60 - 5;
+            double y = random.nextDouble() * 60 - 5;
+            Comparator<Point> byDistance = Comparator.comparingDouble(p -> Math.hypot(p.getX() - x, p.getY() - y));
+            List<Point> expected = new ArrayList<>(points);
+            expected.sort(byDistance);
+            List<Point> actual = tree.nearest(x, y, 7);
+            assertEquals(7, actual.size());
+            for (int i = 0; i < 7; i++) {
+                Point e = expected.get(i);
+                Point a = actual.get(i);
+                assertEquals(Math.hypot(e.getX() - x, e.getY() - y), Math.hypot(a.getX() - x, a.getY() - y), EPSILON);
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeK() {
+        new KdTree<>(List.of(new Point(0, 0)), p -> p).nearest(0, 0, -1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullLocation() {
+        new KdTree<>(List.of("a"), s -> null);
+    }
+}
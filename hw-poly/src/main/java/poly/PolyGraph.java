@@ -223,37 +223,20 @@ public final class PolyGraph extends Canvas {
             float yExtrema[],
             RatPoly currentRatPoly) {
         float delta = (xMax - xMin) / numIncrements;
-        float currentX = xMin;
-        boolean firstTime = true;
-        int i;
-        float yVal = 0;
-        float yMin = 0;
-        float yMax = 0;
+        // evaluate the whole buffer in one pass; the evaluator computes each x as xMin + i * delta,
+        // just as below, so the x and y buffers line up
+        currentRatPoly.evaluator().evalRange(xMin, delta, yValBuffer);
+        float yMin = yValBuffer[0];
+        float yMax = yValBuffer[0];
+
+        for(int i = 0; i < numIncrements; ++i) {
+            xValBuffer[i] = xMin + i * delta;
+            if(yValBuffer[i] < yMin) {
+                yMin = yValBuffer[i];
+            }
 
-        for(i = 0; i < numIncrements; ++i) {
-            if(currentX < xMax) {
-                xValBuffer[i] = currentX;
-                yVal = (float) currentRatPoly.eval(currentX);
-                yValBuffer[i] = yVal;
-
-                if(firstTime) {
-                    firstTime = false;
-                    yMin = yVal;
-                    yMax = yVal;
-                } else {
-                    if(yVal < yMin) {
-                        yMin = yVal;
-                    }
-
-                    if(yVal > yMax) {
-                        yMax = yVal;
-                    }
-                }
-
-                currentX += delta;
-            } else {
-                xValBuffer[i] = xValBuffer[i - 1];
-                yValBuffer[i] = yValBuffer[i - 1];
+            if(yValBuffer[i] > yMax) {
+                yMax = yValBuffer[i];
             }
         }
 
@@ -11,6 +11,10 @@
 
 package poly;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+
 /**
  * <b>RatNum</b> represents an <b>immutable</b> rational number. It includes all of the elements in
  * the set of rationals, as well as the special "NaN" (not-a-number) element that results from
@@ -32,32 +36,65 @@ package poly;
 public final class RatNum extends Number implements Comparable<RatNum> {
 
     /**
-     * Numerator of the rational number.
+     * Numerator of the rational number, if it fits in a long.
+     */
+    private final long numer;
+
+    /**
+     * Denominator of the rational number, if it fits in a long.
      */
-    private final int numer;
+    private final long denom;
 
     /**
-     * Denominator of the rational number.
+     * Numerator of the rational number if it or the denominator does not fit in a long, else null.
      */
-    private final int denom;
+    private final BigInteger bigNumer;
+
+    /**
+     * Denominator of the rational number if it or the numerator does not fit in a long, else null.
+     */
+    private final BigInteger bigDenom;
 
     // Abstraction Function:
-    //   A RatNum r is NaN if r.denom = 0, (r.numer / r.denom) otherwise.
+    //   A RatNum r is (r.bigNumer / r.bigDenom) if r.bigNumer != null,
+    //   NaN if r.denom = 0, (r.numer / r.denom) otherwise.
     // (An abstraction function explains what the state of the fields in a
     // RatNum represents.  In this case, a rational number can be
     // understood as the result of dividing two integers, or not-a-number
     // if we would be dividing by zero.)
 
     // Representation invariant for every RatNum r:
-    //   (r.denom >= 0) &&
-    //   (r.denom > 0 ==> there does not exist integer i > 1 such that
-    //                    r.numer mod i = 0 and r.denom mod i = 0;)
+    //   (r.bigNumer == null) == (r.bigDenom == null) &&
+    //   (r.bigNumer == null ==>
+    //       (r.denom >= 0) && (r.numer != Long.MIN_VALUE) &&
+    //       (r.denom > 0 ==> there does not exist integer i > 1 such that
+    //                        r.numer mod i = 0 and r.denom mod i = 0;)) &&
+    //   (r.bigNumer != null ==>
+    //       (r.numer = 0) && (r.denom = 1) && (r.bigDenom > 0) &&
+    //       gcd(r.bigNumer, r.bigDenom) = 1 &&
+    //       r.bigNumer or r.bigDenom is Long.MIN_VALUE or out of the range of long)
     //   In other words,
-    //     * r.denom is always non-negative.
-    //     * r.numer/r.denom is in reduced form (assuming r.denom is not zero).
+    //     * a number is held in longs whenever it can be, and in BigIntegers only otherwise,
+    //       so every number has exactly one representation.
+    //     * the denominator is always non-negative.
+    //     * the ratio is in reduced form (assuming the denominator is not zero).
+    //     * a numerator held in a long can always be negated.
     // (A representation invariant tells us something that is true for all
     // instances of a RatNum)
 
+    /**
+     * valueOf and the arithmetic operations share one instance of each number whose numerator
+     * is within CACHE_MAX of zero and whose denominator is from 1 to CACHE_MAX. These are the
+     * small integers and fractions that differentiate and antiDifferentiate keep producing.
+     */
+    private static final int CACHE_MAX = 64;
+
+    /**
+     * The cached instances, indexed by cacheIndex. The entry for an unreduced ratio is the
+     * instance of its reduced form, so a cache hit needs no gcd.
+     */
+    private static final RatNum[] CACHE = buildCache();
+
     /**
      * A constant holding a Not-a-Number (NaN) value of type RatNum.
      */
@@ -66,7 +103,7 @@ public final class RatNum extends Number implements Comparable<RatNum> {
     /**
      * A constant holding a zero value of type RatNum.
      */
-    public static final RatNum ZERO = new RatNum(0);
+    public static final RatNum ZERO = valueOf(0);
 
     /**
      * @param n the value of the new RatNum
@@ -75,6 +112,8 @@ public final class RatNum extends Number implements Comparable<RatNum> {
     public RatNum(int n) {
         numer = n;
         denom = 1;
+        bigNumer = null;
+        bigDenom = null;
         checkRep();
     }
 
@@ -84,38 +123,223 @@ public final class RatNum extends Number implements Comparable<RatNum> {
      * @spec.effects If d = 0, constructs a new RatNum = NaN. Else constructs a new RatNum = (n / d).
      */
     public RatNum(int n, int d) {
+        // ints widened to longs can always be negated and reduced without overflow
+        long ln = n;
+        long ld = d;
         // special case for zero denominator; gcd(n,d) requires d != 0
-        if(d == 0) {
-            numer = n;
+        if(ld == 0) {
+            numer = ln;
             denom = 0;
 
         } else {
 
             // reduce ratio to lowest terms
-            int g = gcd(n, d);
-            n = n / g;
-            d = d / g;
+            long g = gcd(ln, ld);
+            ln = ln / g;
+            ld = ld / g;
 
-            if(d < 0) {
-                numer = -n;
-                denom = -d;
+            if(ld < 0) {
+                numer = -ln;
+                denom = -ld;
             } else {
-                numer = n;
-                denom = d;
+                numer = ln;
+                denom = ld;
             }
         }
+        bigNumer = null;
+        bigDenom = null;
+        checkRep();
+    }
+
+    /**
+     * @param n  the numerator of the new RatNum, if held in a long
+     * @param d  the denominator of the new RatNum, if held in a long
+     * @param bn the numerator of the new RatNum if held in a BigInteger, or null
+     * @param bd the denominator of the new RatNum if held in a BigInteger, or null
+     * @spec.requires the arguments satisfy the representation invariant as numer, denom, bigNumer
+     * and bigDenom
+     * @spec.effects Constructs a new RatNum from its representation.
+     */
+    private RatNum(long n, long d, BigInteger bn, BigInteger bd) {
+        numer = n;
+        denom = d;
+        bigNumer = bn;
+        bigDenom = bd;
         checkRep();
     }
 
+    /**
+     * Returns a RatNum equal to an integer, shared with other calls where it is cached.
+     *
+     * @param n the value of the RatNum
+     * @return a RatNum = n
+     */
+    public static RatNum valueOf(int n) {
+        return reduced(n, 1);
+    }
+
+    /**
+     * Returns a RatNum equal to a ratio of integers, shared with other calls where it is cached.
+     *
+     * @param n the numerator of the RatNum
+     * @param d the denominator of the RatNum
+     * @return NaN if d = 0, else a RatNum = (n / d)
+     */
+    public static RatNum valueOf(int n, int d) {
+        return of(n, d);
+    }
+
+    /**
+     * Makes a RatNum from a ratio of longs, falling back to BigIntegers if it cannot be held in
+     * longs.
+     *
+     * @param n the numerator
+     * @param d the denominator
+     * @return NaN if d = 0, else a RatNum = (n / d)
+     */
+    private static RatNum of(long n, long d) {
+        if(d == 0) {
+            return NaN;
+        }
+        if(n == Long.MIN_VALUE || d == Long.MIN_VALUE) {
+            return of(BigInteger.valueOf(n), BigInteger.valueOf(d));
+        }
+        if(d < 0) {
+            n = -n;
+            d = -d;
+        }
+        if(isCached(n, d)) {
+            return CACHE[cacheIndex(n, d)];
+        }
+        long g = Math.abs(gcd(n, d));
+        return reduced(n / g, d / g);
+    }
+
+    /**
+     * Makes a RatNum from a ratio of longs already in lowest terms, without computing a gcd.
+     *
+     * @param n the numerator
+     * @param d the denominator
+     * @return a RatNum = (n / d)
+     * @spec.requires d > 0 and n / d is in lowest terms
+     */
+    private static RatNum reduced(long n, long d) {
+        if(isCached(n, d)) {
+            return CACHE[cacheIndex(n, d)];
+        }
+        if(n == Long.MIN_VALUE) {
+            return new RatNum(0, 1, BigInteger.valueOf(n), BigInteger.valueOf(d));
+        }
+        return new RatNum(n, d, null, null);
+    }
+
+    /**
+     * @param n a numerator
+     * @param d a denominator
+     * @return true iff n / d has an entry in CACHE
+     */
+    private static boolean isCached(long n, long d) {
+        return n >= -CACHE_MAX && n <= CACHE_MAX && d >= 1 && d <= CACHE_MAX;
+    }
+
+    /**
+     * @param n a numerator
+     * @param d a denominator
+     * @return the index of the entry for n / d in CACHE
+     * @spec.requires isCached(n, d)
+     */
+    private static int cacheIndex(long n, long d) {
+        return (int) ((d - 1) * (2 * CACHE_MAX + 1) + (n + CACHE_MAX));
+    }
+
+    /**
+     * @return the contents of CACHE
+     */
+    private static RatNum[] buildCache() {
+        RatNum[] res = new RatNum[CACHE_MAX * (2 * CACHE_MAX + 1)];
+        // inv: the entries of every denominator less than d are filled; the reduced form of a
+        // ratio never has a larger denominator, so its entry is filled before any it is shared by
+        for(int d = 1; d <= CACHE_MAX; d++) {
+            for(int n = -CACHE_MAX; n <= CACHE_MAX; n++) {
+                long g = Math.abs(gcd(n, d));
+                res[cacheIndex(n, d)] = g == 1 ? new RatNum(n, d, null, null) : res[cacheIndex(n / g, d / g)];
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Makes a RatNum from a ratio of BigIntegers, holding it in longs if it fits.
+     *
+     * @param n the numerator
+     * @param d the denominator
+     * @return NaN if d = 0, else a RatNum = (n / d)
+     * @spec.requires n != null && d != null
+     */
+    private static RatNum of(BigInteger n, BigInteger d) {
+        if(d.signum() == 0) {
+            return NaN;
+        }
+        if(d.signum() < 0) {
+            n = n.negate();
+            d = d.negate();
+        }
+        BigInteger g = n.gcd(d);
+        if(!g.equals(BigInteger.ONE)) {
+            n = n.divide(g);
+            d = d.divide(g);
+        }
+        if(fitsLong(n) && fitsLong(d)) {
+            return reduced(n.longValue(), d.longValue());
+        }
+        return new RatNum(0, 1, n, d);
+    }
+
+    /**
+     * @param n a number
+     * @return true iff n can be held in a long whose negation is also a long
+     * @spec.requires n != null
+     */
+    private static boolean fitsLong(BigInteger n) {
+        return n.bitLength() < Long.SIZE && n.longValue() != Long.MIN_VALUE;
+    }
+
+    /**
+     * @return true iff this is held in BigIntegers
+     */
+    private boolean isBig() {
+        return bigNumer != null;
+    }
+
+    /**
+     * @return the numerator of this as a BigInteger
+     * @spec.requires !isNaN()
+     */
+    private BigInteger bigNumer() {
+        return isBig() ? bigNumer : BigInteger.valueOf(numer);
+    }
+
+    /**
+     * @return the denominator of this as a BigInteger
+     * @spec.requires !isNaN()
+     */
+    private BigInteger bigDenom() {
+        return isBig() ? bigDenom : BigInteger.valueOf(denom);
+    }
+
     /**
      * Throws an exception if the representation invariant is violated.
      */
     private void checkRep() {
-        assert (denom >= 0) : "Denominator of a RatNum cannot be less than zero";
-
-        if(denom > 0) {
-            int thisGcd = gcd(numer, denom);
-            assert (thisGcd == 1 || thisGcd == -1) : "RatNum not in lowest form";
+        // the gcd is only computed when assertions are enabled
+        if(isBig()) {
+            assert bigDenom != null && bigDenom.signum() > 0 : "Denominator of a RatNum must be positive";
+            assert bigNumer.gcd(bigDenom).equals(BigInteger.ONE) : "RatNum not in lowest form";
+            assert !(fitsLong(bigNumer) && fitsLong(bigDenom)) : "RatNum should be held in longs";
+        } else {
+            assert (denom >= 0) : "Denominator of a RatNum cannot be less than zero";
+            assert (numer != Long.MIN_VALUE) : "Numerator of a RatNum must be negatable";
+            assert (denom == 0 || Math.abs(gcd(numer, denom)) == 1) : "RatNum not in lowest form";
         }
     }
 
@@ -147,7 +371,8 @@ public final class RatNum extends Number implements Comparable<RatNum> {
     }
 
     /**
-     * Compares two RatNums.
+     * Compares two RatNums. Numbers held in longs are compared by cross-multiplying into 128 bits,
+     * so comparing does not allocate.
      *
      * @param rn the RatNum to be compared
      * @return a negative number if {@code this < rn}, 0 if this = rn, a positive number if {@code
@@ -162,9 +387,16 @@ public final class RatNum extends Number implements Comparable<RatNum> {
             return 1;
         } else if(rn.isNaN()) {
             return -1;
+        } else if(this.isBig() || rn.isBig()) {
+            return this.bigNumer().multiply(rn.bigDenom()).compareTo(rn.bigNumer().multiply(this.bigDenom()));
+        } else if(this.denom == rn.denom) {
+            return Long.compare(this.numer, rn.numer);
         } else {
-            RatNum diff = this.sub(rn);
-            return diff.numer;
+            // a/b vs x/y is ay vs xb, as b, y > 0; compare the high words, then the low words
+            long ay = this.numer * rn.denom;
+            long xb = rn.numer * this.denom;
+            int high = Long.compare(Math.multiplyHigh(this.numer, rn.denom), Math.multiplyHigh(rn.numer, this.denom));
+            return high != 0 ? high : Long.compareUnsigned(ay, xb);
         }
     }
 
@@ -181,30 +413,24 @@ public final class RatNum extends Number implements Comparable<RatNum> {
     public double doubleValue() {
         if(isNaN()) {
             return Double.NaN;
+        } else if(isBig()) {
+            // dividing the BigIntegers' doubles could give infinity / infinity; the quotient keeps
+            // 34 digits, well past the 17 a double needs
+            return new BigDecimal(bigNumer).divide(new BigDecimal(bigDenom), MathContext.DECIMAL128).doubleValue();
         } else {
-            // convert int values to doubles before dividing.
+            // convert long values to doubles before dividing.
             return ((double) numer) / ((double) denom);
         }
     }
 
     /**
      * Returns an integer approximation for this. The rational number is rounded to the nearest
-     * integer.
+     * integer, and values out of the range of int are clamped to Integer.MIN_VALUE or
+     * Integer.MAX_VALUE.
      */
     @Override
     public int intValue() {
-        // Round to nearest integer by adding +/- .5 before truncating division.
-        // We expect the implementation to use "round half away from zero".
-        // For more info, see http://en.wikipedia.org/wiki/Rounding#Round_half_away_from_zero
-
-        // Note that even though the result is guaranteed to fit in an int,
-        // we need to use longs for the computation because the
-        // intermediate results might not fit in an int.
-        if(numer >= 0) {
-            return (int) (((long) numer + (denom / 2)) / denom);
-        } else {
-            return (int) (((long) numer - (denom / 2)) / denom);
-        }
+        return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, longValue()));
     }
 
     /**
@@ -217,14 +443,28 @@ public final class RatNum extends Number implements Comparable<RatNum> {
 
     /**
      * Returns a long approximation for this. This method is specified by our superclass, Number. The
-     * value returned is rounded to the nearest long.
+     * value returned is rounded to the nearest long, and values out of the range of long are
+     * clamped to Long.MIN_VALUE or Long.MAX_VALUE.
      */
     @Override
     public long longValue() {
-        // The approximation is guaranteed to be within the representable
-        // range of int values (because the numerator and denominators are
-        // represented as int, not long), so returning intValue is correct.
-        return intValue();
+        // Round to nearest integer, rounding half away from zero.
+        // For more info, see http://en.wikipedia.org/wiki/Rounding#Round_half_away_from_zero
+        if(isBig()) {
+            BigInteger[] qr = bigNumer.divideAndRemainder(bigDenom);
+            BigInteger q = qr[0];
+            if(qr[1].abs().shiftLeft(1).compareTo(bigDenom) >= 0) {
+                q = q.add(BigInteger.valueOf(bigNumer.signum()));
+            }
+            if(q.bitLength() >= Long.SIZE) {
+                return q.signum() > 0 ? Long.MAX_VALUE : Long.MIN_VALUE;
+            }
+            return q.longValue();
+        }
+        // compare the remainder with the rest of the denominator, as doubling it could overflow
+        long q = numer / denom;
+        long r = Math.abs(numer % denom);
+        return r >= denom - r ? q + Long.signum(numer) : q;
     }
 
     // in the implementation comments for the following methods, <this>
@@ -236,7 +476,13 @@ public final class RatNum extends Number implements Comparable<RatNum> {
      * @return a Rational equal to (0 - this)
      */
     public RatNum negate() {
-        return new RatNum(-this.numer, this.denom);
+        if(isNaN()) {
+            return this;
+        } else if(isBig()) {
+            return new RatNum(0, 1, bigNumer.negate(), bigDenom);
+        } else {
+            return reduced(-numer, denom);
+        }
     }
 
     /**
@@ -247,8 +493,7 @@ public final class RatNum extends Number implements Comparable<RatNum> {
      * @spec.requires arg != null
      */
     public RatNum add(RatNum arg) {
-        // a/b + x/y = ay/by + bx/by = (ay + bx)/by
-        return new RatNum((this.numer * arg.denom) + (arg.numer * this.denom), this.denom * arg.denom);
+        return plus(arg, false);
     }
 
     /**
@@ -259,8 +504,38 @@ public final class RatNum extends Number implements Comparable<RatNum> {
      * @spec.requires arg != null
      */
     public RatNum sub(RatNum arg) {
-        // a/b - x/y = a/b + -x/y
-        return this.add(arg.negate());
+        return plus(arg, true);
+    }
+
+    /**
+     * Adds or subtracts a RatNum, in longs unless they overflow (helper procedure).
+     *
+     * @param arg      the other value
+     * @param subtract true to compute this - arg, false to compute this + arg
+     * @return a RatNum equal to (this + arg) or (this - arg). If either argument is NaN, then
+     * returns NaN.
+     * @spec.requires arg != null
+     */
+    private RatNum plus(RatNum arg, boolean subtract) {
+        if(this.isNaN() || arg.isNaN()) {
+            return NaN;
+        }
+        if(!this.isBig() && !arg.isBig()) {
+            // a/b + x/y = ay/by + bx/by = (ay + bx)/by; -x never overflows, by the rep invariant
+            long x = subtract ? -arg.numer : arg.numer;
+            try {
+                if(this.denom == arg.denom) {
+                    return of(Math.addExact(this.numer, x), this.denom);
+                }
+                return of(Math.addExact(Math.multiplyExact(this.numer, arg.denom), Math.multiplyExact(x, this.denom)),
+                          Math.multiplyExact(this.denom, arg.denom));
+            } catch(ArithmeticException e) {
+                // overflowed a long; redo it in BigIntegers below
+            }
+        }
+        BigInteger x = subtract ? arg.bigNumer().negate() : arg.bigNumer();
+        return of(this.bigNumer().multiply(arg.bigDenom()).add(x.multiply(this.bigDenom())),
+                  this.bigDenom().multiply(arg.bigDenom()));
     }
 
     /**
@@ -272,7 +547,24 @@ public final class RatNum extends Number implements Comparable<RatNum> {
      */
     public RatNum mul(RatNum arg) {
         // (a/b) * (x/y) = ax/by
-        return new RatNum(this.numer * arg.numer, this.denom * arg.denom);
+        if(this.isNaN() || arg.isNaN()) {
+            return NaN;
+        }
+        if(!this.isBig() && !arg.isBig()) {
+            if(this.numer == 0 || arg.numer == 0) {
+                return ZERO;
+            }
+            // cancel a with y and x with b first; a/b and x/y are reduced, so the product is too
+            long g1 = Math.abs(gcd(this.numer, arg.denom));
+            long g2 = Math.abs(gcd(arg.numer, this.denom));
+            try {
+                return reduced(Math.multiplyExact(this.numer / g1, arg.numer / g2),
+                               Math.multiplyExact(this.denom / g2, arg.denom / g1));
+            } catch(ArithmeticException e) {
+                // overflowed a long; redo it in BigIntegers below
+            }
+        }
+        return of(this.bigNumer().multiply(arg.bigNumer()), this.bigDenom().multiply(arg.bigDenom()));
     }
 
     /**
@@ -285,11 +577,30 @@ public final class RatNum extends Number implements Comparable<RatNum> {
      */
     public RatNum div(RatNum arg) {
         // (a/b) / (x/y) = ay/bx
-        if(arg.isNaN()) {
-            return arg;
-        } else {
-            return new RatNum(this.numer * arg.denom, this.denom * arg.numer);
+        if(this.isNaN() || arg.isNaN()) {
+            return NaN;
+        }
+        if(!this.isBig() && !arg.isBig()) {
+            if(arg.numer == 0) {
+                return NaN;
+            }
+            if(this.numer == 0) {
+                return ZERO;
+            }
+            // cancel a with x and b with y first; a/b and x/y are reduced, so the quotient is too
+            long g1 = Math.abs(gcd(this.numer, arg.numer));
+            long g2 = Math.abs(gcd(this.denom, arg.denom));
+            long x = arg.numer / g1;
+            long b = this.denom / g2;
+            try {
+                // the sign of the quotient goes on the numerator
+                return reduced(Math.multiplyExact(x < 0 ? -this.numer / g1 : this.numer / g1, arg.denom / g2),
+                               Math.multiplyExact(b, Math.abs(x)));
+            } catch(ArithmeticException e) {
+                // overflowed a long; redo it in BigIntegers below
+            }
         }
+        return of(this.bigNumer().multiply(arg.bigDenom()), this.bigDenom().multiply(arg.bigNumer()));
     }
 
     /**
@@ -299,13 +610,13 @@ public final class RatNum extends Number implements Comparable<RatNum> {
      * @return d such that a % d = 0 and b % d = 0
      * @spec.requires b != 0
      */
-    private static int gcd(int a, int b) {
+    private static long gcd(long a, long b) {
         // Euclid's method
         if(b == 0) {
             return 0;
         }
         while(b != 0) {
-            int tmp = b;
+            long tmp = b;
             b = a % b;
             a = tmp;
         }
@@ -323,7 +634,10 @@ public final class RatNum extends Number implements Comparable<RatNum> {
         if(this.isNaN()) {
             return 0;
         }
-        return (this.numer * 2) + (this.denom * 3);
+        if(this.isBig()) {
+            return (this.bigNumer.hashCode() * 2) + (this.bigDenom.hashCode() * 3);
+        }
+        return Long.hashCode((this.numer * 2) + (this.denom * 3));
     }
 
     /**
@@ -341,6 +655,10 @@ public final class RatNum extends Number implements Comparable<RatNum> {
             // special case: check if both are NaN
             if(this.isNaN() && rn.isNaN()) {
                 return true;
+            } else if(this.isBig() || rn.isBig()) {
+                // every number has one representation, so a number in longs never equals one in BigIntegers
+                return this.isBig() && rn.isBig() && this.bigNumer.equals(rn.bigNumer)
+                       && this.bigDenom.equals(rn.bigDenom);
             } else {
                 return (this.numer == rn.numer) && (this.denom == rn.denom);
             }
@@ -359,10 +677,12 @@ public final class RatNum extends Number implements Comparable<RatNum> {
         // using '+' as String concatenation operator in this method
         if(isNaN()) {
             return "NaN";
+        } else if(isBig()) {
+            return bigDenom.equals(BigInteger.ONE) ? bigNumer.toString() : bigNumer + "/" + bigDenom;
         } else if(denom != 1) {
             return numer + "/" + denom;
         } else {
-            return Integer.toString(numer);
+            return Long.toString(numer);
         }
     }
 
@@ -382,20 +702,33 @@ public final class RatNum extends Number implements Comparable<RatNum> {
     public static RatNum valueOf(String ratStr) {
         int slashLoc = ratStr.indexOf('/');
         if(ratStr.equals("NaN")) {
-            return new RatNum(1, 0);
+            return NaN;
         } else if(slashLoc == -1) {
-            // not NaN, and no slash, must be an Integer
-            return new RatNum(Integer.parseInt(ratStr));
+            // not NaN, and no slash, must be an integer
+            return valueOf(ratStr, "1");
         } else {
             // slash, need to parse the two parts separately
-            int n = Integer.parseInt(ratStr.substring(0, slashLoc));
-            int d = Integer.parseInt(ratStr.substring(slashLoc + 1, ratStr.length()));
-            return new RatNum(n, d);
+            return valueOf(ratStr.substring(0, slashLoc), ratStr.substring(slashLoc + 1));
+        }
+    }
+
+    /**
+     * Makes a RatNum from the strings of its numerator and denominator.
+     *
+     * @param n the numerator, an integer in decimal notation
+     * @param d the denominator, an integer in decimal notation
+     * @return a RatNum r = ( n / d ), or NaN if d is zero
+     */
+    private static RatNum valueOf(String n, String d) {
+        // up to 18 digits always fit in a long
+        if(n.length() <= 18 && d.length() <= 18) {
+            return of(Long.parseLong(n), Long.parseLong(d));
         }
+        return of(new BigInteger(n), new BigInteger(d));
     }
 
     /**
      * Any class that implements Serializable needs this field. Change it if you remove/add fields.
      */
-    private static final long serialVersionUID = -8593953691277016262L;
+    private static final long serialVersionUID = 4117512369853412771L;
 }
@@ -12,8 +12,12 @@
 package poly;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.StringTokenizer;
+import java.util.TreeMap;
 
 /**
  * <b>RatPoly</b> represents an immutable single-variate polynomial expression. RatPolys are sums of
@@ -29,6 +33,13 @@ public final class RatPoly {
      */
     private final List<RatTerm> terms;
 
+    /**
+     * Evaluates this RatPoly in doubles, or null until evaluator() first builds it. It caches a
+     * function of terms rather than adding to the abstract value, and an Evaluator is immutable,
+     * so threads that race to build it just build equal ones.
+     */
+    private Evaluator evaluator;
+
     // Definitions:
     // For a RatPoly p, let C(p,i) be "p.terms.get(i).getCoeff()" and
     // E(p,i) be "p.terms.get(i).getExpt()"
@@ -63,6 +74,21 @@ public final class RatPoly {
     // above
     // invariant.)
 
+    /**
+     * Products and quotients whose exponents up to the degree are at least 1/DENSE_FILL used are
+     * computed in a coefficient array indexed by exponent; sparser ones, such as "x^100000+1", in
+     * a map from exponent to coefficient, so the array never dwarfs the terms.
+     */
+    private static final int DENSE_FILL = 4;
+
+    /**
+     * Products of dense polynomials with at least this many coefficients each are computed by
+     * Karatsuba's method, which splits each operand in half and makes three half-size products
+     * where schoolbook multiplication makes four. Below it, the extra additions cost more than
+     * the saved multiplications.
+     */
+    static final int KARATSUBA_THRESHOLD = 32;
+
     /**
      * A constant holding a Not-a-Number (NaN) value of type RatPoly.
      */
@@ -104,7 +130,7 @@ public final class RatPoly {
     public RatPoly(int c, int e) {
         terms = new ArrayList<RatTerm>();
         if (c != 0) {
-            terms.add(new RatTerm(new RatNum(c), e));
+            terms.add(RatTerm.valueOf(RatNum.valueOf(c), e));
         }
         checkRep();
     }
@@ -182,31 +208,7 @@ public final class RatPoly {
         // Do not leave this method as-is. You must either use it somehow or remove it.
         // inv: 0 <= i < lst.size()
         for (int i = 0; i < lst.size(); i++) {
-            lst.set(i, new RatTerm(lst.get(i).getCoeff().mul(scalar), lst.get(i).getExpt()));
-        }
-    }
-
-    /**
-     * Increments exponents within 'lst' by 'degree' (helper procedure).
-     *
-     * @param lst    the RatTerms whose exponents are to be incremented
-     * @param degree the value by which to increment exponents in lst
-     * @spec.requires lst != null
-     * @spec.modifies lst
-     * @spec.effects Forall i s.t. 0 <= i < lst.size(), if (C . E) = lst.get(i) then lst_post.get(i) =
-     * (C . E+degree)
-     * @see RatTerm regarding (C . E) notation
-     */
-    private static void incremExpt(List<RatTerm> lst, int degree) {
-        // Do not leave this method as-is. You must either use it somehow or remove it.
-        // inv: 0 <= i < lst.size()
-        for (int i = 0; i < lst.size(); i++) {
-            int expt = lst.get(i).getExpt();
-            lst.set(i, new RatTerm(lst.get(i).getCoeff(), expt + degree));
-            if (expt < 0) {
-                lst.remove(i);
-                i--;
-            }
+            lst.set(i, RatTerm.valueOf(lst.get(i).getCoeff().mul(scalar), lst.get(i).getExpt()));
         }
     }
 
@@ -233,6 +235,11 @@ public final class RatPoly {
     private static void sortedInsert(List<RatTerm> lst, RatTerm newTerm) {
         // Note: Some of the provided code in this class relies on this method working as-specified.
         if (!newTerm.isZero()) {
+            // terms usually arrive in descending order, as valueOf reads them, so try the end first
+            if (lst.isEmpty() || lst.get(lst.size() - 1).getExpt() > newTerm.getExpt()) {
+                lst.add(newTerm);
+                return;
+            }
             boolean inserted = false;
             int i = 0;
             // inv: 0 <= i < lst.size() and inserted is false
@@ -268,7 +275,7 @@ public final class RatPoly {
             return NaN;
         }
         List<RatTerm> tmp = new ArrayList<>(terms);
-        scaleCoeff(tmp, new RatNum(-1));
+        scaleCoeff(tmp, RatNum.valueOf(-1));
         return new RatPoly(tmp);
     }
 
@@ -284,12 +291,7 @@ public final class RatPoly {
         if (this.isNaN() || p.isNaN()) {
             return NaN;
         }
-        List<RatTerm> res = new ArrayList<>(p.terms);
-        // inv: the current RatTerm being checked is within the range of terms elements
-        for (RatTerm rt: terms) {
-            sortedInsert(res, rt);
-        }
-        return new RatPoly(res);
+        return new RatPoly(merge(terms, p.terms, false));
     }
 
     /**
@@ -301,7 +303,46 @@ public final class RatPoly {
      * @spec.requires p != null
      */
     public RatPoly sub(RatPoly p) {
-        return add(p.negate());
+        if (this.isNaN() || p.isNaN()) {
+            return NaN;
+        }
+        return new RatPoly(merge(terms, p.terms, true));
+    }
+
+    /**
+     * Adds or subtracts two sorted term lists in one pass, the way merge sort merges (helper
+     * procedure).
+     *
+     * @param a        the terms of the first operand
+     * @param b        the terms of the second operand
+     * @param subtract true to compute a - b, false to compute a + b
+     * @return a new list of the terms of a + b or a - b, sorted, with no zero coefficients
+     * @spec.requires a, b != null && sorted(a) && sorted(b) && no coefficient of a or b is NaN
+     */
+    private static List<RatTerm> merge(List<RatTerm> a, List<RatTerm> b, boolean subtract) {
+        List<RatTerm> res = new ArrayList<>(a.size() + b.size());
+        int i = 0;
+        int j = 0;
+        // inv: res holds the sum or difference of a[0..i) and b[0..j), whose exponents are all
+        // greater than those of a[i..] and b[j..]
+        while (i < a.size() || j < b.size()) {
+            int ea = i < a.size() ? a.get(i).getExpt() : -1;
+            int eb = j < b.size() ? b.get(j).getExpt() : -1;
+            if (ea > eb) {
+                res.add(a.get(i++));
+            } else if (eb > ea) {
+                RatTerm rt = b.get(j++);
+                res.add(subtract ? rt.negate() : rt);
+            } else {
+                RatNum ca = a.get(i++).getCoeff();
+                RatNum cb = b.get(j++).getCoeff();
+                RatNum c = subtract ? ca.sub(cb) : ca.add(cb);
+                if (!c.equals(RatNum.ZERO)) {
+                    res.add(RatTerm.valueOf(c, ea));
+                }
+            }
+        }
+        return res;
     }
 
     /**
@@ -316,13 +357,198 @@ public final class RatPoly {
         if (this.isNaN() || p.isNaN()) {
             return NaN;
         }
-        RatPoly res = new RatPoly();
-        // inv: the current RatTerm being checked is within the range of terms elements
-        for (RatTerm rt: terms) {
-            List<RatTerm> tmp = new ArrayList<>(p.terms);
-            scaleCoeff(tmp, rt.getCoeff());
-            incremExpt(tmp, rt.getExpt());
-            res = res.add(new RatPoly(tmp));
+        if (Math.min(degree(), p.degree()) + 1 >= KARATSUBA_THRESHOLD
+                && isDense(degree(), terms.size()) && isDense(p.degree(), p.terms.size())) {
+            return new RatPoly(fromDense(karatsuba(toDense(), p.toDense())));
+        }
+        return mulSchoolbook(p);
+    }
+
+    /**
+     * Multiplication operation by the schoolbook method, multiplying every term of this by every
+     * term of p. mul uses it for sparse and small polynomials; it is package-private so that
+     * benchmarks can compare it with mul.
+     *
+     * @param p the other value to be multiplied
+     * @return a RatPoly, r, such that r = "this * p"; if this.isNaN() or p.isNaN(), returns some r
+     * such that r.isNaN()
+     * @spec.requires p != null
+     */
+    RatPoly mulSchoolbook(RatPoly p) {
+        if (this.isNaN() || p.isNaN()) {
+            return NaN;
+        }
+        if (terms.isEmpty() || p.terms.isEmpty()) {
+            return ZERO;
+        }
+        int degree = degree() + p.degree();
+        if (isDense(degree, (long) terms.size() * p.terms.size())) {
+            RatNum[] coeffs = new RatNum[degree + 1];
+            // inv: coeffs[k] = the sum of the products of the terms visited so far whose exponents add to k
+            for (RatTerm a : terms) {
+                for (RatTerm b : p.terms) {
+                    int k = a.getExpt() + b.getExpt();
+                    RatNum product = a.getCoeff().mul(b.getCoeff());
+                    coeffs[k] = coeffs[k] == null ? product : coeffs[k].add(product);
+                }
+            }
+            return new RatPoly(fromDense(coeffs));
+        }
+        Map<Integer, RatNum> coeffs = new TreeMap<>(Collections.reverseOrder());
+        // inv: coeffs maps k to the sum of the products of the terms visited so far whose exponents add to k
+        for (RatTerm a : terms) {
+            for (RatTerm b : p.terms) {
+                coeffs.merge(a.getExpt() + b.getExpt(), a.getCoeff().mul(b.getCoeff()), RatNum::add);
+            }
+        }
+        List<RatTerm> res = new ArrayList<>(coeffs.size());
+        for (Map.Entry<Integer, RatNum> entry : coeffs.entrySet()) {
+            if (!entry.getValue().equals(RatNum.ZERO)) {
+                res.add(RatTerm.valueOf(entry.getValue(), entry.getKey()));
+            }
+        }
+        return new RatPoly(res);
+    }
+
+    /**
+     * Multiplies two polynomials by Karatsuba's method (helper procedure). Writing a = a0 + a1*x^m
+     * and b = b0 + b1*x^m, a*b = z0 + z1*x^m + z2*x^2m, where z0 = a0*b0, z2 = a1*b1 and
+     * z1 = (a0 + a1)*(b0 + b1) - z0 - z2. An operand longer than the other is cut into pieces as
+     * long as the shorter one (the last piece may be shorter), so each split is of two operands of
+     * the same length.
+     *
+     * @param a the coefficients of one polynomial, indexed by exponent
+     * @param b the coefficients of the other polynomial, indexed by exponent
+     * @return the coefficients of a*b, indexed by exponent
+     * @spec.requires a and b are non-empty and contain no nulls
+     */
+    private static RatNum[] karatsuba(RatNum[] a, RatNum[] b) {
+        if (a.length < b.length) {
+            return karatsuba(b, a);
+        }
+        int n = b.length;
+        if (n < KARATSUBA_THRESHOLD) {
+            return schoolbook(a, b);
+        }
+        RatNum[] res = zeros(a.length + n - 1);
+        if (a.length > n) {
+            // inv: res = (a[0..start) as a polynomial) * b
+            for (int start = 0; start < a.length; start += n) {
+                RatNum[] piece = Arrays.copyOfRange(a, start, Math.min(start + n, a.length));
+                addInto(res, karatsuba(piece, b), start, false);
+            }
+            return res;
+        }
+        int m = n / 2;
+        RatNum[] a0 = Arrays.copyOfRange(a, 0, m);
+        RatNum[] a1 = Arrays.copyOfRange(a, m, n);
+        RatNum[] b0 = Arrays.copyOfRange(b, 0, m);
+        RatNum[] b1 = Arrays.copyOfRange(b, m, n);
+        RatNum[] z0 = karatsuba(a0, b0);
+        RatNum[] z2 = karatsuba(a1, b1);
+        // a1 and b1 are at least as long as a0 and b0, so they hold the sums
+        addInto(a1, a0, 0, false);
+        addInto(b1, b0, 0, false);
+        RatNum[] z1 = karatsuba(a1, b1);
+        addInto(z1, z0, 0, true);
+        addInto(z1, z2, 0, true);
+        addInto(res, z0, 0, false);
+        addInto(res, z1, m, false);
+        addInto(res, z2, 2 * m, false);
+        return res;
+    }
+
+    /**
+     * Multiplies two polynomials by the schoolbook method (helper procedure).
+     *
+     * @param a the coefficients of one polynomial, indexed by exponent
+     * @param b the coefficients of the other polynomial, indexed by exponent
+     * @return the coefficients of a*b, indexed by exponent
+     * @spec.requires a and b are non-empty and contain no nulls
+     */
+    private static RatNum[] schoolbook(RatNum[] a, RatNum[] b) {
+        RatNum[] res = zeros(a.length + b.length - 1);
+        // inv: res = (a[0..i) as a polynomial) * b
+        for (int i = 0; i < a.length; i++) {
+            if (a[i].equals(RatNum.ZERO)) {
+                continue;
+            }
+            for (int j = 0; j < b.length; j++) {
+                if (!b[j].equals(RatNum.ZERO)) {
+                    res[i + j] = res[i + j].add(a[i].mul(b[j]));
+                }
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Adds or subtracts one coefficient array into another (helper procedure).
+     *
+     * @param dst      the coefficients to add to
+     * @param src      the coefficients to add
+     * @param offset   the exponent by which src is shifted
+     * @param subtract true to subtract src instead of adding it
+     * @spec.requires offset + src.length <= dst.length and neither array contains nulls
+     * @spec.modifies dst
+     * @spec.effects dst_post[offset + i] = dst[offset + i] + src[i] (or - src[i] if subtract), for
+     * 0 <= i < src.length
+     */
+    private static void addInto(RatNum[] dst, RatNum[] src, int offset, boolean subtract) {
+        for (int i = 0; i < src.length; i++) {
+            if (!src[i].equals(RatNum.ZERO)) {
+                RatNum d = dst[offset + i];
+                dst[offset + i] = subtract ? d.sub(src[i]) : d.add(src[i]);
+            }
+        }
+    }
+
+    /**
+     * @param length the length of the array
+     * @return an array of length zero coefficients
+     */
+    private static RatNum[] zeros(int length) {
+        RatNum[] res = new RatNum[length];
+        Arrays.fill(res, RatNum.ZERO);
+        return res;
+    }
+
+    /**
+     * @return the coefficients of this, indexed by exponent
+     * @spec.requires !this.isNaN()
+     */
+    private RatNum[] toDense() {
+        RatNum[] res = zeros(degree() + 1);
+        for (RatTerm rt : terms) {
+            res[rt.getExpt()] = rt.getCoeff();
+        }
+        return res;
+    }
+
+    /**
+     * Decides whether a result is better computed in a coefficient array (helper procedure).
+     *
+     * @param degree the degree of the result
+     * @param terms  about how many terms the result is built from
+     * @return true iff an array of degree + 1 coefficients is not much larger than terms
+     */
+    private static boolean isDense(int degree, long terms) {
+        return degree + 1L <= DENSE_FILL * terms;
+    }
+
+    /**
+     * Collects the terms of a coefficient array (helper procedure).
+     *
+     * @param coeffs the coefficient of each exponent, or null for zero
+     * @return the sorted list of the non-zero terms of coeffs
+     * @spec.requires coeffs != null
+     */
+    private static List<RatTerm> fromDense(RatNum[] coeffs) {
+        List<RatTerm> res = new ArrayList<>();
+        for (int k = coeffs.length - 1; k >= 0; k--) {
+            if (coeffs[k] != null && !coeffs[k].equals(RatNum.ZERO)) {
+                res.add(RatTerm.valueOf(coeffs[k], k));
+            }
         }
         return res;
     }
@@ -364,6 +590,34 @@ public final class RatPoly {
         if (p.equals(ZERO) || this.isNaN() || p.isNaN()) {
             return NaN;
         }
+        if (degree() < p.degree()) {
+            return ZERO;
+        }
+        if (isDense(degree(), terms.size())) {
+            // long division on the coefficients: each step takes the next quotient coefficient from
+            // the leading remainder coefficient and subtracts that multiple of p from the remainder
+            RatNum[] rem = new RatNum[degree() + 1];
+            for (RatTerm rt : terms) {
+                rem[rt.getExpt()] = rt.getCoeff();
+            }
+            RatNum lead = p.terms.get(0).getCoeff();
+            int shift = p.degree();
+            RatNum[] quotient = new RatNum[degree() - shift + 1];
+            // inv: this = (sum of quotient[k+1..] * x^k) * p + (sum of rem[0..k+shift] * x^k)
+            for (int k = quotient.length - 1; k >= 0; k--) {
+                if (rem[k + shift] == null || rem[k + shift].equals(RatNum.ZERO)) {
+                    continue;
+                }
+                RatNum q = rem[k + shift].div(lead);
+                quotient[k] = q;
+                for (RatTerm rt : p.terms) {
+                    int e = k + rt.getExpt();
+                    RatNum product = q.mul(rt.getCoeff());
+                    rem[e] = rem[e] == null ? product.negate() : rem[e].sub(product);
+                }
+            }
+            return new RatPoly(fromDense(quotient));
+        }
         List<RatTerm> res = new ArrayList<>();
         RatPoly tmp = new RatPoly(new ArrayList<>(this.terms));
         // inv: tmp.terms is not empty and the expt of tmp >= the expt of p
@@ -423,7 +677,7 @@ public final class RatPoly {
                 res.add(term.antiDifferentiate());
             }
             if (!integrationConstant.equals(RatNum.ZERO)) {
-                res.add(new RatTerm(integrationConstant, 0));
+                res.add(RatTerm.valueOf(integrationConstant, 0));
             }
             return new RatPoly(res);
         }
@@ -446,8 +700,7 @@ public final class RatPoly {
         if (this.isNaN() || Double.isNaN(lowerBound) || Double.isNaN(upperBound)) {
             return Double.NaN;
         } else {
-            RatPoly res = antiDifferentiate(RatNum.ZERO);
-            return (res.eval(upperBound) - res.eval(lowerBound));
+            return evaluator().integrate(lowerBound, upperBound);
         }
     }
 
@@ -459,16 +712,21 @@ public final class RatPoly {
      * is 5, and "x^2-x" evaluated at 3 is 6. If (this.isNaN() == true), return Double.NaN.
      */
     public double eval(double d) {
-        if (this.isNaN()) {
-            return Double.NaN;
-        } else {
-            double res = 0.0;
-            // inv: the current RatTerm being checked is within the range of terms elements
-            for (RatTerm rt : terms) {
-                res += rt.eval(d);
-            }
-            return res;
+        return evaluator().eval(d);
+    }
+
+    /**
+     * Returns an Evaluator for this RatPoly, for evaluating it at many points.
+     *
+     * @return an Evaluator whose values are those of this polynomial
+     */
+    public Evaluator evaluator() {
+        Evaluator res = evaluator;
+        if (res == null) {
+            res = new Evaluator(terms);
+            evaluator = res;
         }
+        return res;
     }
 
     /**
@@ -598,11 +856,167 @@ public final class RatPoly {
         assert (terms != null);
 
         for(int i = 0; i < terms.size(); i++) {
-            assert (!terms.get(i).getCoeff().equals(new RatNum(0))) : "zero coefficient";
+            assert (!terms.get(i).getCoeff().equals(RatNum.ZERO)) : "zero coefficient";
             assert (terms.get(i).getExpt() >= 0) : "negative exponent";
 
             if(i < terms.size() - 1)
                 assert (terms.get(i + 1).getExpt() < terms.get(i).getExpt()) : "terms out of order";
         }
     }
+
+    /**
+     * <b>Evaluator</b> is an immutable, compiled form of a RatPoly for evaluating it quickly in
+     * doubles. The coefficients are converted to doubles once, and each evaluation runs Horner's
+     * scheme over the terms, multiplying by x once per degree between consecutive terms rather
+     * than raising x to every exponent, so it allocates nothing and calls Math.pow only to skip
+     * over gaps of more than two degrees in a sparse polynomial.
+     */
+    public static final class Evaluator {
+
+        // Abstraction Function:
+        // An Evaluator e evaluates the polynomial
+        // sum (0 <= i < coeffs.length): coeffs[i] * x^(lowest + gaps[i] + ... + gaps[coeffs.length - 1])
+        // where gaps[coeffs.length - 1] is taken as 0, and the antiderivative
+        // sum (0 <= i < coeffs.length): integralCoeffs[i] * x^(lowest + 1 + gaps[i] + ... )
+        //
+        // Representation Invariant:
+        // coeffs, integralCoeffs, gaps != null &&
+        // coeffs.length == integralCoeffs.length == gaps.length &&
+        // forall i such that (0 <= i < gaps.length - 1), gaps[i] > 0 &&
+        // (gaps.length == 0 || gaps[gaps.length - 1] == 0) && lowest >= 0
+
+        /**
+         * The coefficients of the terms, from highest degree to lowest.
+         */
+        private final double[] coeffs;
+
+        /**
+         * The coefficients of the antiderivative's terms, from highest degree to lowest.
+         */
+        private final double[] integralCoeffs;
+
+        /**
+         * The difference between the exponents of each term and the next, and 0 for the last.
+         */
+        private final int[] gaps;
+
+        /**
+         * The exponent of the lowest-degree term.
+         */
+        private final int lowest;
+
+        /**
+         * @param terms the terms of a RatPoly
+         * @spec.requires terms satisfies the rep invariant of RatPoly
+         * @spec.effects Constructs an Evaluator of the sum of terms.
+         */
+        private Evaluator(List<RatTerm> terms) {
+            int n = terms.size();
+            coeffs = new double[n];
+            integralCoeffs = new double[n];
+            gaps = new int[n];
+            // inv: coeffs, integralCoeffs and gaps hold the terms before i
+            for (int i = 0; i < n; i++) {
+                RatTerm rt = terms.get(i);
+                coeffs[i] = rt.getCoeff().doubleValue();
+                integralCoeffs[i] = coeffs[i] / (rt.getExpt() + 1.0);
+                gaps[i] = i + 1 < n ? rt.getExpt() - terms.get(i + 1).getExpt() : 0;
+            }
+            lowest = n == 0 ? 0 : terms.get(n - 1).getExpt();
+        }
+
+        /**
+         * Evaluates the polynomial.
+         *
+         * @param x the value at which to evaluate the polynomial
+         * @return the value of the polynomial at x, or Double.NaN if it is NaN
+         */
+        public double eval(double x) {
+            return horner(coeffs, x, lowest);
+        }
+
+        /**
+         * Evaluates the polynomial at evenly spaced points.
+         *
+         * @param start the first point
+         * @param step  the distance between consecutive points
+         * @param out   receives the value of the polynomial at start + i * step in out[i]
+         * @spec.requires out != null
+         * @spec.modifies out
+         */
+        public void evalRange(double start, double step, double[] out) {
+            // inv: out[0..i) hold the values at the first i points
+            for (int i = 0; i < out.length; i++) {
+                out[i] = horner(coeffs, start + i * step, lowest);
+            }
+        }
+
+        /**
+         * Evaluates the polynomial at evenly spaced points, in floats for plotting. Each point is
+         * computed in float arithmetic, as start + i * step, so callers that compute their x
+         * values the same way get exactly the points evaluated.
+         *
+         * @param start the first point
+         * @param step  the distance between consecutive points
+         * @param out   receives the value of the polynomial at start + i * step in out[i]
+         * @spec.requires out != null
+         * @spec.modifies out
+         */
+        public void evalRange(float start, float step, float[] out) {
+            // inv: out[0..i) hold the values at the first i points
+            for (int i = 0; i < out.length; i++) {
+                out[i] = (float) horner(coeffs, start + i * step, lowest);
+            }
+        }
+
+        /**
+         * Integrates the polynomial.
+         *
+         * @param lowerBound the lower bound of integration
+         * @param upperBound the upper bound of integration
+         * @return the definite integral of the polynomial from lowerBound to upperBound
+         */
+        public double integrate(double lowerBound, double upperBound) {
+            return horner(integralCoeffs, upperBound, lowest + 1)
+                   - horner(integralCoeffs, lowerBound, lowest + 1);
+        }
+
+        /**
+         * Evaluates a polynomial by Horner's scheme (helper procedure).
+         *
+         * @param c      the coefficients of the polynomial's terms, spaced by gaps
+         * @param x      the value at which to evaluate it
+         * @param lowest the exponent of the last term
+         * @return the value of the polynomial at x
+         */
+        private double horner(double[] c, double x, int lowest) {
+            if (c.length == 0) {
+                return 0.0;
+            }
+            double res = c[0];
+            // inv: with E(j) the exponent of term j, res * x^E(i-1) = sum (0 <= j < i): c[j] * x^E(j)
+            for (int i = 1; i < c.length; i++) {
+                res = res * power(x, gaps[i - 1]) + c[i];
+            }
+            return res * power(x, lowest);
+        }
+
+        /**
+         * @param x a value
+         * @param n an exponent, {@code n >= 0}
+         * @return x^n
+         */
+        private static double power(double x, int n) {
+            switch (n) {
+                case 0:
+                    return 1.0;
+                case 1:
+                    return x;
+                case 2:
+                    return x * x;
+                default:
+                    return Math.pow(x, n);
+            }
+        }
+    }
 }
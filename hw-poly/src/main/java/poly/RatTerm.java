@@ -63,7 +63,34 @@ public final class RatTerm {
     /**
      * A constant holding the value {@code 1}, of type RatNum.
      */
-    private static final RatNum ONE = new RatNum(1);
+    private static final RatNum ONE = RatNum.valueOf(1);
+
+    /**
+     * A constant holding the value {@code -1}, of type RatNum.
+     */
+    private static final RatNum NEG_ONE = RatNum.valueOf(-1);
+
+    /**
+     * valueOf shares one instance of each of "x^e" and "-x^e" for 0 <= e < CACHE_EXPT.
+     */
+    private static final int CACHE_EXPT = 64;
+
+    /**
+     * The shared instances of "x^e", indexed by e.
+     */
+    private static final RatTerm[] POWERS = new RatTerm[CACHE_EXPT];
+
+    /**
+     * The shared instances of "-x^e", indexed by e.
+     */
+    private static final RatTerm[] NEG_POWERS = new RatTerm[CACHE_EXPT];
+
+    static {
+        for (int e = 0; e < CACHE_EXPT; e++) {
+            POWERS[e] = new RatTerm(ONE, e);
+            NEG_POWERS[e] = new RatTerm(NEG_ONE, e);
+        }
+    }
 
     /**
      * @param c the coefficient of the RatTerm to be constructed
@@ -82,6 +109,30 @@ public final class RatTerm {
         checkRep();
     }
 
+    /**
+     * Returns a RatTerm with the given coefficient and exponent, shared with other calls where it
+     * is one of the common terms "0", "x^e" or "-x^e" for small e.
+     *
+     * @param c the coefficient of the RatTerm
+     * @param e the exponent of the RatTerm
+     * @return a RatTerm t, with t.coeff = c, and if c.equals(RatNum.ZERO), then t.expt = 0,
+     * otherwise t.expt = e
+     * @spec.requires c != null
+     */
+    public static RatTerm valueOf(RatNum c, int e) {
+        if (c.equals(RatNum.ZERO)) {
+            return ZERO;
+        }
+        if (e >= 0 && e < CACHE_EXPT) {
+            if (c.equals(ONE)) {
+                return POWERS[e];
+            } else if (c.equals(NEG_ONE)) {
+                return NEG_POWERS[e];
+            }
+        }
+        return new RatTerm(c, e);
+    }
+
     /**
      * Gets the coefficient of this RatTerm.
      *
@@ -141,7 +192,7 @@ public final class RatTerm {
         if (isNaN()) {
             return NaN;
         }
-        return new RatTerm(coeff.negate(), expt);
+        return valueOf(coeff.negate(), expt);
     }
 
     /**
@@ -159,7 +210,7 @@ public final class RatTerm {
         } else if (this.isNaN() || arg.isNaN()) {
             return NaN;
         } else {
-            return new RatTerm(this.coeff.add(arg.coeff), this.isZero() ? arg.expt : this.expt);
+            return valueOf(this.coeff.add(arg.coeff), this.isZero() ? arg.expt : this.expt);
         }
     }
 
@@ -187,7 +238,7 @@ public final class RatTerm {
         if (this.isNaN() || arg.isNaN()) {
             return NaN;
         }
-        return new RatTerm(this.coeff.mul(arg.coeff), this.expt + arg.expt);
+        return valueOf(this.coeff.mul(arg.coeff), this.expt + arg.expt);
     }
 
     /**
@@ -202,7 +253,7 @@ public final class RatTerm {
         if (arg.isZero() || arg.isNaN() || this.isNaN()) {
             return NaN;
         }
-        return new RatTerm(this.coeff.div(arg.coeff), this.expt - arg.expt);
+        return valueOf(this.coeff.div(arg.coeff), this.expt - arg.expt);
     }
 
     /**
@@ -220,7 +271,7 @@ public final class RatTerm {
         } else if (this.expt == 0) {
             return ZERO;
         } else {
-            return new RatTerm(this.coeff.mul(new RatNum(this.expt)), this.expt - 1);
+            return valueOf(this.coeff.mul(RatNum.valueOf(this.expt)), this.expt - 1);
         }
     }
 
@@ -238,7 +289,7 @@ public final class RatTerm {
         if (this.isNaN()) {
             return NaN;
         }
-        return new RatTerm(this.coeff.div(new RatNum(this.expt + 1)), this.expt + 1);
+        return valueOf(this.coeff.div(RatNum.valueOf(this.expt + 1)), this.expt + 1);
     }
 
     /**
@@ -312,11 +363,11 @@ public final class RatTerm {
                 int negIndex = termStr.indexOf("-");
                 // "x^N" or "x" ==> coeff = 1
                 if(negIndex == -1) {
-                    coeff = new RatNum(1);
+                    coeff = ONE;
                 }
                 // "-x^N" or "-x" ==> coeff = -1
                 else if(negIndex == 0) {
-                    coeff = new RatNum(-1);
+                    coeff = NEG_ONE;
                 } else {
                     throw new RuntimeException(
                             "Minus sign, '-', not allowed in the middle of input string: " + termStr);
@@ -344,7 +395,7 @@ public final class RatTerm {
             // "R*x^N" or "x^N"
             expt = Integer.parseInt(termStr.substring(powIndex + 1));
         }
-        return new RatTerm(coeff, expt);
+        return valueOf(coeff, expt);
     }
 
     /**
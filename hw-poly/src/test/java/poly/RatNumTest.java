@@ -390,18 +390,21 @@ public final class RatNumTest {
     ///////////////////////////////////////////////////////////////////////////////////////
 
     @Test
-    public void testIntValueUnsupported() {
-        if(false) {
-            // Note that these tests fail because our RatNum implementation
-            // can't represent the fractions in question. Can you think of
-            // a tweak to the representation invariant which would allow us
-            // to represent these values?
-            assertEquals(
-                    "(MIN_VALUE+1)/MIN_VALUE should round to 1",
-                    1,
-                    new RatNum(Integer.MIN_VALUE + 1, Integer.MIN_VALUE).intValue());
-            assertEquals("1/MIN_VALUE should round to 0", 0, new RatNum(1, Integer.MIN_VALUE).intValue());
-        }
+    public void testIntValueMinValueDenominator() {
+        // these need the denominator negated, which does not fit in an int
+        assertEquals(
+                "(MIN_VALUE+1)/MIN_VALUE should round to 1",
+                1,
+                new RatNum(Integer.MIN_VALUE + 1, Integer.MIN_VALUE).intValue());
+        assertEquals("1/MIN_VALUE should round to 0", 0, new RatNum(1, Integer.MIN_VALUE).intValue());
+    }
+
+    @Test
+    public void testIntValueClamped() {
+        RatNum max = new RatNum(Integer.MAX_VALUE);
+        assertEquals(Integer.MAX_VALUE, max.mul(max).intValue());
+        assertEquals(Integer.MIN_VALUE, max.mul(max).negate().intValue());
+        assertEquals(Long.MAX_VALUE, max.mul(max).mul(max).longValue());
     }
 
     @Test
@@ -709,6 +712,31 @@ public final class RatNumTest {
         decChk("-6/-4", three_I_two);
     }
 
+    @Test
+    public void testValueOfLarge() {
+        eq(RatNum.valueOf("12345678901234567890/2"), "6172839450617283945");
+        eq(RatNum.valueOf("-100000000000000000000000/300000000000000000000000"), "-1/3");
+        eq(RatNum.valueOf("99999999999999999999999"), "99999999999999999999999");
+    }
+
+    @Test
+    public void testValueOfInts() {
+        assertEquals(three_I_four, RatNum.valueOf(3, 4));
+        assertEquals(negOne_I_two, RatNum.valueOf(2, -4));
+        assertEquals(new RatNum(1000, 7), RatNum.valueOf(1000, 7));
+        assertEquals(new RatNum(Integer.MIN_VALUE), RatNum.valueOf(Integer.MIN_VALUE));
+        assertTrue(RatNum.valueOf(1, 0).isNaN());
+    }
+
+    @Test
+    public void testValueOfShared() {
+        assertSame(RatNum.valueOf(1, 2), RatNum.valueOf(2, 4));
+        assertSame(RatNum.valueOf(-3), RatNum.valueOf(6, -2));
+        assertSame(RatNum.ZERO, RatNum.valueOf(0, 5));
+        assertSame(RatNum.valueOf(1, 3), one.div(three));
+        assertSame(RatNum.ZERO, one_I_two.sub(one_I_two));
+    }
+
     @Test
     public void testValueOfNa() {
         decChk("NaN", one_I_zero);
@@ -1101,6 +1129,66 @@ public final class RatNumTest {
         eq(one_I_zero.div(one_I_zero.div(one_I_zero)), "NaN");
     }
 
+    ///////////////////////////////////////////////////////////////////////////////////////
+    ////  Overflow Test
+    ///////////////////////////////////////////////////////////////////////////////////////
+
+    @Test
+    public void testMulPastInt() {
+        RatNum max = new RatNum(Integer.MAX_VALUE);
+        eq(max.mul(max), "4611686014132420609");
+        eq(max.mul(max).div(max), Integer.toString(Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void testMulPastLong() {
+        RatNum big = new RatNum(1);
+        RatNum base = new RatNum(1000000);
+        for(int i = 0; i < 5; i++) {
+            big = big.mul(base);
+        }
+        eq(big, "1000000000000000000000000000000");
+        eq(big.add(one), "1000000000000000000000000000001");
+        eq(big.sub(big), "0");
+        eq(one.div(big).mul(big), "1");
+        eq(big.negate().div(big.mul(two)), "-1/2");
+        assertEquals(1e30, big.doubleValue(), 1e15);
+    }
+
+    @Test
+    public void testAddPastLong() {
+        RatNum sum = zero;
+        RatNum denom = one;
+        // 1 + 1/2 + 1/4 + ... + 1/2^99 = 2 - 1/2^99
+        for(int i = 0; i < 100; i++) {
+            sum = sum.add(one.div(denom));
+            denom = denom.mul(two);
+        }
+        assertEquals(two.sub(two.div(denom)), sum);
+        assertEquals(2.0, sum.doubleValue(), 1e-15);
+    }
+
+    @Test
+    public void testDoubleValuePastLongKeepsPrecision() {
+        // 1 + 1/2^52 + 1/2^116 is nearest to the double just above 1, which takes 17 digits to tell apart
+        RatNum twoTo52 = one;
+        for(int i = 0; i < 52; i++) {
+            twoTo52 = twoTo52.mul(two);
+        }
+        RatNum twoTo116 = twoTo52.mul(twoTo52).mul(new RatNum(1 << 12));
+        RatNum justAboveOne = one.add(one.div(twoTo52)).add(one.div(twoTo116));
+        assertEquals(Math.nextUp(1.0), justAboveOne.doubleValue(), 0.0);
+    }
+
+    @Test
+    public void testEqualsAcrossRepresentations() {
+        RatNum big = new RatNum(Integer.MAX_VALUE).mul(new RatNum(Integer.MAX_VALUE)).mul(new RatNum(4));
+        RatNum back = big.div(new RatNum(4));
+        assertEquals(new RatNum(Integer.MAX_VALUE).mul(new RatNum(Integer.MAX_VALUE)), back);
+        assertEquals(back.hashCode(), new RatNum(Integer.MAX_VALUE).mul(new RatNum(Integer.MAX_VALUE)).hashCode());
+        assertNotEquals(big, back);
+    }
+
     ///////////////////////////////////////////////////////////////////////////////////////
     ////  Compare Test
     ///////////////////////////////////////////////////////////////////////////////////////
@@ -1143,6 +1231,19 @@ public final class RatNumTest {
         assertGreater(zero, negOne_I_two);
     }
 
+    @Test
+    public void testCompareToLarge() {
+        RatNum max = new RatNum(Integer.MAX_VALUE);
+        RatNum huge = max.mul(max).mul(max);
+        assertGreater(huge, max);
+        assertGreater(huge.add(one), huge);
+        assertGreater(negOne, huge.negate());
+        // the cross products of these overflow a long
+        assertGreater(RatNum.valueOf("4611686018427387901/4611686018427387899"),
+                      RatNum.valueOf("4611686018427387903/4611686018427387901"));
+        assertEquals(0, huge.compareTo(huge.add(zero)));
+    }
+
     @Test
     public void testCompareToNaNs() {
         for(int i = 0; i < ratNaNs.length; i++) {
@@ -574,6 +574,64 @@ public final class RatPolyTest {
         eq(poly(1, 1).sub(poly(1, 0)).mul(poly(1, 1).add(poly(1, 0))), "x^2-1");
     }
 
+    @Test // (x+1)^10 * (x-1)^10 == (x^2-1)^10, all dense
+    public void testMulDense() {
+        RatPoly plus = RatPoly.valueOf("1");
+        RatPoly minus = RatPoly.valueOf("1");
+        RatPoly square = RatPoly.valueOf("1");
+        for (int i = 0; i < 10; i++) {
+            plus = plus.mul(valueOf("x+1"));
+            minus = minus.mul(valueOf("x-1"));
+            square = square.mul(valueOf("x^2-1"));
+        }
+        assertEquals(square, plus.mul(minus));
+        eq(plus.mul(minus).div(minus), plus.toString());
+    }
+
+    /**
+     * Builds a dense polynomial of the given degree with assorted coefficients, some of them zero.
+     */
+    private static RatPoly densePoly(int degree, int seed) {
+        RatPoly res = RatPoly.ZERO;
+        for (int e = 0; e < degree; e++) {
+            RatNum coeff = RatNum.valueOf((e * seed) % 7 - 3, (e + seed) % 4 + 1);
+            res = res.add(new RatPoly(new RatTerm(coeff, e)));
+        }
+        return res.add(new RatPoly(1, degree));
+    }
+
+    @Test
+    public void testMulKaratsubaMatchesSchoolbook() {
+        int[][] degrees = {{31, 31}, {32, 32}, {63, 64}, {100, 37}, {200, 40}, {129, 257}};
+        for (int[] d : degrees) {
+            RatPoly p = densePoly(d[0], 3);
+            RatPoly q = densePoly(d[1], 5);
+            RatPoly product = p.mul(q);
+            assertEquals(d[0] + " by " + d[1], p.mulSchoolbook(q), product);
+            assertEquals(d[0] + d[1], product.degree());
+            assertEquals(q.mul(p), product);
+        }
+    }
+
+    @Test
+    public void testMulKaratsubaSquares() {
+        // (x+1)^64 by repeated squaring; its coefficients are binomial coefficients
+        RatPoly p = valueOf("x+1");
+        for (int i = 0; i < 6; i++) {
+            p = p.mul(p);
+        }
+        assertEquals(64, p.degree());
+        assertEquals(new RatTerm(RatNum.valueOf("1832624140942590534"), 32), p.getTerm(32));
+        assertEquals(new RatTerm(RatNum.valueOf(64), 63), p.getTerm(63));
+    }
+
+    @Test
+    public void testMulSparse() {
+        eq(valueOf("x^100000+1").mul(valueOf("x^100000-1")), "x^200000-1");
+        eq(valueOf("x^1000000").mul(valueOf("x^1000000")), "x^2000000");
+        eq(valueOf("x^50000+2*x").mul(valueOf("3*x^7+x")), "3*x^50007+x^50001+6*x^8+2*x^2");
+    }
+
     ///////////////////////////////////////////////////////////////////////////////////////
     ////  Division Test
     ///////////////////////////////////////////////////////////////////////////////////////
@@ -716,6 +774,13 @@ public final class RatPolyTest {
                 + "x^4+x^3-x^2+x-1");
     }
 
+    @Test
+    public void testDivDenseWithRemainder() {
+        eq(valueOf("x^5+2*x^4-x^2+3*x+7").div(valueOf("x^2+1")), "x^3+2*x^2-x-3");
+        eq(valueOf("x^3+x^2+x+1").div(valueOf("2*x^3")), "1/2");
+        eq(valueOf("x^2+x+1").div(valueOf("x^3+1")), "0");
+    }
+
     @Test // p / 0 = NaN
     public void testDivByZero() {
         assertEquals(RatPoly.NaN, poly2.div(RatPoly.ZERO));
@@ -866,6 +931,43 @@ public final class RatPolyTest {
         assertEquals(" x^2-2*x at 3 ", 3.0, _XSq_minus_2X.eval(3.0), JUNIT_DOUBLE_DELTA);
     }
 
+    @Test
+    public void testEvalSparse() {
+        RatPoly p = valueOf("1/2*x^10-3*x^3+x+4");
+        assertEquals(" at 2 ", 512.0 - 24.0 + 2.0 + 4.0, p.eval(2.0), JUNIT_DOUBLE_DELTA);
+        assertEquals(" at -1 ", 0.5 + 3.0 - 1.0 + 4.0, p.eval(-1.0), JUNIT_DOUBLE_DELTA);
+        assertEquals(" x^100000-x^99999 at 1 ", 0.0, valueOf("x^100000-x^99999").eval(1.0), JUNIT_DOUBLE_DELTA);
+        assertEquals(" x^3 at 0 ", 0.0, valueOf("x^3").eval(0.0), JUNIT_DOUBLE_DELTA);
+    }
+
+    @Test
+    public void testEvalNaN() {
+        assertTrue(Double.isNaN(RatPoly.NaN.eval(1.0)));
+        assertTrue(Double.isNaN(RatPoly.NaN.evaluator().eval(0.0)));
+    }
+
+    @Test
+    public void testEvalRangeDouble() {
+        double[] out = new double[21];
+        poly1.evaluator().evalRange(-5.0, 0.5, out);
+        for (int i = 0; i < out.length; i++) {
+            assertEquals(" at " + (-5.0 + i * 0.5), poly1.eval(-5.0 + i * 0.5), out[i], JUNIT_DOUBLE_DELTA);
+        }
+    }
+
+    @Test
+    public void testEvalRangeFloat() {
+        float[] out = new float[10];
+        valueOf("x^2-1").evaluator().evalRange(0f, 1f, out);
+        for (int i = 0; i < out.length; i++) {
+            assertEquals(" at " + i, i * i - 1.0, out[i], JUNIT_DOUBLE_DELTA);
+        }
+        zero().evaluator().evalRange(3f, 0.25f, out);
+        for (float f : out) {
+            assertEquals(0.0, f, JUNIT_DOUBLE_DELTA);
+        }
+    }
+
     ///////////////////////////////////////////////////////////////////////////////////////
     ////  Get Term Test
     ///////////////////////////////////////////////////////////////////////////////////////
@@ -1079,6 +1181,19 @@ public final class RatPolyTest {
         assertIsNaNanswer(poly(1, 0).antiDifferentiate(new RatNum(1, 0)));
     }
 
+    @Test // the 25th antiderivative of 1 is x^25/25!, whose denominator overflows a long
+    public void testAntiDifferentiateRepeatedly() {
+        RatPoly p = valueOf("1");
+        for (int i = 0; i < 25; i++) {
+            p = p.antiDifferentiate(RatNum.ZERO);
+        }
+        eq(p, "1/15511210043330985984000000*x^25");
+        for (int i = 0; i < 25; i++) {
+            p = p.differentiate();
+        }
+        eq(p, "1");
+    }
+
     ///////////////////////////////////////////////////////////////////////////////////////
     ////  Integrate Test
     ///////////////////////////////////////////////////////////////////////////////////////
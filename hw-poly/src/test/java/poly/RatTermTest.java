@@ -311,6 +311,20 @@ public final class RatTermTest {
         testValueOf("0", term(0, 0));
     }
 
+    @Test
+    public void testValueOfCoeffExpt() {
+        assertEquals(term(3, 4, 5), RatTerm.valueOf(num(3, 4), 5));
+        assertEquals(term(-1, 100), RatTerm.valueOf(num(-1), 100));
+        assertSame(RatTerm.ZERO, RatTerm.valueOf(RatNum.ZERO, 7));
+    }
+
+    @Test
+    public void testValueOfShared() {
+        assertSame(RatTerm.valueOf(num(1), 3), RatTerm.valueOf("x^3"));
+        assertSame(RatTerm.valueOf(num(-1), 1), term(1, 1).negate());
+        assertSame(RatTerm.ZERO, term(5, 0).differentiate());
+    }
+
     ///////////////////////////////////////////////////////////////////////////////////////
     ////  toString Test
     ///////////////////////////////////////////////////////////////////////////////////////